@@ -0,0 +1,18 @@
+-- Migration: Indexes for database-side admin filtering and search
+-- Description: Backs the role/status filters and the case-insensitive "contains" search
+--              used by GET /api/admin/users and GET /api/admin/projects
+-- Date: 2026-10-18
+
+-- Trigram support so LIKE '%term%' on lower(...) can use an index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Users: role filter (compared case-insensitively) and status filter
+CREATE INDEX IF NOT EXISTS idx_users_role_lower ON users(lower(role));
+CREATE INDEX IF NOT EXISTS idx_users_status ON users(status);
+
+-- Users: search by name or email
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm ON users USING GIN (lower(full_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN (lower(email) gin_trgm_ops);
+
+-- Projects: status filter already covered by idx_projects_status; search by name
+CREATE INDEX IF NOT EXISTS idx_projects_name_trgm ON projects USING GIN (lower(project_name) gin_trgm_ops);
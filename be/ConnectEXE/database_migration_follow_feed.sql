@@ -0,0 +1,59 @@
+-- Migration: Follow graph and home feed
+-- Description: Follower/followee edges with adjacency indexes in both directions, per-author post outbox,
+--              and per-follower feed inbox (fan-out on write, fan-out on read for popular accounts)
+-- Date: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS user_follows (
+    follower_id VARCHAR(12) NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    followee_id VARCHAR(12) NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    -- true once the followee has become popular: their posts are pulled at read time instead of pushed
+    followee_popular BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (follower_id, followee_id),
+    CHECK (follower_id <> followee_id)
+);
+
+-- Who follows X (the primary key covers who X follows)
+CREATE INDEX IF NOT EXISTS idx_user_follows_followee
+ON user_follows(followee_id, created_at DESC, follower_id);
+
+-- Push targets when X publishes
+CREATE INDEX IF NOT EXISTS idx_user_follows_followee_push
+ON user_follows(followee_id, follower_id)
+WHERE followee_popular = false;
+
+-- Popular accounts X follows (pulled at read time)
+CREATE INDEX IF NOT EXISTS idx_user_follows_follower_pull
+ON user_follows(follower_id, followee_id)
+WHERE followee_popular = true;
+
+ALTER TABLE users
+ADD COLUMN IF NOT EXISTS follower_count BIGINT NOT NULL DEFAULT 0;
+
+-- Every published item, keyed by author (the outbox read for popular accounts and for backfill on follow)
+CREATE TABLE IF NOT EXISTS content_posts (
+    item_type VARCHAR(20) NOT NULL,
+    item_id VARCHAR(12) NOT NULL,
+    author_id VARCHAR(12) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (item_type, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_content_posts_author_created
+ON content_posts(author_id, created_at DESC, item_id DESC);
+
+-- Per-follower inbox, trimmed to the newest feed.inbox.max-items rows per owner
+CREATE TABLE IF NOT EXISTS feed_items (
+    owner_id VARCHAR(12) NOT NULL,
+    item_type VARCHAR(20) NOT NULL,
+    item_id VARCHAR(12) NOT NULL,
+    author_id VARCHAR(12) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (owner_id, item_type, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_feed_items_owner_created
+ON feed_items(owner_id, created_at DESC, item_id DESC);
+
+-- Random discovery now reads the follow graph instead of the billing subscriptions table
+-- (idx_projects_owner_public_id from database_migration_random_discovery.sql serves the project side)
@@ -0,0 +1,23 @@
+-- Migration: Per-owner image asset references
+-- Description: Replaces image_assets.ref_count with one row per referencing owner (the uploading user until the
+--              image is attached, then the topic, reply or project using it), so releasing a reference is
+--              idempotent and only ever drops the caller's own reference
+-- Date: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS image_asset_refs (
+    content_hash CHAR(64) NOT NULL REFERENCES image_assets(content_hash),
+    -- user:<id>, topic:<id>, reply:<id> or project:<id>
+    owner_key VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (content_hash, owner_key)
+);
+
+-- Releasing everything an owner references
+CREATE INDEX IF NOT EXISTS idx_image_asset_refs_owner ON image_asset_refs (owner_key);
+
+-- Existing counted references have no known owner; keep those assets for good
+INSERT INTO image_asset_refs (content_hash, owner_key, created_at)
+SELECT content_hash, 'legacy', created_at FROM image_assets WHERE ref_count > 0
+ON CONFLICT DO NOTHING;
+
+ALTER TABLE image_assets DROP COLUMN IF EXISTS ref_count;
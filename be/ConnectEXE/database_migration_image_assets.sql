@@ -0,0 +1,19 @@
+-- Migration: Content-addressed image assets
+-- Description: SHA-256 -> stored image index so repeated uploads reuse one asset, with a reference count
+--              so an asset is only removed from storage when nothing references it
+-- Date: 2026-10-18
+
+CREATE TABLE IF NOT EXISTS image_assets (
+    content_hash CHAR(64) PRIMARY KEY,
+    public_id VARCHAR(255) NOT NULL,
+    secure_url VARCHAR(1024) NOT NULL,
+    format VARCHAR(10),
+    width INTEGER,
+    height INTEGER,
+    bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Deletes arrive by public ID
+CREATE UNIQUE INDEX IF NOT EXISTS idx_image_assets_public_id ON image_assets (public_id);
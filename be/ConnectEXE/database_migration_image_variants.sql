@@ -0,0 +1,10 @@
+-- Migration: Image variants
+-- Description: Downscaled rendition URLs per stored image (NULL until generated), and lookup of assets by URL
+--              so list and detail responses can swap originals for the matching rendition
+-- Date: 2026-10-18
+
+ALTER TABLE image_assets ADD COLUMN IF NOT EXISTS thumbnail_url VARCHAR(1024);
+ALTER TABLE image_assets ADD COLUMN IF NOT EXISTS card_url VARCHAR(1024);
+ALTER TABLE image_assets ADD COLUMN IF NOT EXISTS full_url VARCHAR(1024);
+
+CREATE INDEX IF NOT EXISTS idx_image_assets_secure_url ON image_assets (secure_url);
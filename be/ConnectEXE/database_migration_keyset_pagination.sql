@@ -0,0 +1,11 @@
+-- Migration: Indexes for keyset (cursor) pagination
+-- Description: Supports seek predicates on (created_at, id) for the forum topic feed and public project list
+-- Date: 2026-10-18
+
+-- Forum topics feed: WHERE is_active = ? ORDER BY created_at DESC, topic_id DESC
+CREATE INDEX IF NOT EXISTS idx_forum_topics_active_created_id
+ON forum_topics(is_active, created_at DESC, topic_id DESC);
+
+-- Public projects list: WHERE is_public = true ORDER BY created_at DESC, project_id DESC
+CREATE INDEX IF NOT EXISTS idx_projects_public_created_id
+ON projects(is_public, created_at DESC, project_id DESC);
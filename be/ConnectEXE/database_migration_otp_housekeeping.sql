@@ -0,0 +1,8 @@
+-- Migration: OTP code housekeeping
+-- Description: Index for the batched purge of expired OTP codes and for the pending/verified code lookups
+-- Date: 2026-10-18
+
+CREATE INDEX IF NOT EXISTS idx_otp_codes_expiry_at ON otp_codes (expiry_at);
+
+CREATE INDEX IF NOT EXISTS idx_otp_codes_user_type_used
+    ON otp_codes (user_id, otp_type, is_used, created_at DESC);
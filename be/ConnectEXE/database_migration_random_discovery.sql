@@ -0,0 +1,7 @@
+-- Migration: Index for random project discovery
+-- Description: Lets the subscription candidate pool be read with an index-only scan of public project ids per owner
+-- Date: 2026-10-18
+
+CREATE INDEX IF NOT EXISTS idx_projects_owner_public_id
+ON projects(owner_id, project_id)
+WHERE is_public = true;
@@ -0,0 +1,54 @@
+-- Migration: Full-text and trigram search over users, projects and forum topics
+-- Description: Adds generated tsvector columns (maintained by PostgreSQL on every INSERT/UPDATE)
+--              plus GIN indexes used by GET /api/search
+-- Date: 2026-10-18
+-- Requires PostgreSQL 12+ (generated columns)
+-- Trigram matches use lower(...) like the admin filters, so users.full_name, users.email and
+-- projects.project_name reuse the indexes from database_migration_admin_search_indexes.sql (run it first)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram indexes from an earlier version of this migration. No search predicate matches description or
+-- content by trigram (their words are found through search_vector); the others are on the raw column,
+-- which the lower(...) predicates cannot use
+DROP INDEX IF EXISTS idx_projects_description_trgm;
+DROP INDEX IF EXISTS idx_forum_topics_content_trgm;
+DROP INDEX IF EXISTS idx_users_full_name_trgm_raw;
+DROP INDEX IF EXISTS idx_users_email_trgm_raw;
+DROP INDEX IF EXISTS idx_projects_name_trgm_raw;
+DROP INDEX IF EXISTS idx_projects_tags_trgm;
+DROP INDEX IF EXISTS idx_forum_topics_title_trgm;
+
+-- Users: full-text over the display name
+ALTER TABLE users
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (to_tsvector('simple', coalesce(full_name, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_vector ON users USING GIN (search_vector);
+
+-- Projects: name weighs more than tags, tags more than description
+ALTER TABLE projects
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(project_name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(tags, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_projects_tags_lower_trgm ON projects USING GIN (lower(tags) gin_trgm_ops);
+
+-- Forum topics: title weighs more than content
+ALTER TABLE forum_topics
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(content, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_forum_topics_search_vector ON forum_topics USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_forum_topics_title_lower_trgm ON forum_topics USING GIN (lower(title) gin_trgm_ops);
+
+COMMENT ON COLUMN users.search_vector IS 'Generated full-text vector for /api/search';
+COMMENT ON COLUMN projects.search_vector IS 'Generated full-text vector for /api/search';
+COMMENT ON COLUMN forum_topics.search_vector IS 'Generated full-text vector for /api/search';
@@ -0,0 +1,36 @@
+-- Migration: Denormalized vote counter on projects
+-- Description: Adds projects.vote_count, maintained by the application on vote/unvote, and a unique
+--              (user_id, project_id) constraint on votes so concurrent votes cannot double count
+-- Date: 2026-10-18
+
+-- Remove duplicate votes left by the old check-then-insert race (keep one row per user/project)
+DELETE FROM votes v
+USING votes d
+WHERE v.user_id = d.user_id
+  AND v.project_id = d.project_id
+  AND v.vote_id > d.vote_id;
+
+-- One vote per user per project; also serves INSERT ... ON CONFLICT (user_id, project_id)
+ALTER TABLE votes
+ADD CONSTRAINT uq_votes_user_project UNIQUE (user_id, project_id);
+
+-- The unique constraint's index supersedes this one
+DROP INDEX IF EXISTS idx_votes_user_project;
+
+-- Counter column, backfilled from existing upvotes
+ALTER TABLE projects
+ADD COLUMN IF NOT EXISTS vote_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE projects p
+SET vote_count = c.cnt
+FROM (
+    SELECT project_id, COUNT(*) AS cnt
+    FROM votes
+    WHERE is_upvote = true
+    GROUP BY project_id
+) c
+WHERE c.project_id = p.project_id;
+
+-- Voting leaderboard: WHERE is_public = true ORDER BY vote_count DESC, project_id DESC
+CREATE INDEX IF NOT EXISTS idx_projects_public_vote_count
+ON projects(is_public, vote_count DESC, project_id DESC);
@@ -5,19 +5,33 @@ import com.connectexe.ConnectEXE.admin.dto.request.UpdateUserStatusRequestDTO;
 import com.connectexe.ConnectEXE.admin.dto.response.*;
 import com.connectexe.ConnectEXE.admin.service.AdminService;
 import com.connectexe.ConnectEXE.entity.ActivityLog;
+import com.connectexe.ConnectEXE.entity.FeedItemType;
 import com.connectexe.ConnectEXE.entity.Project;
 import com.connectexe.ConnectEXE.entity.User;
+import com.connectexe.ConnectEXE.follow.service.FeedService;
 import com.connectexe.ConnectEXE.repository.*;
+import com.connectexe.ConnectEXE.repository.projection.ProjectStatsView;
+import com.connectexe.ConnectEXE.repository.projection.TopicStatsView;
+import com.connectexe.ConnectEXE.repository.projection.UserStatsView;
+import com.connectexe.ConnectEXE.repository.specification.ProjectSpecifications;
+import com.connectexe.ConnectEXE.repository.specification.UserSpecifications;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,65 +44,62 @@ public class AdminServiceImpl implements AdminService {
     private final ForumTopicRepository forumTopicRepository;
     private final ForumReplyRepository forumReplyRepository;
     private final ActivityLogRepository activityLogRepository;
+    private final FeedService feedService;
+    private final ImageReferenceService imageReferenceService;
+    
+    @Value("${admin.dashboard.stats-cache-ttl-seconds:30}")
+    private long statsCacheTtlSeconds;
+    
+    // Short-lived cache of the dashboard stats; concurrent misses may recompute, which is harmless
+    private volatile DashboardStatsResponseDTO cachedStats;
+    private volatile long cachedStatsExpiresAt;
     
     @Override
+    @Transactional(readOnly = true)
     public DashboardStatsResponseDTO getDashboardStats() {
-        // Get total counts
-        long totalUsers = userRepository.count();
-        long totalProjects = projectRepository.count();
-        long totalTopics = forumTopicRepository.count();
-        long totalReplies = forumReplyRepository.count();
-        
-        // Get pending projects
-        long pendingProjects = projectRepository.findAll().stream()
-                .filter(p -> p.getStatus() == Project.ProjectStatus.PENDING)
-                .count();
-        
-        // Get active users (users who are active)
-        long activeUsers = userRepository.findAll().stream()
-                .filter(u -> u.getIsActive() != null && u.getIsActive())
-                .count();
+        DashboardStatsResponseDTO cached = cachedStats;
+        if (cached != null && System.currentTimeMillis() < cachedStatsExpiresAt) {
+            return cached;
+        }
         
-        // Get projects created this month
+        // One aggregate query per table instead of loading every row
         LocalDateTime startOfMonth = YearMonth.now().atDay(1).atStartOfDay();
-        long projectsThisMonth = projectRepository.findAll().stream()
-                .filter(p -> p.getCreatedAt() != null && p.getCreatedAt().isAfter(startOfMonth))
-                .count();
-        
-        // Get topics created this month
-        long topicsThisMonth = forumTopicRepository.findAll().stream()
-                .filter(t -> t.getCreatedAt() != null && t.getCreatedAt().isAfter(startOfMonth))
-                .count();
+        UserStatsView userStats = userRepository.getUserStats();
+        ProjectStatsView projectStats = projectRepository.getProjectStats(Project.ProjectStatus.PENDING, startOfMonth);
+        TopicStatsView topicStats = forumTopicRepository.getTopicStats(startOfMonth);
+        long totalReplies = forumReplyRepository.count();
         
-        return DashboardStatsResponseDTO.builder()
-                .totalUsers(totalUsers)
-                .totalProjects(totalProjects)
-                .totalTopics(totalTopics)
+        DashboardStatsResponseDTO stats = DashboardStatsResponseDTO.builder()
+                .totalUsers(userStats.getTotal())
+                .totalProjects(projectStats.getTotal())
+                .totalTopics(topicStats.getTotal())
                 .totalReplies(totalReplies)
-                .pendingProjects(pendingProjects)
-                .activeUsers(activeUsers)
-                .projectsThisMonth(projectsThisMonth)
-                .topicsThisMonth(topicsThisMonth)
+                .pendingProjects(projectStats.getPending())
+                .activeUsers(userStats.getActive())
+                .projectsThisMonth(projectStats.getCreatedSince())
+                .topicsThisMonth(topicStats.getCreatedSince())
                 .build();
+        
+        cachedStats = stats;
+        cachedStatsExpiresAt = System.currentTimeMillis() + statsCacheTtlSeconds * 1000L;
+        return stats;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public UserListResponseDTO getUsers(Pageable pageable, String role, String status, String searchQuery) {
-        Page<User> userPage;
-        
-        // Apply filters (simplified - you can enhance this with custom queries)
-        if (searchQuery != null && !searchQuery.isEmpty()) {
-            // Search by name or email
-            userPage = userRepository.findAll(pageable);
-            // Filter in memory for simplicity (better to use custom query)
-            List<User> filteredUsers = userPage.getContent().stream()
-                    .filter(u -> (u.getFullName() != null && u.getFullName().toLowerCase().contains(searchQuery.toLowerCase())) ||
-                                 (u.getEmail() != null && u.getEmail().toLowerCase().contains(searchQuery.toLowerCase())))
-                    .collect(Collectors.toList());
-            userPage = new org.springframework.data.domain.PageImpl<>(filteredUsers, pageable, filteredUsers.size());
-        } else {
-            userPage = userRepository.findAll(pageable);
+        // All filters are applied in the database so totals and paging stay correct
+        List<Specification<User>> filters = new ArrayList<>();
+        if (role != null && !role.isBlank()) {
+            filters.add(UserSpecifications.hasRole(role));
+        }
+        if (status != null && !status.isBlank()) {
+            filters.add(UserSpecifications.hasStatus(status));
         }
+        if (searchQuery != null && !searchQuery.isBlank()) {
+            filters.add(UserSpecifications.matchesSearch(searchQuery));
+        }
+        Page<User> userPage = userRepository.findAll(Specification.allOf(filters), pageable);
         
         List<AdminUserDTO> users = userPage.getContent().stream()
                 .map(this::convertToAdminUserDTO)
@@ -138,35 +149,29 @@ public class AdminServiceImpl implements AdminService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public ProjectListResponseDTO getProjects(Pageable pageable, String status, String searchQuery) {
-        Page<Project> projectPage;
-        
-        // Apply filters
-        if (searchQuery != null && !searchQuery.isEmpty()) {
-            projectPage = projectRepository.findAll(pageable);
-            List<Project> filteredProjects = projectPage.getContent().stream()
-                    .filter(p -> p.getProjectName() != null && 
-                                 p.getProjectName().toLowerCase().contains(searchQuery.toLowerCase()))
-                    .collect(Collectors.toList());
-            projectPage = new org.springframework.data.domain.PageImpl<>(filteredProjects, pageable, filteredProjects.size());
-        } else if (status != null && !status.isEmpty()) {
-            // Filter by status
+        // All filters are applied in the database so totals and paging stay correct
+        List<Specification<Project>> filters = new ArrayList<>();
+        if (status != null && !status.isBlank()) {
             try {
-                Project.ProjectStatus projectStatus = Project.ProjectStatus.valueOf(status.toUpperCase());
-                projectPage = projectRepository.findAll(pageable);
-                List<Project> filteredProjects = projectPage.getContent().stream()
-                        .filter(p -> p.getStatus() == projectStatus)
-                        .collect(Collectors.toList());
-                projectPage = new org.springframework.data.domain.PageImpl<>(filteredProjects, pageable, filteredProjects.size());
+                filters.add(ProjectSpecifications.hasStatus(Project.ProjectStatus.valueOf(status.trim().toUpperCase())));
             } catch (IllegalArgumentException e) {
-                projectPage = projectRepository.findAll(pageable);
+                // Unknown status: ignore the filter, as before
             }
-        } else {
-            projectPage = projectRepository.findAll(pageable);
         }
+        if (searchQuery != null && !searchQuery.isBlank()) {
+            filters.add(ProjectSpecifications.matchesSearch(searchQuery));
+        }
+        Page<Project> projectPage = projectRepository.findAll(Specification.allOf(filters), pageable);
+        
+        // Resolve owner names for the whole page in one query
+        Map<String, String> ownerNames = userRepository.namesById(projectPage.getContent().stream()
+                .map(Project::getOwnerId)
+                .collect(Collectors.toSet()));
         
         List<AdminProjectDTO> projects = projectPage.getContent().stream()
-                .map(this::convertToAdminProjectDTO)
+                .map(project -> convertToAdminProjectDTO(project, ownerNames.getOrDefault(project.getOwnerId(), "Unknown")))
                 .collect(Collectors.toList());
         
         return ProjectListResponseDTO.builder()
@@ -184,7 +189,11 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
         if (request.getApproved()) {
+            boolean newlyApproved = project.getStatus() != Project.ProjectStatus.APPROVED;
             project.setStatus(Project.ProjectStatus.APPROVED);
+            if (newlyApproved) {
+                feedService.publish(FeedItemType.PROJECT, project.getProjectId(), project.getOwnerId());
+            }
             
             // Log activity
             logActivity(ActivityLog.ActivityType.PROJECT_APPROVED,
@@ -239,6 +248,7 @@ public class AdminServiceImpl implements AdminService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
         projectRepository.delete(project);
+        imageReferenceService.releaseAll(ImageOwner.project(projectId));
         
         return "Project deleted successfully";
     }
@@ -265,12 +275,12 @@ public class AdminServiceImpl implements AdminService {
                 .build();
     }
     
-    private AdminProjectDTO convertToAdminProjectDTO(Project project) {
+    private AdminProjectDTO convertToAdminProjectDTO(Project project, String ownerName) {
         return AdminProjectDTO.builder()
                 .projectId(project.getProjectId())
                 .title(project.getProjectName())
                 .description(project.getDescription())
-                .owner(getOwnerName(project.getOwnerId()))
+                .owner(ownerName)
                 .status(project.getStatus().name())
                 .createdAt(project.getCreatedAt())
                 .updatedAt(project.getUpdatedAt())
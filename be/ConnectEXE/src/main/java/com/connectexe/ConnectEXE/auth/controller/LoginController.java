@@ -4,6 +4,8 @@ import com.connectexe.ConnectEXE.auth.dto.request.LoginRequest;
 import com.connectexe.ConnectEXE.auth.dto.response.LoginResponse;
 import com.connectexe.ConnectEXE.auth.service.LoginService;
 import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.common.exception.HashingUnavailableException;
+import com.connectexe.ConnectEXE.common.exception.RateLimitExceededException;
 import com.connectexe.ConnectEXE.util.CookieUtil;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -45,6 +47,9 @@ public class LoginController {
             CookieUtil.addCookie(response, "isVerified", String.valueOf(loginResponse.isVerified()), COOKIE_MAX_AGE);
             // return token + profile
             return ResponseEntity.ok(loginResponse);
+        } catch (HashingUnavailableException | RateLimitExceededException ex) {
+            // Overloaded or throttled, not a bad password -> 503/429 via ThrottlingExceptionHandler
+            throw ex;
         } catch (RuntimeException ex) {
             // Authentication failure -> 401 Unauthorized
             log.warn("Login failed for {}: {}", request.getEmail(), ex.getMessage());
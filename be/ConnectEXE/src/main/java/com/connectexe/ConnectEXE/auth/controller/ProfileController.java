@@ -5,6 +5,7 @@ import com.connectexe.ConnectEXE.auth.dto.request.EditProfileRequestDTO;
 import com.connectexe.ConnectEXE.auth.service.ProfileService;
 import com.connectexe.ConnectEXE.common.constant.MessageConst;
 import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.common.exception.HashingUnavailableException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -46,6 +47,8 @@ public class ProfileController {
             response.put("success", true);
             response.put("message", MessageConst.MSG_PASSWORD_RESET_SUCCESS);
             return ResponseEntity.ok(response);
+        } catch (HashingUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", e.getMessage());
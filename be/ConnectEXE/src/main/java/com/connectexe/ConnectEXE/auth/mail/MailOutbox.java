@@ -0,0 +1,231 @@
+package com.connectexe.ConnectEXE.auth.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory outbox for outgoing email.
+ * Request threads only enqueue; worker threads drain the queue in batches, sending each batch
+ * over a single SMTP connection, and failed messages are retried with exponential backoff.
+ * Messages still queued at shutdown are lost, which is acceptable for OTP mail since users can resend.
+ */
+@Component
+@Slf4j
+public class MailOutbox {
+
+    private final JavaMailSender mailSender;
+    private final InternetAddress fromAddress; // Parsed once; null when no sender is configured
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+
+    private final BlockingQueue<OutboundMail> queue;
+    private final ScheduledExecutorService retryScheduler;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    public MailOutbox(JavaMailSender mailSender,
+                      MeterRegistry registry,
+                      @Value("${spring.mail.username}") String fromEmail,
+                      @Value("${mail.outbox.capacity:1000}") int capacity,
+                      @Value("${mail.outbox.workers:2}") int workerCount,
+                      @Value("${mail.outbox.batch-size:20}") int batchSize,
+                      @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${mail.outbox.initial-backoff-ms:2000}") long initialBackoffMs) {
+        this.mailSender = mailSender;
+        this.fromAddress = parseFrom(fromEmail);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("mail.outbox.depth", queue, BlockingQueue::size)
+                .description("Emails waiting to be sent")
+                .register(registry);
+        this.sendTimer = Timer.builder("mail.send.latency")
+                .description("Time to send one batch over a single SMTP connection")
+                .register(registry);
+        this.sentCounter = counter(registry, "sent");
+        this.retriedCounter = counter(registry, "retried");
+        this.failedCounter = counter(registry, "failed");
+        this.droppedCounter = counter(registry, "dropped");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "mail-outbox-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        retryScheduler.shutdownNow();
+        if (!queue.isEmpty()) {
+            log.warn("Mail outbox stopped with {} unsent email(s)", queue.size());
+        }
+    }
+
+    /**
+     * Queue an email without blocking. If the outbox is full the email is dropped and logged.
+     * @return true if the email was queued
+     */
+    public boolean enqueue(OutboundMail mail) {
+        if (queue.offer(mail)) {
+            return true;
+        }
+        droppedCounter.increment();
+        log.warn("Mail outbox full, dropped email to {}", mail.getTo());
+        return false;
+    }
+
+    private void runWorker() {
+        List<OutboundMail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Never let a worker die; anything unexpected is treated as a failed batch
+                log.error("Unexpected error in mail outbox worker: {}", e.getMessage());
+                batch.forEach(this::retryOrGiveUp);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<OutboundMail> batch) {
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<OutboundMail> pending = new ArrayList<>(batch.size());
+        for (OutboundMail mail : batch) {
+            try {
+                messages.add(toMimeMessage(mail));
+                pending.add(mail);
+            } catch (MessagingException e) {
+                // A message that cannot be built will never succeed, so don't retry it
+                failedCounter.increment();
+                log.warn("Could not build email to {}: {}", mail.getTo(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // JavaMailSender sends all messages of one call over a single connection
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+            sentCounter.increment(messages.size());
+            log.info("Sent {} email(s)", messages.size());
+        } catch (MailSendException e) {
+            // Only the messages listed as failed need another attempt
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                if (failed.isEmpty() || failed.containsKey(messages.get(i))) {
+                    retryOrGiveUp(pending.get(i));
+                } else {
+                    sentCounter.increment();
+                }
+            }
+            log.warn("Failed to send {} of {} email(s): {}",
+                    failed.isEmpty() ? messages.size() : failed.size(), messages.size(), e.getMessage());
+        } catch (MailException e) {
+            pending.forEach(this::retryOrGiveUp);
+            log.warn("Failed to send batch of {} email(s): {}", messages.size(), e.getMessage());
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void retryOrGiveUp(OutboundMail mail) {
+        int attempts = mail.recordFailure();
+        if (attempts >= maxAttempts || !running) {
+            failedCounter.increment();
+            log.warn("Giving up on email to {} after {} attempt(s)", mail.getTo(), attempts);
+            return;
+        }
+        // 1x, 2x, 4x, 8x ... the initial backoff
+        long delayMs = initialBackoffMs << (attempts - 1);
+        retriedCounter.increment();
+        retryScheduler.schedule(() -> enqueue(mail), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private MimeMessage toMimeMessage(OutboundMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(mail.getTo()));
+        // Set From to the authenticated mailbox to satisfy SMTP servers like Gmail
+        if (fromAddress != null) {
+            message.setFrom(fromAddress);
+        }
+        message.setSubject(mail.getSubject(), "UTF-8");
+        message.setText(mail.getHtmlBody(), "UTF-8", "html");
+        return message;
+    }
+
+    private static InternetAddress parseFrom(String fromEmail) {
+        if (fromEmail == null || fromEmail.isBlank()) {
+            return null;
+        }
+        try {
+            return new InternetAddress(fromEmail);
+        } catch (AddressException e) {
+            log.warn("Invalid spring.mail.username '{}', sending without From: {}", fromEmail, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("mail.outbox.messages")
+                .description("Outbox emails by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
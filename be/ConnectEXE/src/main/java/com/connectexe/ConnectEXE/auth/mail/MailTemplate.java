@@ -0,0 +1,82 @@
+package com.connectexe.ConnectEXE.auth.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An HTML template split once into literal text and {@code {{name}}} placeholders,
+ * so rendering is a single pass that appends segments into a pre-sized buffer.
+ * Substituted values are HTML-escaped.
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;     // literals[i] precedes placeholders[i]; the last literal trails
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template source
+     * @throws IllegalArgumentException if a placeholder is not closed
+     */
+    public static MailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int pos = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, pos)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(pos, open));
+            placeholders.add(source.substring(open + OPEN.length(), close).trim());
+            pos = close + CLOSE.length();
+        }
+        literals.add(source.substring(pos));
+        return new MailTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Render with the given values; placeholders without a value render as empty
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + placeholders.length * 32);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                appendEscaped(out, value);
+            }
+        }
+        out.append(literals[placeholders.length]);
+        return out.toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.connectexe.ConnectEXE.auth.mail;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Loads and compiles every {@link MailTemplateType} from {@code templates/mail/<name>.html} at startup.
+ * A missing or malformed template fails startup instead of the first send.
+ */
+@Component
+@Slf4j
+public class MailTemplateRegistry {
+
+    private static final String TEMPLATE_PATH = "templates/mail/%s.html";
+
+    private final Map<MailTemplateType, MailTemplate> templates = new EnumMap<>(MailTemplateType.class);
+
+    @PostConstruct
+    void init() {
+        for (MailTemplateType type : MailTemplateType.values()) {
+            templates.put(type, MailTemplate.compile(load(type)));
+        }
+        log.info("Compiled {} mail template(s)", templates.size());
+    }
+
+    /**
+     * Render a template into a ready-to-send email
+     */
+    public OutboundMail render(MailTemplateType type, String toEmail, Map<String, String> values) {
+        return new OutboundMail(toEmail, type.getSubject(), templates.get(type).render(values));
+    }
+
+    private String load(MailTemplateType type) {
+        String path = String.format(TEMPLATE_PATH, type.getTemplateName());
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing mail template " + path, e);
+        }
+    }
+}
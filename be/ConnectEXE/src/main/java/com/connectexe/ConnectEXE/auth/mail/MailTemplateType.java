@@ -0,0 +1,29 @@
+package com.connectexe.ConnectEXE.auth.mail;
+
+import com.connectexe.ConnectEXE.common.constant.CommonConst;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kinds of email the application sends. To add a notification, add a constant here and
+ * a matching HTML file under {@code templates/mail/}; it is compiled at startup with the rest.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum MailTemplateType {
+    REGISTER("register", "Verify Your Connect.EXE Account"),
+    FORGOT_PASSWORD("forgot-password", "Reset Your Password - Connect.EXE");
+
+    private final String templateName;
+    private final String subject;
+
+    /**
+     * Pick the template for an OTP type (see {@link CommonConst#OTP_TYPE_REGISTER} and {@link CommonConst#OTP_TYPE_FORGOT})
+     */
+    public static MailTemplateType forOtpType(String otpType) {
+        if (CommonConst.OTP_TYPE_FORGOT.equalsIgnoreCase(otpType) || "forgot".equalsIgnoreCase(otpType)) {
+            return FORGOT_PASSWORD;
+        }
+        return REGISTER;
+    }
+}
@@ -0,0 +1,21 @@
+package com.connectexe.ConnectEXE.auth.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A rendered HTML email waiting in the {@link MailOutbox}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class OutboundMail {
+    private final String to;
+    private final String subject;
+    private final String htmlBody;
+
+    private int attempts; // Failed send attempts so far
+
+    int recordFailure() {
+        return ++attempts;
+    }
+}
@@ -0,0 +1,73 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: deadlines are hashed into a ring of buckets by tick, so scheduling is O(1)
+ * and each tick only looks at one bucket. Entries more than one revolution away stay in their
+ * bucket until their round comes up. Any thread may schedule; only one thread may advance.
+ */
+class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<K>>[] buckets;
+    private final int mask;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    void schedule(K key, long deadlineMillis) {
+        // Round up so the deadline has passed once its tick is processed; never hash into the
+        // bucket being processed or a past one, or the entry would wait a full revolution
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        buckets[(int) (tick & mask)].add(new Timeout<>(key, deadlineMillis));
+    }
+
+    /**
+     * Process every tick up to now, handing keys whose deadline has passed to {@code onExpired}
+     */
+    void advance(long nowMillis, Consumer<K> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            Queue<Timeout<K>> bucket = buckets[(int) (tick & mask)];
+            // Only look at entries present now; later rounds are put back at the tail
+            for (int pending = bucket.size(); pending > 0; pending--) {
+                Timeout<K> timeout = bucket.poll();
+                if (timeout == null) {
+                    break;
+                }
+                if (timeout.deadlineMillis <= nowMillis) {
+                    onExpired.accept(timeout.key);
+                } else {
+                    bucket.add(timeout);
+                }
+            }
+            currentTick = tick;
+        }
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineMillis;
+
+        private Timeout(K key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import lombok.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OTP store kept in memory, for single-instance deployments. Codes are lost on restart,
+ * which only means users have to request a new one.
+ * Each user/type slot is evicted by a hashed timing wheel once its codes have been expired for
+ * the retention period; keeping them that long lets callers still tell "expired" from "unknown".
+ */
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<String> wheel;
+    private final long retentionMillis;
+
+    public InMemoryOtpStore(long tickMillis, int wheelSize, Duration retention) {
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        this.retentionMillis = retention.toMillis();
+    }
+
+    @Override
+    public OtpEntry issue(String userId, String type, String code, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        OtpEntry entry = OtpEntry.builder()
+                .userId(userId)
+                .type(type)
+                .code(code)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .used(false)
+                .build();
+        long evictAt = System.currentTimeMillis() + ttl.toMillis() + retentionMillis;
+        String key = key(userId, type);
+        slots.compute(key, (k, slot) -> new Slot(entry, slot != null ? slot.getUsed() : null, evictAt));
+        wheel.schedule(key, evictAt);
+        return entry.toBuilder().build();
+    }
+
+    @Override
+    public Optional<OtpEntry> findPending(String userId, String type) {
+        Slot slot = slots.get(key(userId, type));
+        return slot == null || slot.getPending() == null
+                ? Optional.empty()
+                : Optional.of(slot.getPending().toBuilder().build());
+    }
+
+    @Override
+    public void markUsed(OtpEntry entry) {
+        slots.computeIfPresent(key(entry.getUserId(), entry.getType()), (k, slot) -> {
+            OtpEntry pending = slot.getPending();
+            // Only the code that was checked may be consumed; a newer one issued meanwhile stays pending
+            if (pending == null || !pending.getCode().equals(entry.getCode())
+                    || !pending.getCreatedAt().equals(entry.getCreatedAt())) {
+                return slot;
+            }
+            return new Slot(null, pending.toBuilder().used(true).build(), slot.getEvictAtMillis());
+        });
+        entry.setUsed(true);
+    }
+
+    @Override
+    public Optional<OtpEntry> findLatestUsed(String userId, String type) {
+        Slot slot = slots.get(key(userId, type));
+        return slot == null || slot.getUsed() == null
+                ? Optional.empty()
+                : Optional.of(slot.getUsed().toBuilder().build());
+    }
+
+    @Scheduled(fixedDelayString = "${otp.store.memory.tick-ms:1000}")
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        // A slot re-issued after scheduling has a later deadline and is kept
+        wheel.advance(now, key -> slots.computeIfPresent(key, (k, slot) -> slot.getEvictAtMillis() <= now ? null : slot));
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    private static String key(String userId, String type) {
+        return userId + ':' + type;
+    }
+
+    @Value
+    private static class Slot {
+        OtpEntry pending;
+        OtpEntry used;
+        long evictAtMillis;
+    }
+}
@@ -0,0 +1,69 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import com.connectexe.ConnectEXE.entity.OtpCode;
+import com.connectexe.ConnectEXE.repository.OtpCodeRepository;
+import com.connectexe.ConnectEXE.util.IdUtil;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * OTP store backed by the otp_codes table; works across several application instances.
+ * Expired rows are removed by {@link OtpPurgeJob}.
+ */
+@RequiredArgsConstructor
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpCodeRepository otpCodeRepository;
+
+    @Override
+    public OtpEntry issue(String userId, String type, String code, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        // Reuse the pending row instead of adding one per resend
+        OtpCode row = otpCodeRepository.findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(userId, type)
+                .orElseGet(() -> {
+                    OtpCode fresh = new OtpCode();
+                    fresh.setOtpId(IdUtil.randomHex(10));
+                    fresh.setUserId(userId);
+                    fresh.setOtpType(type);
+                    return fresh;
+                });
+        row.setOtpCode(code);
+        row.setCreatedAt(now);
+        row.setExpiryAt(now.plus(ttl));
+        row.setIsUsed(false);
+        return toEntry(otpCodeRepository.save(row));
+    }
+
+    @Override
+    public Optional<OtpEntry> findPending(String userId, String type) {
+        return otpCodeRepository.findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(userId, type)
+                .map(this::toEntry);
+    }
+
+    @Override
+    public void markUsed(OtpEntry entry) {
+        otpCodeRepository.markUsed(entry.getId());
+        entry.setUsed(true);
+    }
+
+    @Override
+    public Optional<OtpEntry> findLatestUsed(String userId, String type) {
+        return otpCodeRepository.findTopByUserIdAndOtpTypeAndIsUsedTrueOrderByCreatedAtDesc(userId, type)
+                .map(this::toEntry);
+    }
+
+    private OtpEntry toEntry(OtpCode row) {
+        return OtpEntry.builder()
+                .id(row.getOtpId())
+                .userId(row.getUserId())
+                .type(row.getOtpType())
+                .code(row.getOtpCode())
+                .createdAt(row.getCreatedAt())
+                .expiresAt(row.getExpiryAt())
+                .used(Boolean.TRUE.equals(row.getIsUsed()))
+                .build();
+    }
+}
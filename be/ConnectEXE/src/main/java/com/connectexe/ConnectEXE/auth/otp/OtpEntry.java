@@ -0,0 +1,29 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A one-time code issued to a user for one purpose (see CommonConst.OTP_TYPE_*).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpEntry {
+    private String id; // Row id for the JPA store, null in memory
+    private String userId;
+    private String type;
+    private String code;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private boolean used;
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
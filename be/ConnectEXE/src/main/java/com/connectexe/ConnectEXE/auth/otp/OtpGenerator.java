@@ -0,0 +1,29 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Shared source of numeric one-time codes. A single SecureRandom is seeded at startup,
+ * so requests neither pay for seeding nor risk blocking on the entropy pool.
+ */
+@Component
+public class OtpGenerator {
+
+    private static final int CODE_BOUND = 1_000_000;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public OtpGenerator() {
+        // Force seeding now rather than on the first request
+        random.nextInt();
+    }
+
+    /**
+     * @return a uniformly random six digit code
+     */
+    public String nextCode() {
+        return String.format("%06d", random.nextInt(CODE_BOUND));
+    }
+}
@@ -0,0 +1,50 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import com.connectexe.ConnectEXE.repository.OtpCodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically deletes otp_codes rows that expired more than the retention period ago.
+ * Rows are deleted in small batches, each in its own transaction, so the purge never
+ * holds a long lock or a large undo log while users are issuing and verifying codes.
+ */
+@Component
+@Slf4j
+public class OtpPurgeJob {
+
+    private final OtpCodeRepository otpCodeRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long retentionMinutes;
+
+    public OtpPurgeJob(OtpCodeRepository otpCodeRepository,
+                       @Value("${otp.purge.batch-size:1000}") int batchSize,
+                       @Value("${otp.purge.max-batches:100}") int maxBatches,
+                       @Value("${otp.purge.retention-minutes:60}") long retentionMinutes) {
+        this.otpCodeRepository = otpCodeRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    @Scheduled(fixedDelayString = "${otp.purge.interval-ms:900000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int removed = otpCodeRepository.deleteExpiredBatch(cutoff, batchSize);
+            total += removed;
+            if (removed < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} expired OTP code(s)", total);
+        }
+    }
+}
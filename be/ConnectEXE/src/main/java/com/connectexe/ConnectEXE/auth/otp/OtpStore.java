@@ -0,0 +1,36 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Storage for one-time codes. Each user has at most one pending code per type; issuing a new
+ * code replaces it. A verified code stays readable until it expires, e.g. to authorize a reset.
+ */
+public interface OtpStore {
+
+    /**
+     * Issue a code, replacing the user's pending code of the same type
+     * @param userId User ID
+     * @param type OTP type
+     * @param code The code sent to the user
+     * @param ttl How long the code is valid
+     * @return The stored entry
+     */
+    OtpEntry issue(String userId, String type, String code, Duration ttl);
+
+    /**
+     * Get the user's pending (not yet verified) code, which may already be expired
+     */
+    Optional<OtpEntry> findPending(String userId, String type);
+
+    /**
+     * Mark a pending code as verified
+     */
+    void markUsed(OtpEntry entry);
+
+    /**
+     * Get the user's most recently verified code, which may already be expired
+     */
+    Optional<OtpEntry> findLatestUsed(String userId, String type);
+}
@@ -1,15 +1,27 @@
 package com.connectexe.ConnectEXE.auth.service;
 
+import com.connectexe.ConnectEXE.auth.mail.MailTemplateType;
+
+import java.util.Map;
+
 /**
  * Interface for handling mail operations.
- * Provides method for sending verification emails.
+ * Provides methods for sending verification and notification emails.
  */
 public interface MailService {
     /**
-     * Send a verification email to the user.
+     * Send a verification email to the user. Delivery is asynchronous; this does not wait for SMTP.
      * @param toEmail the recipient email address
      * @param verificationCode the verification code
      * @param type the type of email (forgot password/register)
      */
     void sendVerificationEmail(String toEmail, String verificationCode, String type);
+
+    /**
+     * Send an email rendered from a precompiled template. Delivery is asynchronous.
+     * @param type the template to render
+     * @param toEmail the recipient email address
+     * @param values placeholder values for the template
+     */
+    void sendNotification(MailTemplateType type, String toEmail, Map<String, String> values);
 }
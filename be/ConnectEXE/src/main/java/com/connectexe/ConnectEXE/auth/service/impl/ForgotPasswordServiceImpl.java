@@ -1,24 +1,26 @@
 package com.connectexe.ConnectEXE.auth.service.impl;
 
+import com.connectexe.ConnectEXE.auth.otp.OtpEntry;
+import com.connectexe.ConnectEXE.auth.otp.OtpGenerator;
+import com.connectexe.ConnectEXE.auth.otp.OtpStore;
 import com.connectexe.ConnectEXE.auth.service.ForgotPasswordService;
 import com.connectexe.ConnectEXE.auth.service.MailService;
 import com.connectexe.ConnectEXE.entity.User;
 import com.connectexe.ConnectEXE.repository.UserRepository;
-import com.connectexe.ConnectEXE.util.IdUtil;
-import com.connectexe.ConnectEXE.entity.OtpCode;
-import com.connectexe.ConnectEXE.repository.OtpCodeRepository;
+import com.connectexe.ConnectEXE.security.PasswordHasher;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitPolicies;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import com.connectexe.ConnectEXE.common.constant.MessageConst;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import static com.connectexe.ConnectEXE.common.constant.CommonConst.*;
 
@@ -31,13 +33,23 @@ import static com.connectexe.ConnectEXE.common.constant.CommonConst.*;
 public class ForgotPasswordServiceImpl implements ForgotPasswordService {
 
     private final UserRepository userRepository;
-    private final OtpCodeRepository otpCodeRepository;
+    private final OtpStore otpStore;
+    private final OtpGenerator otpGenerator;
     private final MailService mailService;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicies rateLimitPolicies;
 
     @Override
     public Map<String, Object> sendOtp(String email) {
         Map<String, Object> response = new HashMap<>();
+        // Resend limit is checked before any DB work
+        if (rateLimiter.tryAcquire(rateLimitPolicies.getOtpPerEmail(),
+                OTP_TYPE_FORGOT + ":" + email.trim().toLowerCase()) > 0) {
+            response.put("success", false);
+            response.put("message", MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
+            return response;
+        }
         Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
         if (userOpt.isEmpty()) {
             response.put("success", false);
@@ -45,46 +57,9 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService {
             return response;
         }
         User user = userOpt.get();
-        LocalDateTime now = LocalDateTime.now();
-        String otp = String.format("%06d", new SecureRandom().nextInt(1_000_000));
-        LocalDateTime expiredAt = now.plusMinutes(OTP_EXPIRE_MINUTES);
-        Optional<OtpCode> verOpt = otpCodeRepository
-                .findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(user.getUserId(), OTP_TYPE_FORGOT);
-        OtpCode verification;
-        if (verOpt.isPresent() && verOpt.get().getExpiryAt().isAfter(now)) {
-            verification = verOpt.get();
-            long resendCount = otpCodeRepository.countByUserIdAndOtpTypeAndCreatedAtAfter(
-                    user.getUserId(), OTP_TYPE_FORGOT, now.toLocalDate().atStartOfDay());
-            if (resendCount >= OTP_RESEND_LIMIT) {
-                response.put("success", false);
-                response.put("message", MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
-                return response;
-            }
-            verification.setOtpCode(otp);
-            verification.setExpiryAt(expiredAt);
-            verification.setCreatedAt(now);
-            verification.setIsUsed(false);
-            otpCodeRepository.save(verification);
-            mailService.sendVerificationEmail(email, otp, OTP_TYPE_FORGOT);
-        } else {
-            long resendCount = otpCodeRepository.countByUserIdAndOtpTypeAndCreatedAtAfter(
-                    user.getUserId(), OTP_TYPE_FORGOT, now.toLocalDate().atStartOfDay());
-            if (resendCount >= OTP_RESEND_LIMIT) {
-                response.put("success", false);
-                response.put("message", MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
-                return response;
-            }
-            verification = new OtpCode();
-                verification.setOtpId(IdUtil.randomHex(10));
-            verification.setUserId(user.getUserId());
-            verification.setOtpType(OTP_TYPE_FORGOT);
-                verification.setOtpCode(otp);
-            verification.setCreatedAt(now);
-            verification.setExpiryAt(expiredAt);
-            verification.setIsUsed(false);
-            otpCodeRepository.save(verification);
-            mailService.sendVerificationEmail(email, otp, OTP_TYPE_FORGOT);
-        }
+        String otp = otpGenerator.nextCode();
+        otpStore.issue(user.getUserId(), OTP_TYPE_FORGOT, otp, Duration.ofMinutes(OTP_EXPIRE_MINUTES));
+        mailService.sendVerificationEmail(email, otp, OTP_TYPE_FORGOT);
         response.put("success", true);
         response.put("message", MessageConst.MSG_OTP_SENT);
         return response;
@@ -100,23 +75,21 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService {
             return response;
         }
         User user = userOpt.get();
-        Optional<OtpCode> verOpt = otpCodeRepository
-                .findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(user.getUserId(), OTP_TYPE_FORGOT);
+        Optional<OtpEntry> verOpt = otpStore.findPending(user.getUserId(), OTP_TYPE_FORGOT);
         if (verOpt.isEmpty()) {
             response.put("success", false);
             response.put("message", MessageConst.MSG_OTP_INVALID);
             return response;
         }
-        OtpCode verification = verOpt.get();
+        OtpEntry verification = verOpt.get();
         LocalDateTime now = LocalDateTime.now();
-        if (verification.getExpiryAt().isBefore(now)) {
+        if (verification.isExpired(now)) {
             response.put("success", false);
             response.put("message", MessageConst.MSG_OTP_EXPIRED);
             return response;
         }
-        if (otp != null && otp.equals(verification.getOtpCode())) {
-            verification.setIsUsed(true);
-            otpCodeRepository.save(verification);
+        if (otp != null && otp.equals(verification.getCode())) {
+            otpStore.markUsed(verification);
             response.put("success", true);
             response.put("message", MessageConst.MSG_OTP_VALID);
         } else {
@@ -139,22 +112,21 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService {
         }
         User user = userOpt.get();
         log.info("User found: {}", user.getEmail());
-        Optional<OtpCode> verOpt = otpCodeRepository
-                .findTopByUserIdAndOtpTypeAndIsUsedTrueOrderByCreatedAtDesc(user.getUserId(), OTP_TYPE_FORGOT);
-        if (verOpt.isEmpty() || verOpt.get().getExpiryAt().isBefore(LocalDateTime.now())) {
+        Optional<OtpEntry> verOpt = otpStore.findLatestUsed(user.getUserId(), OTP_TYPE_FORGOT);
+        if (verOpt.isEmpty() || verOpt.get().isExpired(LocalDateTime.now())) {
             log.warn("No verified OTP found or OTP expired for user: {}", email);
             response.put("success", false);
             response.put("message", MessageConst.MSG_OTP_NOT_VERIFIED_OR_EXPIRED);
             return response;
         }
         log.info("Verified OTP found for user: {}", email);
-        if (encoder.matches(newPassword, user.getPassword())) {
+        if (passwordHasher.matches(newPassword, user.getPassword())) {
             log.warn("New password same as old password for user: {}", email);
             response.put("success", false);
             response.put("message", MessageConst.MSG_NEW_PASSWORD_SAME_AS_OLD);
             return response;
         }
-        user.setPassword(encoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
         log.info("Password reset successful for user: {}", email);
         response.put("success", true);
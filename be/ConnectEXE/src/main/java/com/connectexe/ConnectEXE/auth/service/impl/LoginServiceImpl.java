@@ -3,14 +3,19 @@ package com.connectexe.ConnectEXE.auth.service.impl;
 import com.connectexe.ConnectEXE.auth.dto.response.LoginResponse;
 import com.connectexe.ConnectEXE.auth.service.LoginService;
 import com.connectexe.ConnectEXE.common.exception.AuthException;
+import com.connectexe.ConnectEXE.common.exception.HashingUnavailableException;
+import com.connectexe.ConnectEXE.common.exception.RateLimitExceededException;
 import com.connectexe.ConnectEXE.entity.User;
 import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.security.PasswordHasher;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitPolicies;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimiter;
 import com.connectexe.ConnectEXE.util.JwtTokenProvider;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import com.connectexe.ConnectEXE.common.constant.MessageConst;
 
 /**
@@ -18,11 +23,28 @@ import com.connectexe.ConnectEXE.common.constant.MessageConst;
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LoginServiceImpl implements LoginService {
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicies rateLimitPolicies;
+    // Stores re-hashed passwords, so the bounded hashing pool only hashes
+    private final Executor taskExecutor;
+
+    public LoginServiceImpl(UserRepository userRepository,
+                            PasswordHasher passwordHasher,
+                            JwtTokenProvider jwtTokenProvider,
+                            RateLimiter rateLimiter,
+                            RateLimitPolicies rateLimitPolicies,
+                            @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitPolicies = rateLimitPolicies;
+        this.taskExecutor = taskExecutor;
+    }
 
     /**
      * Authenticates the user login.
@@ -33,6 +55,14 @@ public class LoginServiceImpl implements LoginService {
      */
     @Override
     public LoginResponse login(String email, String rawPassword) {
+        // Per-email limit against credential stuffing, checked before any DB or BCrypt work
+        if (email != null) {
+            long retryAfterSeconds = rateLimiter.tryAcquire(rateLimitPolicies.getLoginPerEmail(), email.trim().toLowerCase());
+            if (retryAfterSeconds > 0) {
+                log.warn("Login rate limit exceeded for email: {}", email);
+                throw new RateLimitExceededException("Too many login attempts, please try again later", retryAfterSeconds);
+            }
+        }
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isEmpty()) {
             log.warn("Account not found for email: {}", email);
@@ -41,6 +71,7 @@ public class LoginServiceImpl implements LoginService {
         User user = optionalUser.get();
         validatePassword(user, rawPassword, email);
         validateStatus(user, email);
+        rehashIfNeeded(user, rawPassword);
             boolean verified = Boolean.TRUE.equals(user.getIsVerified());
         
         // Generate JWT tokens
@@ -68,12 +99,37 @@ public class LoginServiceImpl implements LoginService {
      * @param emailOrPhone the email or phone number
      */
     private void validatePassword(User user, String rawPassword, String email) {
-        if (!encoder.matches(rawPassword, user.getPassword())) {
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
             log.warn("Incorrect password for user: {}", email);
             throw new AuthException("Mật khẩu không đúng.");
         }
     }
 
+    /**
+     * Re-hashes the password in the background when its stored cost differs from the current one.
+     * Best effort: skipped when the hashing executor is busy, and retried on a later login.
+     *
+     * @param user the user
+     * @param rawPassword the verified password
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHasher.upgradeEncoding(oldHash)) {
+            return;
+        }
+        try {
+            passwordHasher.encodeAsync(rawPassword)
+                    .thenAcceptAsync(newHash -> userRepository.updatePasswordIfUnchanged(user.getUserId(), oldHash, newHash),
+                            taskExecutor)
+                    .exceptionally(ex -> {
+                        log.warn("Password re-hash failed for user {}: {}", user.getUserId(), ex.getMessage());
+                        return null;
+                    });
+        } catch (HashingUnavailableException ex) {
+            log.debug("Skipping password re-hash for user {}: {}", user.getUserId(), ex.getMessage());
+        }
+    }
+
     /**
      * Validates the user's account status.
      * Checks both isActive flag and status field for comprehensive account status validation.
@@ -5,10 +5,10 @@ import com.connectexe.ConnectEXE.auth.dto.response.EditProfileResponseDTO;
 import com.connectexe.ConnectEXE.auth.service.ProfileService;
 import com.connectexe.ConnectEXE.entity.User;
 import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -26,7 +26,7 @@ public class ProfileServiceImpl implements ProfileService {
 
     private final UserRepository userRepository;
 
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
 
     /**
      * Changes the user's password.
@@ -46,12 +46,12 @@ public class ProfileServiceImpl implements ProfileService {
                 throw new RuntimeException(MessageConst.MSG_CANNOT_CHANGE_GOOGLE_PASSWORD);
             }
 
-            if (!encoder.matches(oldPassword, user.getPassword())) {
+            if (!passwordHasher.matches(oldPassword, user.getPassword())) {
                 log.warn("Incorrect old password for userId: {}", userId);
                 throw new RuntimeException(MessageConst.MSG_CURRENT_PASSWORD_INCORRECT);
             }
 
-            user.setPassword(encoder.encode(newPassword));
+            user.setPassword(passwordHasher.encode(newPassword));
             userRepository.save(user);
             log.info("Password changed successfully for userId: {}", userId);
         } catch (Exception e) {
@@ -2,21 +2,24 @@ package com.connectexe.ConnectEXE.auth.service.impl;
 
 import com.connectexe.ConnectEXE.auth.dto.request.RegisterRequest;
 import com.connectexe.ConnectEXE.auth.dto.response.RegisterResponse;
+import com.connectexe.ConnectEXE.auth.otp.OtpEntry;
+import com.connectexe.ConnectEXE.auth.otp.OtpGenerator;
+import com.connectexe.ConnectEXE.auth.otp.OtpStore;
 import com.connectexe.ConnectEXE.auth.service.MailService;
 import com.connectexe.ConnectEXE.auth.service.RegisterService;
 import com.connectexe.ConnectEXE.common.constant.MessageConst;
 import com.connectexe.ConnectEXE.common.constant.CommonConst;
 import com.connectexe.ConnectEXE.entity.User;
-import com.connectexe.ConnectEXE.entity.OtpCode;
 import com.connectexe.ConnectEXE.repository.UserRepository;
-import com.connectexe.ConnectEXE.repository.OtpCodeRepository;
+import com.connectexe.ConnectEXE.security.PasswordHasher;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitPolicies;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
 import com.connectexe.ConnectEXE.util.IdUtil;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.HashMap;
@@ -32,8 +35,12 @@ import java.util.Optional;
 public class RegisterServiceImpl implements RegisterService {
 
     private final UserRepository userRepository;
-    private final OtpCodeRepository otpCodeRepository;
+    private final OtpStore otpStore;
+    private final OtpGenerator otpGenerator;
     private final MailService mailService;
+    private final PasswordHasher passwordHasher;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicies rateLimitPolicies;
 
     /**
      * Registers a new user and sends a verification email.
@@ -65,7 +72,7 @@ public class RegisterServiceImpl implements RegisterService {
         User user = new User();
     // Generate DB-compatible userId (12 hex chars)
     user.setUserId(IdUtil.randomHex(12));
-    user.setPassword(new BCryptPasswordEncoder().encode(request.getPassword()));
+    user.setPassword(passwordHasher.encode(request.getPassword()));
     user.setFullName(request.getFullName());
     // some fields from RegisterRequest may not exist on User entity (dateOfBirth, gender, address)
     // Only set fields that exist on User
@@ -138,8 +145,7 @@ public class RegisterServiceImpl implements RegisterService {
         }
 
         // Find latest unverified, unexpired OTP
-        Optional<OtpCode> verOpt = otpCodeRepository
-                .findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(user.getUserId(), CommonConst.OTP_TYPE_REGISTER);
+        Optional<OtpEntry> verOpt = otpStore.findPending(user.getUserId(), CommonConst.OTP_TYPE_REGISTER);
         if (verOpt.isEmpty()) {
             log.warn("No verification record found for email: {}", email);
             if (Boolean.TRUE.equals(user.getIsVerified())) {
@@ -151,20 +157,19 @@ public class RegisterServiceImpl implements RegisterService {
             }
             return response;
         }
-        OtpCode verification = verOpt.get();
+        OtpEntry verification = verOpt.get();
         LocalDateTime now = LocalDateTime.now();
 
         // Check expiration
-        if (verification.getExpiryAt().isBefore(now)) {
+        if (verification.isExpired(now)) {
             log.warn("OTP expired for email: {}", email);
             response.put("success", false);
             response.put("message", MessageConst.MSG_OTP_EXPIRED);
             return response;
         }
-        // For OtpCode entity we don't track failed attempts; simply compare hashed code
-        if (code != null && code.equals(verification.getOtpCode())) {
-            verification.setIsUsed(true);
-            otpCodeRepository.save(verification);
+        // Failed attempts are not tracked; simply compare the code
+        if (code != null && code.equals(verification.getCode())) {
+            otpStore.markUsed(verification);
 
             user.setIsVerified(true);
             userRepository.save(user);
@@ -192,6 +197,13 @@ public class RegisterServiceImpl implements RegisterService {
     public void resendVerificationCode(String email) {
         log.info("Resending verification code for email: {}", email);
 
+        // Giới hạn gửi lại OTP, kiểm tra trước khi truy vấn DB
+        if (rateLimiter.tryAcquire(rateLimitPolicies.getOtpPerEmail(),
+                CommonConst.OTP_TYPE_REGISTER + ":" + email.trim().toLowerCase()) > 0) {
+            log.warn("OTP resend limit exceeded for email: {}", email);
+            throw new IllegalStateException(MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
+        }
+
         Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email.trim());
         if (userOpt.isEmpty()) {
             log.warn("No user found with email: {}", email);
@@ -205,52 +217,11 @@ public class RegisterServiceImpl implements RegisterService {
             throw new IllegalStateException(MessageConst.MSG_ACCOUNT_ALREADY_VERIFIED);
         }
 
-        LocalDateTime now = LocalDateTime.now();
-
-        // Tìm bản ghi chưa hết hạn, chưa xác thực
-        Optional<OtpCode> verOpt = otpCodeRepository
-                .findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(user.getUserId(), CommonConst.OTP_TYPE_REGISTER);
-        OtpCode verification;
-
-        if (verOpt.isPresent() && verOpt.get().getExpiryAt().isAfter(now)) {
-            verification = verOpt.get();
-            // Kiểm tra giới hạn gửi lại OTP (dùng count trong ngày)
-            long resendCount = otpCodeRepository.countByUserIdAndOtpTypeAndCreatedAtAfter(
-                    user.getUserId(), CommonConst.OTP_TYPE_REGISTER, now.toLocalDate().atStartOfDay());
-            if (resendCount >= CommonConst.OTP_RESEND_LIMIT) {
-                log.warn("OTP resend limit exceeded for email: {}", email);
-                throw new IllegalStateException(MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
-            }
-            // Tạo mã mới
-            String otp = String.format("%06d", new SecureRandom().nextInt(1_000_000));
-            verification.setOtpCode(otp);
-            verification.setExpiryAt(now.plusMinutes(CommonConst.OTP_EXPIRE_MINUTES));
-            verification.setCreatedAt(now);
-            verification.setIsUsed(false);
-            otpCodeRepository.save(verification);
-            mailService.sendVerificationEmail(email, otp, CommonConst.OTP_TYPE_REGISTER);
-        } else {
-            // Đếm số lần gửi lại OTP trong ngày (tính cả bản ghi cũ)
-            long resendCount = otpCodeRepository.countByUserIdAndOtpTypeAndCreatedAtAfter(
-                    user.getUserId(), CommonConst.OTP_TYPE_REGISTER, now.toLocalDate().atStartOfDay());
-            if (resendCount >= CommonConst.OTP_RESEND_LIMIT) {
-                log.warn("OTP resend limit exceeded for email: {}", email);
-                throw new IllegalStateException(MessageConst.MSG_OTP_RESEND_LIMIT_EXCEEDED);
-            }
-            // Tạo OTP mới
-            String otp = String.format("%06d", new SecureRandom().nextInt(1_000_000));
-
-            verification = new OtpCode();
-            verification.setOtpId(IdUtil.randomHex(10));
-            verification.setUserId(user.getUserId());
-            verification.setOtpType(CommonConst.OTP_TYPE_REGISTER);
-            verification.setOtpCode(otp);
-            verification.setCreatedAt(now);
-            verification.setExpiryAt(now.plusMinutes(CommonConst.OTP_EXPIRE_MINUTES));
-            verification.setIsUsed(false);
-            otpCodeRepository.save(verification);
-            mailService.sendVerificationEmail(email, otp, CommonConst.OTP_TYPE_REGISTER);
-        }
+        // Mã mới thay thế mã đang chờ xác thực (nếu có)
+        String otp = otpGenerator.nextCode();
+        otpStore.issue(user.getUserId(), CommonConst.OTP_TYPE_REGISTER, otp,
+                Duration.ofMinutes(CommonConst.OTP_EXPIRE_MINUTES));
+        mailService.sendVerificationEmail(email, otp, CommonConst.OTP_TYPE_REGISTER);
 
         log.info("Verification code resent for email: {}", email);
     }
@@ -68,6 +68,27 @@ public class RouteConst {
     // Backwards-compatible alias used by SecurityConfig
     public static final String FORUM_APPROVE = FORUM_TOPIC_APPROVE;
 
+    // Search
+    public static final String SEARCH_BASE = "/api/search";
+
+    // Follow graph and home feed
+    public static final String FOLLOW_BASE = "/api/users/{" + PARAM_USER_ID + "}";
+    public static final String FOLLOW = "/follow";
+    public static final String FOLLOWERS = "/followers";
+    public static final String FOLLOWING = "/following";
+    public static final String FEED_BASE = "/api/feed";
+
+    // Image uploads
+    public static final String UPLOAD_BASE = "/api/upload";
+    public static final String UPLOAD_IMAGE = UPLOAD_BASE + "/image";
+    public static final String UPLOAD_IMAGES = UPLOAD_BASE + "/images";
+    // Signed uploads that go straight to storage, then are confirmed
+    public static final String UPLOAD_DIRECT = UPLOAD_BASE + "/direct";
+    public static final String UPLOAD_DIRECT_CONFIRM = UPLOAD_DIRECT + "/confirm";
+    // Images stored by the local storage backend
+    public static final String FILES_BASE = "/api/files";
+    public static final String FILES_UPLOAD = FILES_BASE + "/upload";
+
     // Support and tickets
     public static final String SUPPORT_BASE = "/support";
     public static final String SUPPORT_TICKETS = SUPPORT_BASE + "/tickets";
@@ -115,6 +136,7 @@ public class RouteConst {
 
     // Constants for query parameters 
     public static final String PARAM_PAGE = "page";
+    public static final String PARAM_CURSOR = "cursor";
     public static final String PARAM_APPROVED = "approved";
     public static final String PARAM_USER_ID = "userId";
     public static final String PARAM_SEMESTER = "semester";
@@ -0,0 +1,15 @@
+package com.connectexe.ConnectEXE.common.exception;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot accept or finish work in time.
+ * Mapped to 503 Service Unavailable so clients back off instead of tying up request threads.
+ */
+public class HashingUnavailableException extends RuntimeException {
+    /**
+     * Construct a new HashingUnavailableException with the specified detail message.
+     * @param message the detail message
+     */
+    public HashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.connectexe.ConnectEXE.common.exception;
+
+/**
+ * Thrown when a caller exceeds a rate limit that can only be checked inside a service,
+ * e.g. a per-email limit where the email comes from the request body.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Construct a new RateLimitExceededException.
+     * @param message the detail message
+     * @param retryAfterSeconds seconds until the caller may retry
+     */
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.connectexe.ConnectEXE.common.exception;
+
+import com.connectexe.ConnectEXE.common.ApiResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps load-shedding exceptions to fast responses with a Retry-After hint:
+ * a saturated password hashing executor to 503, an exceeded rate limit to 429.
+ */
+@RestControllerAdvice
+public class ThrottlingExceptionHandler {
+
+    private static final String HASHING_RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(HashingUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHashingUnavailable(HashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, HASHING_RETRY_AFTER_SECONDS)
+                .body(ApiResponse.error("Server is busy, please try again shortly"));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRateLimitExceeded(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.connectexe.ConnectEXE.config;
+
+import com.connectexe.ConnectEXE.auth.otp.InMemoryOtpStore;
+import com.connectexe.ConnectEXE.auth.otp.JpaOtpStore;
+import com.connectexe.ConnectEXE.auth.otp.OtpStore;
+import com.connectexe.ConnectEXE.repository.OtpCodeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Selects where one-time codes are kept: "jpa" (otp_codes table, works across instances)
+ * or "memory" (single instance only, no database round trips).
+ */
+@Configuration
+public class OtpStoreConfig {
+
+    @Value("${otp.store:jpa}")
+    private String store;
+
+    @Value("${otp.store.memory.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${otp.store.memory.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${otp.store.memory.retention-seconds:3600}")
+    private long retentionSeconds;
+
+    @Bean
+    public OtpStore otpStore(OtpCodeRepository otpCodeRepository) {
+        switch (store) {
+            case "jpa":
+                return new JpaOtpStore(otpCodeRepository);
+            case "memory":
+                return new InMemoryOtpStore(tickMillis, wheelSize, Duration.ofSeconds(retentionSeconds));
+            default:
+                throw new IllegalArgumentException("Unknown otp.store: " + store);
+        }
+    }
+}
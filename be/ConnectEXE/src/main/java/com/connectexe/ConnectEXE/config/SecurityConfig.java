@@ -18,45 +18,55 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 // AntPathRequestMatcher resolved via fully-qualified name in filterChain to avoid import issues
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.connectexe.ConnectEXE.auth.service.CustomOAuth2UserService;
 import com.connectexe.ConnectEXE.auth.service.CustomUserDetailsService;
 import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.security.AuthMetrics;
 import com.connectexe.ConnectEXE.security.JwtAuthenticationFilter;
+import com.connectexe.ConnectEXE.security.PasswordHasher;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitFilter;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitPolicies;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitRule;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Configuration class for Spring Security settings in the movie theater application.
  */
 @Configuration
 @EnableMethodSecurity
+@Slf4j
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthMetrics authMetrics;
+    private final PasswordHasher passwordHasher;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicies rateLimitPolicies;
 
     public SecurityConfig(CustomUserDetailsService userDetailsService,
                           CustomOAuth2UserService customOAuth2UserService,
-                          JwtAuthenticationFilter jwtAuthenticationFilter) {
+                          JwtAuthenticationFilter jwtAuthenticationFilter,
+                          AuthMetrics authMetrics,
+                          PasswordHasher passwordHasher,
+                          RateLimiter rateLimiter,
+                          RateLimitPolicies rateLimitPolicies) {
         this.userDetailsService = userDetailsService;
         this.customOAuth2UserService = customOAuth2UserService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
-    }
-
-    /**
-     * Provides a BCrypt password encoder bean for password encryption.
-     *
-     * @return BCryptPasswordEncoder instance
-     */
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        this.authMetrics = authMetrics;
+        this.passwordHasher = passwordHasher;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitPolicies = rateLimitPolicies;
     }
 
     /**
@@ -75,7 +85,7 @@ public class SecurityConfig {
                                         if (userDetails == null) {
                                                 throw new org.springframework.security.authentication.BadCredentialsException("Invalid credentials");
                                         }
-                                        if (!passwordEncoder().matches(rawPassword, userDetails.getPassword())) {
+                                        if (!passwordHasher.matches(rawPassword, userDetails.getPassword())) {
                                                 throw new org.springframework.security.authentication.BadCredentialsException("Invalid credentials");
                                         }
                                         return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -125,7 +135,8 @@ public class SecurityConfig {
                                         principal, null,
                                         List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
                                 SecurityContextHolder.getContext().setAuthentication(auth);
-                                System.out.println("🍪 Cookie auth set for role: " + role + " (may be overridden by JWT)");
+                                authMetrics.cookieSuccess();
+                                log.debug("Cookie auth set for role {} (may be overridden by JWT)", role);
                                 break;
                             }
                         }
@@ -136,6 +147,27 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Per-route rate limits, checked after authentication and before any controller runs.
+     * Per-email limits for login and OTP are applied in the services, which read the email from the body.
+     *
+     * @return the rate limit rules
+     */
+    private List<RateLimitRule> rateLimitRules() {
+        return List.of(
+                new RateLimitRule(HttpMethod.POST.name(), Set.of(RouteConst.AUTH_BASE + RouteConst.LOGIN),
+                        rateLimitPolicies.getLoginPerIp(), RateLimitRule.KeyType.IP),
+                new RateLimitRule(HttpMethod.POST.name(), Set.of(RouteConst.OTP_BASE + "/send",
+                                RouteConst.AUTH_BASE + RouteConst.REGISTER_RESEND,
+                                RouteConst.AUTH_BASE + RouteConst.PASSWORD_FORGOT),
+                        rateLimitPolicies.getOtpPerIp(), RateLimitRule.KeyType.IP),
+                new RateLimitRule(HttpMethod.POST.name(), Set.of(RouteConst.FORUM_TOPICS),
+                        rateLimitPolicies.getTopicPerUser(), RateLimitRule.KeyType.USER),
+                new RateLimitRule(HttpMethod.POST.name(), Set.of(RouteConst.UPLOAD_IMAGE, RouteConst.UPLOAD_IMAGES,
+                                RouteConst.UPLOAD_DIRECT),
+                        rateLimitPolicies.getUploadPerUser(), RateLimitRule.KeyType.USER));
+    }
+
     /**
      * Configures the security filter chain for HTTP requests.
      *
@@ -151,6 +183,9 @@ public class SecurityConfig {
                 .addFilterBefore(cookieAuthFilter(), org.springframework.security.web.context.SecurityContextHolderFilter.class)
                 // JWT filter runs AFTER SecurityContextHolder and OVERRIDES cookie auth if JWT present
                 .addFilterAfter(jwtAuthenticationFilter, org.springframework.security.web.context.SecurityContextHolderFilter.class)
+                // Rate limits run once the caller is known, before authorization and controllers
+                .addFilterAfter(new RateLimitFilter(rateLimiter, rateLimitRules()),
+                        org.springframework.security.web.authentication.AnonymousAuthenticationFilter.class)
                 .cors(cors -> cors.configure(http))
                 .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(auth -> auth
@@ -177,6 +212,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/projects/*/vote").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/projects/*/vote").authenticated()
                         .requestMatchers(HttpMethod.GET, RouteConst.SKILLS).permitAll()
+                        .requestMatchers(HttpMethod.GET, RouteConst.FILES_BASE + "/**").permitAll()
+                        // Direct uploads to the local backend are authorized by their signed fields
+                        .requestMatchers(HttpMethod.POST, RouteConst.FILES_UPLOAD).permitAll()
                         .requestMatchers(HttpMethod.GET, RouteConst.MATERIALS + "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, RouteConst.NEWS + "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, RouteConst.FORUM_TOPICS, RouteConst.FORUM_TOPIC_ID_PATH).permitAll()
@@ -0,0 +1,63 @@
+package com.connectexe.ConnectEXE.config;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.storage.CloudinaryImageStorage;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import com.connectexe.ConnectEXE.storage.InMemoryImageStorage;
+import com.connectexe.ConnectEXE.storage.LocalImageStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Image storage configuration: "cloudinary" (default), "local" (files on this node's disk)
+ * or "memory" (tests and offline benchmarks)
+ */
+@Configuration
+public class StorageConfig {
+
+    @Value("${storage.backend:cloudinary}")
+    private String backend;
+
+    @Value("${storage.local.root:uploads}")
+    private String localRoot;
+
+    @Value("${storage.local.public-url:" + RouteConst.FILES_BASE + "}")
+    private String localPublicUrl;
+
+    @Value("${storage.local.signing-secret:}")
+    private String localSigningSecret;
+
+    @Value("${cloudinary.cloud-name:}")
+    private String cloudName;
+
+    @Value("${cloudinary.api-key:}")
+    private String apiKey;
+
+    @Value("${cloudinary.api-secret:}")
+    private String apiSecret;
+
+    @Bean
+    public ImageStorage imageStorage() throws IOException {
+        switch (backend) {
+            case "cloudinary":
+                return new CloudinaryImageStorage(new Cloudinary(ObjectUtils.asMap(
+                        "cloud_name", cloudName,
+                        "api_key", apiKey,
+                        "api_secret", apiSecret,
+                        "secure", true
+                )));
+            case "local":
+                return new LocalImageStorage(Paths.get(localRoot), localPublicUrl, localSigningSecret);
+            case "memory":
+                return new InMemoryImageStorage();
+            default:
+                throw new IllegalArgumentException("Unknown storage.backend: " + backend);
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.connectexe.ConnectEXE.controller;
 
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitFilter;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitPolicies;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimitRule;
+import com.connectexe.ConnectEXE.security.ratelimit.RateLimiter;
 import com.connectexe.ConnectEXE.service.CloudinaryService;
+import com.connectexe.ConnectEXE.service.DirectUploadService;
+import com.connectexe.ConnectEXE.service.DirectUploadTicket;
+import com.connectexe.ConnectEXE.service.ImageUploadOutcome;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * REST Controller for image upload operations using Cloudinary
  */
 @RestController
-@RequestMapping("/api/upload")
+@RequestMapping(RouteConst.UPLOAD_BASE)
 @RequiredArgsConstructor
 @Slf4j
 @CrossOrigin(
@@ -27,6 +42,12 @@ import java.util.Map;
 public class ImageUploadController {
 
     private final CloudinaryService cloudinaryService;
+    private final DirectUploadService directUploadService;
+    private final RateLimiter rateLimiter;
+    private final RateLimitPolicies rateLimitPolicies;
+
+    @Value("${upload.batch.max-files:5}")
+    private int maxBatchFiles;
 
     /**
      * Upload single image
@@ -40,7 +61,7 @@ public class ImageUploadController {
         try {
             log.info("📤 Uploading image: {} to folder: {}", file.getOriginalFilename(), folder);
             
-            Map<String, Object> uploadResult = cloudinaryService.uploadImage(file, folder);
+            Map<String, Object> uploadResult = cloudinaryService.uploadImage(file, folder, getUserIdFromAuth());
             
             // Extract important information
             Map<String, Object> response = new HashMap<>();
@@ -67,6 +88,179 @@ public class ImageUploadController {
         }
     }
 
+    /**
+     * Upload several images in one request; files are uploaded concurrently
+     * and results are returned in the order the files were sent
+     * POST /api/upload/images
+     */
+    @PostMapping("/images")
+    public ResponseEntity<Map<String, Object>> uploadImages(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "folder", required = false, defaultValue = "connect-exe") String folder,
+            HttpServletRequest request
+    ) {
+        if (files.isEmpty() || files.size() > maxBatchFiles) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Between 1 and " + maxBatchFiles + " files can be uploaded at once");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        // Uploads are limited per file: the rate limit filter took one token for the request, take one per further file
+        long retryAfterSeconds = rateLimiter.tryAcquire(rateLimitPolicies.getUploadPerUser(),
+                RateLimitFilter.resolveKey(RateLimitRule.KeyType.USER, request), files.size() - 1);
+        if (retryAfterSeconds > 0) {
+            log.warn("⚠️ Upload rate limit exceeded for a batch of {} images", files.size());
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Too many uploads, please try again later");
+            
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(errorResponse);
+        }
+        try {
+            log.info("📤 Uploading {} images to folder: {}", files.size(), folder);
+            
+            List<ImageUploadOutcome> outcomes = cloudinaryService.uploadImages(files, folder, getUserIdFromAuth());
+            
+            List<Map<String, Object>> results = new ArrayList<>(outcomes.size());
+            int failed = 0;
+            for (ImageUploadOutcome outcome : outcomes) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("fileName", outcome.getFileName());
+                item.put("success", outcome.isSuccess());
+                if (outcome.isSuccess()) {
+                    item.put("url", outcome.getResult().get("secure_url"));
+                    item.put("publicId", outcome.getResult().get("public_id"));
+                    item.put("format", outcome.getResult().get("format"));
+                    item.put("width", outcome.getResult().get("width"));
+                    item.put("height", outcome.getResult().get("height"));
+                    item.put("size", outcome.getResult().get("bytes"));
+                } else {
+                    item.put("error", outcome.getError());
+                    failed++;
+                }
+                results.add(item);
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", failed == 0);
+            response.put("message", failed == 0 ? "Images uploaded successfully"
+                    : failed + " of " + outcomes.size() + " images failed to upload");
+            response.put("uploaded", outcomes.size() - failed);
+            response.put("failed", failed);
+            response.put("results", results);
+            
+            // Partial failures are reported per file; only a batch where nothing was stored is an error
+            HttpStatus status = failed == outcomes.size() ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
+            return ResponseEntity.status(status).body(response);
+            
+        } catch (Exception e) {
+            log.error("❌ Failed to upload images: {}", e.getMessage());
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to upload images");
+            errorResponse.put("error", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Grant an upload straight to storage; the client posts the file to uploadUrl with all of fields,
+     * then confirms it with the returned ticket
+     * POST /api/upload/direct
+     */
+    @PostMapping("/direct")
+    public ResponseEntity<Map<String, Object>> grantDirectUpload(
+            @RequestParam(value = "folder", required = false, defaultValue = "connect-exe") String folder
+    ) {
+        if (!directUploadService.isSupported()) {
+            return directUploadNotSupported("Failed to grant direct upload");
+        }
+        try {
+            DirectUploadTicket ticket = directUploadService.grant(folder, getUserIdFromAuth());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("uploadUrl", ticket.getGrant().getUploadUrl());
+            response.put("fields", ticket.getGrant().getFields());
+            response.put("expiresAt", ticket.getGrant().getExpiresAt().toString());
+            response.put("publicId", ticket.getPublicId());
+            response.put("maxBytes", ticket.getMaxBytes());
+            response.put("ticket", ticket.getTicket());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to grant direct upload");
+            errorResponse.put("error", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("❌ Failed to grant direct upload: {}", e.getMessage());
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to grant direct upload");
+            errorResponse.put("error", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * Confirm a direct upload; the client posts the ticket together with the fields of the storage
+     * backend's upload response (public_id, version, signature, format, bytes, width, height).
+     * The response's signature is checked and the image is checked against its grant and recorded
+     * POST /api/upload/direct/confirm
+     */
+    @PostMapping("/direct/confirm")
+    public ResponseEntity<Map<String, Object>> confirmDirectUpload(
+            @RequestParam("ticket") String ticket,
+            @RequestParam Map<String, String> uploadResponse
+    ) {
+        if (!directUploadService.isSupported()) {
+            return directUploadNotSupported("Failed to confirm direct upload");
+        }
+        try {
+            Map<String, Object> uploadResult = directUploadService.confirm(ticket, uploadResponse, getUserIdFromAuth());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Image uploaded successfully");
+            response.put("url", uploadResult.get("secure_url"));
+            response.put("publicId", uploadResult.get("public_id"));
+            response.put("format", uploadResult.get("format"));
+            response.put("width", uploadResult.get("width"));
+            response.put("height", uploadResult.get("height"));
+            response.put("size", uploadResult.get("bytes"));
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to confirm direct upload");
+            errorResponse.put("error", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("❌ Failed to confirm direct upload: {}", e.getMessage());
+            
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to confirm direct upload");
+            errorResponse.put("error", e.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     /**
      * Delete image by public ID
      * DELETE /api/upload/image/{publicId}
@@ -78,7 +272,7 @@ public class ImageUploadController {
         try {
             log.info("🗑️ Deleting image with public ID: {}", publicId);
             
-            Map<String, Object> deleteResult = cloudinaryService.deleteImage(publicId);
+            Map<String, Object> deleteResult = cloudinaryService.deleteImage(publicId, getUserIdFromAuth());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -111,4 +305,21 @@ public class ImageUploadController {
         response.put("message", "Cloudinary integration is working");
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<Map<String, Object>> directUploadNotSupported(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        errorResponse.put("error", "Direct uploads are not supported by this storage backend");
+        
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(errorResponse);
+    }
+
+    private String getUserIdFromAuth() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return null;
+    }
 }
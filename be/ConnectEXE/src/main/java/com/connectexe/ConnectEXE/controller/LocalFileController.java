@@ -0,0 +1,135 @@
+package com.connectexe.ConnectEXE.controller;
+
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import com.connectexe.ConnectEXE.storage.LocalImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serves images kept by the local storage backend.
+ * GET /api/files/{folder}/{name}.{ext}
+ * Files are sent without copying them through the heap: with Tomcat's sendfile when the
+ * connector supports it, otherwise with FileChannel.transferTo.
+ * POST /api/files/upload takes direct uploads granted by the local backend, answering like
+ * Cloudinary's upload API so clients handle both backends the same way.
+ */
+@Slf4j
+@RestController
+@RequestMapping(RouteConst.FILES_BASE)
+public class LocalFileController {
+
+    // Tomcat request attributes for handing a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStorage imageStorage;
+    private final CacheControl cacheControl;
+
+    public LocalFileController(ImageStorage imageStorage,
+                               @Value("${storage.local.cache-max-age-seconds:31536000}") long cacheMaxAgeSeconds) {
+        this.imageStorage = imageStorage;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePublic().immutable();
+    }
+
+    @GetMapping("/**")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String prefix = request.getContextPath() + RouteConst.FILES_BASE + "/";
+        String uri = request.getRequestURI();
+        Optional<Path> found = imageStorage instanceof LocalImageStorage local && uri.startsWith(prefix)
+                ? local.findFile(uri.substring(prefix.length()))
+                : Optional.empty();
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file = found.get();
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        // Sets ETag and Last-Modified, and answers 304 when the client's copy is current
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                long sent = channel.transferTo(position, size - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    /**
+     * Direct upload to the local backend
+     * POST /api/files/upload (multipart: file plus the granted fields)
+     */
+    @PostMapping("/upload")
+    @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, methods = RequestMethod.POST)
+    public ResponseEntity<Map<String, Object>> upload(@RequestParam Map<String, String> fields,
+                                                      @RequestParam("file") MultipartFile file) {
+        if (!(imageStorage instanceof LocalImageStorage local)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", Map.of("message", "Direct uploads are not served by this backend")));
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.ok(local.storeDirectUpload(fields, content));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", Map.of("message", e.getMessage())));
+        } catch (Exception e) {
+            log.error("❌ Failed to store direct upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", Map.of("message", "Failed to store image")));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.connectexe.ConnectEXE.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A published project or topic in its author's outbox.
+ */
+@Entity
+@Table(name = "content_posts")
+@IdClass(ContentPost.Key.class)
+@Data
+public class ContentPost {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", length = 20)
+    private FeedItemType itemType;
+
+    @Id
+    @Column(name = "item_id", length = 12)
+    private String itemId;
+
+    @Column(name = "author_id", length = 12, nullable = false)
+    private String authorId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private FeedItemType itemType;
+        private String itemId;
+    }
+}
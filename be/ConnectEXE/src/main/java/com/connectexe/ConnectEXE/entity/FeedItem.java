@@ -0,0 +1,46 @@
+package com.connectexe.ConnectEXE.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An entry in a follower's home feed inbox, written by fan-out when a followed author publishes.
+ */
+@Entity
+@Table(name = "feed_items")
+@IdClass(FeedItem.Key.class)
+@Data
+public class FeedItem {
+    @Id
+    @Column(name = "owner_id", length = 12)
+    private String ownerId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", length = 20)
+    private FeedItemType itemType;
+
+    @Id
+    @Column(name = "item_id", length = 12)
+    private String itemId;
+
+    @Column(name = "author_id", length = 12, nullable = false)
+    private String authorId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String ownerId;
+        private FeedItemType itemType;
+        private String itemId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.connectexe.ConnectEXE.entity;
+
+/**
+ * Kinds of content that appear in the home feed.
+ */
+public enum FeedItemType {
+    PROJECT,
+    TOPIC
+}
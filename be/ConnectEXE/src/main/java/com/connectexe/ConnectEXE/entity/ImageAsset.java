@@ -0,0 +1,50 @@
+package com.connectexe.ConnectEXE.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored image indexed by the SHA-256 of its content, shared by every upload of the same bytes.
+ * Who uses it is tracked in image_asset_refs; it is removed from storage once no reference is left.
+ */
+@Entity
+@Table(name = "image_assets")
+@Data
+public class ImageAsset {
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    @Column(name = "secure_url", length = 1024, nullable = false)
+    private String secureUrl;
+
+    @Column(name = "format", length = 10)
+    private String format;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "bytes", nullable = false)
+    private Long bytes;
+
+    // Downscaled renditions (see ImageVariant); null until generated
+    @Column(name = "thumbnail_url", length = 1024)
+    private String thumbnailUrl;
+
+    @Column(name = "card_url", length = 1024)
+    private String cardUrl;
+
+    @Column(name = "full_url", length = 1024)
+    private String fullUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
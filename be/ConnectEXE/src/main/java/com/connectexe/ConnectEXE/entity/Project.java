@@ -71,6 +71,12 @@ public class Project {
     @Builder.Default
     private Boolean isPublic = true;
 
+    // Maintained by atomic SQL increments on vote/unvote, never written through the entity
+    @Column(name = "vote_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long voteCount = 0L;
+
     @OneToMany(mappedBy = "projectId", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<Vote> votes = new HashSet<>();
@@ -46,5 +46,10 @@ public class User {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Maintained by atomic SQL updates on follow/unfollow, never written through the entity
+    @Column(name = "follower_count", insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long followerCount;
+
     // Getters and Setters
 }
@@ -0,0 +1,38 @@
+package com.connectexe.ConnectEXE.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "user_follows")
+@IdClass(UserFollow.Key.class)
+@Data
+public class UserFollow {
+    @Id
+    @Column(name = "follower_id", length = 12)
+    private String followerId;
+
+    @Id
+    @Column(name = "followee_id", length = 12)
+    private String followeeId;
+
+    // Popular followees are pulled into the feed at read time instead of pushed on publish
+    @Column(name = "followee_popular", nullable = false)
+    private Boolean followeePopular = false;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String followerId;
+        private String followeeId;
+    }
+}
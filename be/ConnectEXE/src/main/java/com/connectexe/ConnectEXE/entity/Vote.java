@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "votes")
+@Table(name = "votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_votes_user_project", columnNames = {"user_id", "project_id"})
+})
 @Data
 public class Vote {
     @Id
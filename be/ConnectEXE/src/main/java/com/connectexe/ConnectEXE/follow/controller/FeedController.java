@@ -0,0 +1,65 @@
+package com.connectexe.ConnectEXE.follow.controller;
+
+import com.connectexe.ConnectEXE.common.ApiResponse;
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.follow.dto.response.FeedItemResponse;
+import com.connectexe.ConnectEXE.follow.service.FeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for the home feed of projects and topics from followed users
+ */
+@RestController
+@RequestMapping(RouteConst.FEED_BASE)
+@Slf4j
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final FeedService feedService;
+
+    /**
+     * Get the current user's home feed
+     * @param cursor Opaque cursor from the previous page (omit for the first page)
+     * @param size Page size (default: 20)
+     * @return Feed items, newest first, with the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<FeedItemResponse>>> getHomeFeed(
+            @RequestParam(name = RouteConst.PARAM_CURSOR, required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            String userId = getUserIdFromAuth();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error("Authentication required"));
+            }
+            CursorPage<FeedItemResponse> feed = feedService.getHomeFeed(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Feed retrieved", feed));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Error retrieving feed: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve feed"));
+        }
+    }
+
+    private String getUserIdFromAuth() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.connectexe.ConnectEXE.follow.controller;
+
+import com.connectexe.ConnectEXE.common.ApiResponse;
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.follow.dto.response.FollowStatusResponse;
+import com.connectexe.ConnectEXE.follow.dto.response.FollowUserResponse;
+import com.connectexe.ConnectEXE.follow.service.FollowService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for following users and listing followers
+ */
+@RestController
+@RequestMapping(RouteConst.FOLLOW_BASE)
+@Slf4j
+@RequiredArgsConstructor
+public class FollowController {
+
+    private final FollowService followService;
+
+    /**
+     * Follow a user
+     * @param userId ID of the user to follow
+     * @return Follow status
+     */
+    @PostMapping(RouteConst.FOLLOW)
+    public ResponseEntity<ApiResponse<FollowStatusResponse>> follow(@PathVariable(RouteConst.PARAM_USER_ID) String userId) {
+        try {
+            String currentUserId = getUserIdFromAuth();
+            if (currentUserId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error("Authentication required"));
+            }
+            FollowStatusResponse status = followService.follow(currentUserId, userId);
+            return ResponseEntity.ok(ApiResponse.success("User followed", status));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Error following user {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to follow user"));
+        }
+    }
+
+    /**
+     * Unfollow a user
+     * @param userId ID of the user to unfollow
+     * @return Follow status
+     */
+    @DeleteMapping(RouteConst.FOLLOW)
+    public ResponseEntity<ApiResponse<FollowStatusResponse>> unfollow(@PathVariable(RouteConst.PARAM_USER_ID) String userId) {
+        try {
+            String currentUserId = getUserIdFromAuth();
+            if (currentUserId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error("Authentication required"));
+            }
+            FollowStatusResponse status = followService.unfollow(currentUserId, userId);
+            return ResponseEntity.ok(ApiResponse.success("User unfollowed", status));
+        } catch (Exception ex) {
+            log.error("Error unfollowing user {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to unfollow user"));
+        }
+    }
+
+    /**
+     * Get the followers of a user
+     * @param userId User ID
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20)
+     * @return Page of followers, newest first
+     */
+    @GetMapping(RouteConst.FOLLOWERS)
+    public ResponseEntity<ApiResponse<Page<FollowUserResponse>>> getFollowers(
+            @PathVariable(RouteConst.PARAM_USER_ID) String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Page<FollowUserResponse> followers = followService.getFollowers(userId, page, size);
+            return ResponseEntity.ok(ApiResponse.success("Followers retrieved", followers));
+        } catch (Exception ex) {
+            log.error("Error retrieving followers of {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve followers"));
+        }
+    }
+
+    /**
+     * Get the users a user follows
+     * @param userId User ID
+     * @param page Page number (default: 0)
+     * @param size Page size (default: 20)
+     * @return Page of followed users, newest first
+     */
+    @GetMapping(RouteConst.FOLLOWING)
+    public ResponseEntity<ApiResponse<Page<FollowUserResponse>>> getFollowing(
+            @PathVariable(RouteConst.PARAM_USER_ID) String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Page<FollowUserResponse> following = followService.getFollowing(userId, page, size);
+            return ResponseEntity.ok(ApiResponse.success("Followed users retrieved", following));
+        } catch (Exception ex) {
+            log.error("Error retrieving users followed by {}: {}", userId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve followed users"));
+        }
+    }
+
+    private String getUserIdFromAuth() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.connectexe.ConnectEXE.follow.dto.response;
+
+import com.connectexe.ConnectEXE.entity.FeedItemType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItemResponse {
+    private FeedItemType type;
+    private String id;
+    private String title;
+    private String summary;
+    private String imageUrl;
+    private String authorId;
+    private String authorName;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,16 @@
+package com.connectexe.ConnectEXE.follow.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowStatusResponse {
+    private String userId;
+    private boolean following;
+    private Long followerCount;
+}
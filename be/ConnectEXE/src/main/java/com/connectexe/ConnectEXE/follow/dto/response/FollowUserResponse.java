@@ -0,0 +1,18 @@
+package com.connectexe.ConnectEXE.follow.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowUserResponse {
+    private String userId;
+    private String fullName;
+    private LocalDateTime followedAt;
+}
@@ -0,0 +1,84 @@
+package com.connectexe.ConnectEXE.follow.scheduler;
+
+import com.connectexe.ConnectEXE.repository.FeedItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Periodically trims home feed inboxes to their newest entries so inboxes stay bounded;
+ * the feed only ever pages that far back into pushed items.
+ * Only inboxes written since the last run are trimmed: those of the followers of authors who
+ * published, and those of users who were backfilled on follow. Each is trimmed in its own
+ * short transaction. The pending set is per instance; inboxes marked on an instance that
+ * stops before its next run are trimmed the next time they are written.
+ */
+@Component
+@Slf4j
+public class FeedTrimJob {
+
+    private final FeedItemRepository feedItemRepository;
+    private final int maxItems;
+    private final Set<String> pendingAuthors = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingOwners = ConcurrentHashMap.newKeySet();
+
+    public FeedTrimJob(FeedItemRepository feedItemRepository,
+                       @Value("${feed.inbox.max-items:500}") int maxItems) {
+        this.feedItemRepository = feedItemRepository;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * An author's post was pushed to their followers' inboxes
+     */
+    public void followerInboxesWritten(String authorId) {
+        pendingAuthors.add(authorId);
+    }
+
+    /**
+     * Items were copied into one user's inbox
+     */
+    public void inboxWritten(String ownerId) {
+        pendingOwners.add(ownerId);
+    }
+
+    @Scheduled(fixedDelayString = "${feed.inbox.trim-interval-ms:600000}")
+    public void trim() {
+        int removed = 0;
+        for (String authorId : drain(pendingAuthors)) {
+            removed += trimQuietly(() -> feedItemRepository.trimFollowerInboxes(authorId, maxItems), authorId);
+        }
+        for (String ownerId : drain(pendingOwners)) {
+            removed += trimQuietly(() -> feedItemRepository.trimInbox(ownerId, maxItems), ownerId);
+        }
+        if (removed > 0) {
+            log.info("Trimmed {} feed item(s) beyond {} per inbox", removed, maxItems);
+        }
+    }
+
+    private static List<String> drain(Set<String> pending) {
+        List<String> drained = new ArrayList<>();
+        for (String id : pending) {
+            if (pending.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private int trimQuietly(IntSupplier trim, String id) {
+        try {
+            return trim.getAsInt();
+        } catch (RuntimeException e) {
+            log.warn("Could not trim feed inboxes for {}: {}", id, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.connectexe.ConnectEXE.follow.service;
+
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.entity.FeedItemType;
+import com.connectexe.ConnectEXE.follow.dto.response.FeedItemResponse;
+
+public interface FeedService {
+    
+    /**
+     * Publish an item to its author's followers. Publishing the same item again is a no-op.
+     * Must be called inside the transaction that makes the item visible.
+     * @param type Item type
+     * @param itemId Project or topic ID
+     * @param authorId ID of the author
+     */
+    void publish(FeedItemType type, String itemId, String authorId);
+    
+    /**
+     * Get the home feed of a user using keyset pagination on (publishedAt, id), newest first.
+     * @param userId ID of the current user
+     * @param cursor Opaque cursor from the previous page (null or blank for the first page)
+     * @param size Page size
+     * @return Slice of feed items with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPage<FeedItemResponse> getHomeFeed(String userId, String cursor, int size);
+}
@@ -0,0 +1,43 @@
+package com.connectexe.ConnectEXE.follow.service;
+
+import com.connectexe.ConnectEXE.follow.dto.response.FollowStatusResponse;
+import com.connectexe.ConnectEXE.follow.dto.response.FollowUserResponse;
+import org.springframework.data.domain.Page;
+
+public interface FollowService {
+    
+    /**
+     * Follow a user. Following someone already followed is a no-op.
+     * @param followerId ID of the current user
+     * @param followeeId ID of the user to follow
+     * @return Follow status of the followee
+     * @throws IllegalArgumentException if the followee does not exist or is the current user
+     */
+    FollowStatusResponse follow(String followerId, String followeeId);
+    
+    /**
+     * Unfollow a user. Unfollowing someone not followed is a no-op.
+     * @param followerId ID of the current user
+     * @param followeeId ID of the user to unfollow
+     * @return Follow status of the followee
+     */
+    FollowStatusResponse unfollow(String followerId, String followeeId);
+    
+    /**
+     * Get the users following a user, newest first
+     * @param userId User ID
+     * @param page Page number (0-indexed)
+     * @param size Page size
+     * @return Page of followers
+     */
+    Page<FollowUserResponse> getFollowers(String userId, int page, int size);
+    
+    /**
+     * Get the users a user follows, newest first
+     * @param userId User ID
+     * @param page Page number (0-indexed)
+     * @param size Page size
+     * @return Page of followed users
+     */
+    Page<FollowUserResponse> getFollowing(String userId, int page, int size);
+}
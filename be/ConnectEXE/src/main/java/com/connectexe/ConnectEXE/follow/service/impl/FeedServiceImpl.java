@@ -0,0 +1,209 @@
+package com.connectexe.ConnectEXE.follow.service.impl;
+
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.entity.ContentPost;
+import com.connectexe.ConnectEXE.entity.FeedItem;
+import com.connectexe.ConnectEXE.entity.FeedItemType;
+import com.connectexe.ConnectEXE.entity.ForumTopic;
+import com.connectexe.ConnectEXE.entity.Project;
+import com.connectexe.ConnectEXE.follow.dto.response.FeedItemResponse;
+import com.connectexe.ConnectEXE.follow.scheduler.FeedTrimJob;
+import com.connectexe.ConnectEXE.follow.service.FeedService;
+import com.connectexe.ConnectEXE.repository.ContentPostRepository;
+import com.connectexe.ConnectEXE.repository.FeedItemRepository;
+import com.connectexe.ConnectEXE.repository.ForumTopicRepository;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.util.CursorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Home feed built from two sources: the user's inbox, filled by fan-out when a non-popular
+ * followee publishes, and the outboxes of the (few) popular accounts the user follows, read at
+ * request time. Both are read with the same keyset predicate and merged, so a page costs one
+ * inbox query plus one query over all pulled outboxes, independent of how many accounts are followed.
+ */
+@Service
+@Slf4j
+public class FeedServiceImpl implements FeedService {
+    
+    private static final String UNKNOWN_USER = "Unknown";
+    private static final int SUMMARY_LENGTH = 200;
+    
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::getCreatedAt)
+            .thenComparing(Entry::getItemId)
+            .reversed();
+    
+    private final FeedItemRepository feedItemRepository;
+    private final ContentPostRepository contentPostRepository;
+    private final ProjectRepository projectRepository;
+    private final ForumTopicRepository topicRepository;
+    private final UserRepository userRepository;
+    private final FeedTrimJob feedTrimJob;
+    private final int maxPageSize;
+    
+    public FeedServiceImpl(FeedItemRepository feedItemRepository,
+                           ContentPostRepository contentPostRepository,
+                           ProjectRepository projectRepository,
+                           ForumTopicRepository topicRepository,
+                           UserRepository userRepository,
+                           FeedTrimJob feedTrimJob,
+                           @Value("${feed.page.max-size:50}") int maxPageSize) {
+        this.feedItemRepository = feedItemRepository;
+        this.contentPostRepository = contentPostRepository;
+        this.projectRepository = projectRepository;
+        this.topicRepository = topicRepository;
+        this.userRepository = userRepository;
+        this.feedTrimJob = feedTrimJob;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    @Override
+    @Transactional
+    public void publish(FeedItemType type, String itemId, String authorId) {
+        LocalDateTime publishedAt = LocalDateTime.now();
+        if (contentPostRepository.insertIfAbsent(type.name(), itemId, authorId, publishedAt) == 0) {
+            return;
+        }
+        int pushed = feedItemRepository.fanOut(type.name(), itemId, authorId, publishedAt);
+        if (pushed > 0) {
+            feedTrimJob.followerInboxesWritten(authorId);
+        }
+        log.debug("Pushed {} {} to {} inbox(es)", type, itemId, pushed);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<FeedItemResponse> getHomeFeed(String userId, String cursor, int size) {
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Size must be between 1 and " + maxPageSize);
+        }
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        // Fetch one extra row per source to learn whether another page exists
+        Pageable firstRows = PageRequest.of(0, size + 1);
+        
+        List<Entry> entries = new ArrayList<>();
+        List<FeedItem> inbox = position == null
+                ? feedItemRepository.findFirstPage(userId, firstRows)
+                : feedItemRepository.findPageAfter(userId, position.getCreatedAt(), position.getId(), firstRows);
+        inbox.forEach(item -> entries.add(new Entry(item.getItemType(), item.getItemId(), item.getAuthorId(), item.getCreatedAt())));
+        
+        List<ContentPost> pulled = position == null
+                ? contentPostRepository.findPulledFirstPage(userId, size + 1)
+                : contentPostRepository.findPulledPageAfter(userId, position.getCreatedAt(), position.getId(), size + 1);
+        pulled.forEach(post -> entries.add(new Entry(post.getItemType(), post.getItemId(), post.getAuthorId(), post.getCreatedAt())));
+        
+        List<Entry> merged = mergeNewestFirst(entries);
+        boolean hasNext = merged.size() > size;
+        List<Entry> page = hasNext ? merged.subList(0, size) : merged;
+        
+        // The cursor follows the last row read, even if hydration hides it, so hidden rows are not re-read
+        String nextCursor = null;
+        if (hasNext) {
+            Entry last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getItemId());
+        }
+        
+        return CursorPage.<FeedItemResponse>builder()
+                .items(hydrate(page))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+    
+    /**
+     * Sort entries from all sources newest first and drop duplicates
+     * (an item can be in the inbox and in a pulled outbox if the author became popular after publishing)
+     */
+    static List<Entry> mergeNewestFirst(List<Entry> entries) {
+        Map<String, Entry> unique = new LinkedHashMap<>();
+        entries.stream()
+                .sorted(NEWEST_FIRST)
+                .forEach(entry -> unique.putIfAbsent(entry.getItemType() + ":" + entry.getItemId(), entry));
+        return new ArrayList<>(unique.values());
+    }
+    
+    /**
+     * Load the projects and topics of a page in one query per type; items that are no longer
+     * public or approved are left out
+     */
+    private List<FeedItemResponse> hydrate(List<Entry> page) {
+        Map<String, Project> projects = loadByType(page, FeedItemType.PROJECT, projectRepository::findAllById, Project::getProjectId);
+        Map<String, ForumTopic> topics = loadByType(page, FeedItemType.TOPIC, topicRepository::findAllById, ForumTopic::getTopicId);
+        Map<String, String> authorNames = userRepository.namesById(page.stream().map(Entry::getAuthorId).collect(Collectors.toSet()));
+        
+        List<FeedItemResponse> items = new ArrayList<>(page.size());
+        for (Entry entry : page) {
+            FeedItemResponse.FeedItemResponseBuilder builder = FeedItemResponse.builder()
+                    .type(entry.getItemType())
+                    .id(entry.getItemId())
+                    .authorId(entry.getAuthorId())
+                    .authorName(authorNames.getOrDefault(entry.getAuthorId(), UNKNOWN_USER))
+                    .publishedAt(entry.getCreatedAt());
+            if (entry.getItemType() == FeedItemType.PROJECT) {
+                Project project = projects.get(entry.getItemId());
+                if (project == null || !Boolean.TRUE.equals(project.getIsPublic())
+                        || project.getStatus() != Project.ProjectStatus.APPROVED) {
+                    continue;
+                }
+                builder.title(project.getProjectName())
+                        .summary(project.getDescription())
+                        .imageUrl(project.getImageUrl());
+            } else {
+                ForumTopic topic = topics.get(entry.getItemId());
+                if (topic == null || !Boolean.TRUE.equals(topic.getApproved()) || !Boolean.TRUE.equals(topic.getIsActive())) {
+                    continue;
+                }
+                builder.title(topic.getTitle())
+                        .summary(abbreviate(topic.getContent()))
+                        .imageUrl(topic.getImageUrls() != null && !topic.getImageUrls().isEmpty() ? topic.getImageUrls().get(0) : null);
+            }
+            items.add(builder.build());
+        }
+        return items;
+    }
+    
+    private <T> Map<String, T> loadByType(List<Entry> page, FeedItemType type,
+                                          Function<List<String>, List<T>> loader, Function<T, String> idOf) {
+        List<String> ids = page.stream()
+                .filter(entry -> entry.getItemType() == type)
+                .map(Entry::getItemId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+    
+    private static String abbreviate(String content) {
+        if (content == null || content.length() <= SUMMARY_LENGTH) {
+            return content;
+        }
+        return content.substring(0, SUMMARY_LENGTH) + "...";
+    }
+    
+    @lombok.Value
+    static class Entry {
+        FeedItemType itemType;
+        String itemId;
+        String authorId;
+        LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,130 @@
+package com.connectexe.ConnectEXE.follow.service.impl;
+
+import com.connectexe.ConnectEXE.entity.User;
+import com.connectexe.ConnectEXE.entity.UserFollow;
+import com.connectexe.ConnectEXE.follow.dto.response.FollowStatusResponse;
+import com.connectexe.ConnectEXE.follow.dto.response.FollowUserResponse;
+import com.connectexe.ConnectEXE.follow.scheduler.FeedTrimJob;
+import com.connectexe.ConnectEXE.follow.service.FollowService;
+import com.connectexe.ConnectEXE.project.discovery.SubscriptionProjectSampler;
+import com.connectexe.ConnectEXE.repository.FeedItemRepository;
+import com.connectexe.ConnectEXE.repository.UserFollowRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maintains the follow graph. Each edge records whether its followee is popular: posts of
+ * non-popular followees are pushed into the follower's inbox when published, posts of popular
+ * followees are pulled at read time, so every edge is served by exactly one of the two paths.
+ * An account becomes popular when its follower count reaches {@code feed.fanout.popular-threshold};
+ * it is not demoted when followers leave, so edges do not flip back and forth around the threshold.
+ */
+@Service
+public class FollowServiceImpl implements FollowService {
+    
+    private static final String UNKNOWN_USER = "Unknown";
+    
+    private final UserFollowRepository followRepository;
+    private final FeedItemRepository feedItemRepository;
+    private final UserRepository userRepository;
+    private final SubscriptionProjectSampler subscriptionProjectSampler;
+    private final FeedTrimJob feedTrimJob;
+    private final long popularThreshold;
+    private final int backfillSize;
+    
+    public FollowServiceImpl(UserFollowRepository followRepository,
+                             FeedItemRepository feedItemRepository,
+                             UserRepository userRepository,
+                             SubscriptionProjectSampler subscriptionProjectSampler,
+                             FeedTrimJob feedTrimJob,
+                             @Value("${feed.fanout.popular-threshold:5000}") long popularThreshold,
+                             @Value("${feed.follow.backfill-size:20}") int backfillSize) {
+        this.followRepository = followRepository;
+        this.feedItemRepository = feedItemRepository;
+        this.userRepository = userRepository;
+        this.subscriptionProjectSampler = subscriptionProjectSampler;
+        this.feedTrimJob = feedTrimJob;
+        this.popularThreshold = popularThreshold;
+        this.backfillSize = backfillSize;
+    }
+    
+    @Override
+    @Transactional
+    public FollowStatusResponse follow(String followerId, String followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new IllegalArgumentException("You cannot follow yourself");
+        }
+        User followee = userRepository.findById(followeeId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        long currentCount = followee.getFollowerCount() != null ? followee.getFollowerCount() : 0L;
+        
+        boolean popular = currentCount + 1 >= popularThreshold;
+        if (followRepository.insertIfAbsent(followerId, followeeId, popular, LocalDateTime.now()) == 0) {
+            return buildStatus(followeeId, true, currentCount);
+        }
+        Long followerCount = followRepository.adjustFollowerCount(followeeId, 1);
+        
+        if (followerCount >= popularThreshold) {
+            // Switch every remaining push edge to pull; a no-op once the account is already popular
+            followRepository.markFolloweePopular(followeeId);
+        } else {
+            if (feedItemRepository.backfill(followerId, followeeId, backfillSize) > 0) {
+                feedTrimJob.inboxWritten(followerId);
+            }
+        }
+        subscriptionProjectSampler.invalidate(followerId);
+        return buildStatus(followeeId, true, followerCount);
+    }
+    
+    @Override
+    @Transactional
+    public FollowStatusResponse unfollow(String followerId, String followeeId) {
+        if (followRepository.deleteEdge(followerId, followeeId) == 0) {
+            Long followerCount = userRepository.findById(followeeId)
+                    .map(User::getFollowerCount)
+                    .orElse(0L);
+            return buildStatus(followeeId, false, followerCount);
+        }
+        feedItemRepository.deleteByOwnerIdAndAuthorId(followerId, followeeId);
+        Long followerCount = followRepository.adjustFollowerCount(followeeId, -1);
+        subscriptionProjectSampler.invalidate(followerId);
+        return buildStatus(followeeId, false, followerCount);
+    }
+    
+    @Override
+    public Page<FollowUserResponse> getFollowers(String userId, int page, int size) {
+        Page<UserFollow> edges = followRepository.findByFolloweeIdOrderByCreatedAtDesc(userId, PageRequest.of(page, size));
+        return toUserPage(edges, UserFollow::getFollowerId);
+    }
+    
+    @Override
+    public Page<FollowUserResponse> getFollowing(String userId, int page, int size) {
+        Page<UserFollow> edges = followRepository.findByFollowerIdOrderByCreatedAtDesc(userId, PageRequest.of(page, size));
+        return toUserPage(edges, UserFollow::getFolloweeId);
+    }
+    
+    private Page<FollowUserResponse> toUserPage(Page<UserFollow> edges, Function<UserFollow, String> otherSide) {
+        Map<String, String> names = userRepository.namesById(edges.map(otherSide).getContent());
+        return edges.map(edge -> FollowUserResponse.builder()
+                .userId(otherSide.apply(edge))
+                .fullName(names.getOrDefault(otherSide.apply(edge), UNKNOWN_USER))
+                .followedAt(edge.getCreatedAt())
+                .build());
+    }
+    
+    private FollowStatusResponse buildStatus(String userId, boolean following, Long followerCount) {
+        return FollowStatusResponse.builder()
+                .userId(userId)
+                .following(following)
+                .followerCount(followerCount)
+                .build();
+    }
+}
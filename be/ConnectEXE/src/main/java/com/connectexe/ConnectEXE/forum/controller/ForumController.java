@@ -1,6 +1,7 @@
 package com.connectexe.ConnectEXE.forum.controller;
 
 import com.connectexe.ConnectEXE.common.ApiResponse;
+import com.connectexe.ConnectEXE.common.CursorPage;
 import com.connectexe.ConnectEXE.common.constant.RouteConst;
 import com.connectexe.ConnectEXE.forum.dto.request.*;
 import com.connectexe.ConnectEXE.forum.dto.response.*;
@@ -53,6 +54,35 @@ public class ForumController {
         }
     }
 
+    /**
+     * Get list of topics using an opaque keyset cursor (selected when the cursor parameter is present).
+     * Pass an empty cursor for the first page, then the returned nextCursor for following pages.
+     * @param approved Filter by approval status (optional)
+     * @param userId Filter by user ID (optional)
+     * @param cursor Cursor from the previous page
+     * @param size Page size (default: 10)
+     * @return Slice of topics with the next cursor
+     */
+    @GetMapping(value = "/topics", params = RouteConst.PARAM_CURSOR)
+    public ResponseEntity<ApiResponse<CursorPage<TopicResponse>>> getTopicsByCursor(
+            @RequestParam(name = RouteConst.PARAM_APPROVED, required = false) Boolean approved,
+            @RequestParam(name = RouteConst.PARAM_USER_ID, required = false) String userId,
+            @RequestParam(name = "isActive", required = false) Boolean isActive,
+            @RequestParam(name = RouteConst.PARAM_CURSOR) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<TopicResponse> topics = forumService.getTopicsByCursor(approved, userId, isActive, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Topics retrieved successfully", topics));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Error retrieving topics: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve topics"));
+        }
+    }
+
     /**
      * Create a new topic
      * @param request Topic creation request
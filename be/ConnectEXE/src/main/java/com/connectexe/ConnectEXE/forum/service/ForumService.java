@@ -1,5 +1,6 @@
 package com.connectexe.ConnectEXE.forum.service;
 
+import com.connectexe.ConnectEXE.common.CursorPage;
 import com.connectexe.ConnectEXE.forum.dto.request.CreateReplyRequest;
 import com.connectexe.ConnectEXE.forum.dto.request.CreateTopicRequest;
 import com.connectexe.ConnectEXE.forum.dto.response.ReplyResponse;
@@ -21,6 +22,19 @@ public interface ForumService {
      */
     Page<TopicResponse> getTopics(Boolean approved, String userId, Boolean isActive, int page, int size);
     
+    /**
+     * Get list of topics using keyset pagination on (createdAt, topicId), newest first.
+     * No total count is computed.
+     * @param approved Filter by approval status (optional)
+     * @param userId Filter by user ID (optional)
+     * @param isActive Filter by active status (optional, default true)
+     * @param cursor Opaque cursor from the previous page (null or blank for the first page)
+     * @param size Page size
+     * @return Slice of topics with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPage<TopicResponse> getTopicsByCursor(Boolean approved, String userId, Boolean isActive, String cursor, int size);
+    
     /**
      * Create a new topic
      * @param request Topic creation request
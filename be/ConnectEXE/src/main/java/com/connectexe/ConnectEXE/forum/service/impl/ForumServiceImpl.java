@@ -1,16 +1,27 @@
 package com.connectexe.ConnectEXE.forum.service.impl;
 
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.common.constant.CommonConst;
+import com.connectexe.ConnectEXE.entity.FeedItemType;
 import com.connectexe.ConnectEXE.entity.ForumReply;
 import com.connectexe.ConnectEXE.entity.ForumTopic;
 import com.connectexe.ConnectEXE.entity.User;
 import com.connectexe.ConnectEXE.forum.dto.request.*;
 import com.connectexe.ConnectEXE.forum.dto.response.*;
+import com.connectexe.ConnectEXE.follow.service.FeedService;
 import com.connectexe.ConnectEXE.forum.service.ForumService;
 import com.connectexe.ConnectEXE.repository.ForumReplyRepository;
 import com.connectexe.ConnectEXE.repository.ForumTopicRepository;
 import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.repository.projection.TopicReplyCountView;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.storage.ImageVariant;
+import com.connectexe.ConnectEXE.storage.ImageVariantResolver;
+import com.connectexe.ConnectEXE.util.CursorUtil;
 import com.connectexe.ConnectEXE.util.IdUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,16 +30,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ForumServiceImpl implements ForumService {
 
+    private static final String UNKNOWN_USER = "Unknown User";
+
     private final ForumTopicRepository topicRepository;
     private final ForumReplyRepository replyRepository;
     private final UserRepository userRepository;
+    private final FeedService feedService;
+    private final ImageVariantResolver imageVariantResolver;
+    private final ImageReferenceService imageReferenceService;
+
+    @Value("${forum.replies.max-depth:10}")
+    private int maxReplyDepth = 10;
+
+    @Value("${forum.replies.max-children:200}")
+    private int maxRepliesPerNode = 200;
 
     @Override
     @Transactional(readOnly = true)
@@ -51,7 +79,56 @@ public class ForumServiceImpl implements ForumService {
             topics = topicRepository.findByIsActive(activeFilter, pageable);
         }
         
-        return topics.map(this::convertToTopicResponse);
+        // Resolve authors and reply counts for the whole page up front (one grouped query each)
+        Map<String, String> authorNames = userRepository.namesById(topics.getContent().stream()
+                .map(ForumTopic::getUserId)
+                .collect(Collectors.toSet()));
+        Map<String, Long> replyCounts = getReplyCounts(topics.getContent().stream()
+                .map(ForumTopic::getTopicId)
+                .collect(Collectors.toSet()));
+        Map<String, String> thumbnails = getImageVariants(topics.getContent(), ImageVariant.THUMBNAIL);
+        
+        return topics.map(topic -> convertToTopicResponse(topic, authorNames, replyCounts, thumbnails));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TopicResponse> getTopicsByCursor(Boolean approved, String userId, Boolean isActive,
+                                                       String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, CommonConst.MIN_PAGE_SIZE), CommonConst.MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists without counting
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        Boolean activeFilter = (isActive != null) ? isActive : true;
+        
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        List<ForumTopic> topics = position == null
+                ? topicRepository.findFirstPage(activeFilter, approved, userId, limit)
+                : topicRepository.findPageAfter(activeFilter, approved, userId,
+                        position.getCreatedAt(), position.getId(), limit);
+        
+        boolean hasNext = topics.size() > pageSize;
+        if (hasNext) {
+            topics = topics.subList(0, pageSize);
+        }
+        
+        Map<String, String> authorNames = userRepository.namesById(topics.stream()
+                .map(ForumTopic::getUserId)
+                .collect(Collectors.toSet()));
+        Map<String, Long> replyCounts = getReplyCounts(topics.stream()
+                .map(ForumTopic::getTopicId)
+                .collect(Collectors.toSet()));
+        Map<String, String> thumbnails = getImageVariants(topics, ImageVariant.THUMBNAIL);
+        List<TopicResponse> items = topics.stream()
+                .map(topic -> convertToTopicResponse(topic, authorNames, replyCounts, thumbnails))
+                .collect(Collectors.toList());
+        
+        ForumTopic last = topics.isEmpty() ? null : topics.get(topics.size() - 1);
+        return CursorPage.<TopicResponse>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorUtil.encode(last.getCreatedAt(), last.getTopicId()) : null)
+                .size(items.size())
+                .build();
     }
 
     @Override
@@ -73,6 +150,7 @@ public class ForumServiceImpl implements ForumService {
         topic.setUpdatedAt(LocalDateTime.now());
         
         ForumTopic savedTopic = topicRepository.save(topic);
+        imageReferenceService.attach(ImageOwner.topic(savedTopic.getTopicId()), savedTopic.getImageUrls(), userId);
         
         return convertToTopicResponse(savedTopic);
     }
@@ -83,16 +161,40 @@ public class ForumServiceImpl implements ForumService {
         ForumTopic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
         
-        // Get only root-level replies (those without parent)
-        List<ForumReply> rootReplies = replyRepository.findByTopicIdAndParentReplyIdIsNullOrderByCreatedAtAsc(topicId);
+        // Load the whole thread once and index it by parent, then build the tree in memory
+        List<ForumReply> replies = replyRepository.findByTopicIdOrderByCreatedAtAsc(topicId);
+        Map<String, List<ForumReply>> childrenByParent = new HashMap<>();
+        List<ForumReply> rootReplies = new ArrayList<>();
+        for (ForumReply reply : replies) {
+            if (reply.getParentReplyId() == null) {
+                rootReplies.add(reply);
+            } else {
+                childrenByParent.computeIfAbsent(reply.getParentReplyId(), k -> new ArrayList<>()).add(reply);
+            }
+        }
+        
+        // Resolve the topic author and every reply author in one query
+        List<String> userIds = replies.stream()
+                .map(ForumReply::getUserId)
+                .collect(Collectors.toCollection(ArrayList::new));
+        userIds.add(topic.getUserId());
+        Map<String, String> authorNames = userRepository.namesById(userIds);
+        
+        // Full-size renditions for the topic's and every reply's images, in one query
+        List<String> imageUrls = replies.stream()
+                .filter(reply -> reply.getImageUrls() != null)
+                .flatMap(reply -> reply.getImageUrls().stream())
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (topic.getImageUrls() != null) {
+            imageUrls.addAll(topic.getImageUrls());
+        }
+        Map<String, String> fullImages = imageVariantResolver.resolve(imageUrls, ImageVariant.FULL);
         
-        // Convert to response with nested structure
-        List<ReplyResponse> replyResponses = rootReplies.stream()
-                .map(this::convertToReplyResponseWithChildren)
+        List<ReplyResponse> replyResponses = limitChildren(rootReplies).stream()
+                .map(reply -> buildReplyTree(reply, childrenByParent, authorNames, fullImages, 1))
                 .collect(Collectors.toList());
         
-        // Get author name
-        String authorName = getUserName(topic.getUserId());
+        String authorName = authorNames.getOrDefault(topic.getUserId(), UNKNOWN_USER);
         
         return TopicDetailResponse.builder()
                 .topicId(topic.getTopicId())
@@ -101,7 +203,7 @@ public class ForumServiceImpl implements ForumService {
                 .authorName(authorName)
                 .content(topic.getContent())
                 .approved(topic.getApproved())
-                .imageUrls(topic.getImageUrls())
+                .imageUrls(ImageVariantResolver.apply(topic.getImageUrls(), fullImages))
                 .createdAt(topic.getCreatedAt())
                 .updatedAt(topic.getUpdatedAt())
                 .replies(replyResponses)
@@ -141,6 +243,7 @@ public class ForumServiceImpl implements ForumService {
         reply.setCreatedAt(LocalDateTime.now());
         
         ForumReply savedReply = replyRepository.save(reply);
+        imageReferenceService.attach(ImageOwner.reply(savedReply.getReplyId()), savedReply.getImageUrls(), userId);
         
         return convertToReplyResponse(savedReply);
     }
@@ -151,6 +254,10 @@ public class ForumServiceImpl implements ForumService {
         ForumTopic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
         
+        if (!Boolean.TRUE.equals(topic.getApproved())) {
+            feedService.publish(FeedItemType.TOPIC, topic.getTopicId(), topic.getUserId());
+        }
+        
         // Set approved to true
         topic.setApproved(true);
         topic.setUpdatedAt(LocalDateTime.now());
@@ -162,8 +269,16 @@ public class ForumServiceImpl implements ForumService {
 
     // Helper methods to convert entities to DTOs
     private TopicResponse convertToTopicResponse(ForumTopic topic) {
-        String authorName = getUserName(topic.getUserId());
-        Long replyCount = replyRepository.countByTopicId(topic.getTopicId());
+        return convertToTopicResponse(topic,
+                userRepository.namesById(Collections.singleton(topic.getUserId())),
+                getReplyCounts(Collections.singleton(topic.getTopicId())),
+                Collections.emptyMap());
+    }
+
+    private TopicResponse convertToTopicResponse(ForumTopic topic, Map<String, String> authorNames,
+                                                 Map<String, Long> replyCounts, Map<String, String> imageVariants) {
+        String authorName = authorNames.getOrDefault(topic.getUserId(), UNKNOWN_USER);
+        Long replyCount = replyCounts.get(topic.getTopicId());
         
         return TopicResponse.builder()
                 .topicId(topic.getTopicId())
@@ -172,7 +287,7 @@ public class ForumServiceImpl implements ForumService {
                 .authorName(authorName)
                 .content(topic.getContent())
                 .approved(topic.getApproved())
-                .imageUrls(topic.getImageUrls())
+                .imageUrls(ImageVariantResolver.apply(topic.getImageUrls(), imageVariants))
                 .createdAt(topic.getCreatedAt())
                 .updatedAt(topic.getUpdatedAt())
                 .replyCount(replyCount != null ? replyCount.intValue() : 0)
@@ -195,37 +310,61 @@ public class ForumServiceImpl implements ForumService {
     }
 
     /**
-     * Converts a ForumReply to ReplyResponse with nested children
+     * Converts a ForumReply to ReplyResponse with nested children taken from the pre-built parent index.
+     * Children below {@code maxReplyDepth} are omitted and at most {@code maxRepliesPerNode} are kept per node;
+     * replyCount always reports the full number of direct children.
      */
-    private ReplyResponse convertToReplyResponseWithChildren(ForumReply reply) {
-        String authorName = getUserName(reply.getUserId());
-        
-        // Get child replies
-        List<ForumReply> childReplies = replyRepository.findByParentReplyIdOrderByCreatedAtAsc(reply.getReplyId());
+    private ReplyResponse buildReplyTree(ForumReply reply, Map<String, List<ForumReply>> childrenByParent,
+                                         Map<String, String> authorNames, Map<String, String> imageVariants,
+                                         int depth) {
+        List<ForumReply> childReplies = childrenByParent.getOrDefault(reply.getReplyId(), Collections.emptyList());
         
-        // Recursively convert children
-        List<ReplyResponse> children = childReplies.stream()
-                .map(this::convertToReplyResponseWithChildren)
-                .collect(Collectors.toList());
+        List<ReplyResponse> children = depth >= maxReplyDepth
+                ? new ArrayList<>()
+                : limitChildren(childReplies).stream()
+                        .map(child -> buildReplyTree(child, childrenByParent, authorNames, imageVariants, depth + 1))
+                        .collect(Collectors.toList());
         
         return ReplyResponse.builder()
                 .replyId(reply.getReplyId())
                 .topicId(reply.getTopicId())
                 .userId(reply.getUserId())
-                .authorName(authorName)
+                .authorName(authorNames.getOrDefault(reply.getUserId(), UNKNOWN_USER))
                 .content(reply.getContent())
-                .imageUrls(reply.getImageUrls())
+                .imageUrls(ImageVariantResolver.apply(reply.getImageUrls(), imageVariants))
                 .createdAt(reply.getCreatedAt())
                 .parentReplyId(reply.getParentReplyId())
                 .children(children)
-                .replyCount(children.size())
+                .replyCount(childReplies.size())
                 .build();
     }
 
+    private Map<String, String> getImageVariants(Collection<ForumTopic> topics, ImageVariant variant) {
+        return imageVariantResolver.resolve(topics.stream()
+                .filter(topic -> topic.getImageUrls() != null)
+                .flatMap(topic -> topic.getImageUrls().stream())
+                .collect(Collectors.toList()), variant);
+    }
+
+    private List<ForumReply> limitChildren(List<ForumReply> replies) {
+        return replies.size() > maxRepliesPerNode ? replies.subList(0, maxRepliesPerNode) : replies;
+    }
+
     private String getUserName(String userId) {
         return userRepository.findById(userId)
                 .map(User::getFullName)
-                .orElse("Unknown User");
+                .orElse(UNKNOWN_USER);
+    }
+
+    /**
+     * Counts replies for a batch of topics with a single grouped query
+     */
+    private Map<String, Long> getReplyCounts(Collection<String> topicIds) {
+        if (topicIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return replyRepository.countByTopicIdIn(topicIds).stream()
+                .collect(Collectors.toMap(TopicReplyCountView::getTopicId, TopicReplyCountView::getReplyCount));
     }
 
     @Override
@@ -234,7 +373,12 @@ public class ForumServiceImpl implements ForumService {
         ForumReply reply = replyRepository.findById(replyId)
                 .orElseThrow(() -> new RuntimeException("Reply not found"));
         
+        // Nested replies are deleted with it, so their images are released too
+        List<String> replyOwners = replyRepository.findSubtreeReplyIds(replyId).stream()
+                .map(ImageOwner::reply)
+                .collect(Collectors.toList());
         replyRepository.delete(reply);
+        imageReferenceService.releaseAll(replyOwners);
     }
 
     @Override
@@ -243,7 +387,7 @@ public class ForumServiceImpl implements ForumService {
         ForumTopic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
         
-        // Soft delete: set isActive to false
+        // Soft delete: set isActive to false. The topic's images stay referenced so it can be restored
         topic.setIsActive(false);
         topicRepository.save(topic);
     }
@@ -1,6 +1,8 @@
 package com.connectexe.ConnectEXE.project.controller;
 
 import com.connectexe.ConnectEXE.common.ApiResponse;
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
 import com.connectexe.ConnectEXE.entity.Project;
 import com.connectexe.ConnectEXE.project.dto.request.CreateProjectRequest;
 import com.connectexe.ConnectEXE.project.dto.request.UpdateProjectRequest;
@@ -87,6 +89,31 @@ public class ProjectController {
         }
     }
 
+    /**
+     * Get public projects using an opaque keyset cursor (selected when the cursor parameter is present).
+     * Pass an empty cursor for the first page, then the returned nextCursor for following pages.
+     * @param cursor Cursor from the previous page
+     * @param size Page size
+     * @return Slice of projects with the next cursor
+     */
+    @GetMapping(params = RouteConst.PARAM_CURSOR)
+    public ResponseEntity<ApiResponse<CursorPage<ProjectResponse>>> getAllProjectsByCursor(
+            @RequestParam(name = RouteConst.PARAM_CURSOR) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            String userId = getUserIdFromAuth();
+            CursorPage<ProjectResponse> projects = projectService.getAllProjectsByCursor(cursor, size, userId);
+            return ResponseEntity.ok(ApiResponse.success("Projects retrieved", projects));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Error retrieving projects: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve projects"));
+        }
+    }
+
     /**
      * Get projects by category
      * @param category Project category
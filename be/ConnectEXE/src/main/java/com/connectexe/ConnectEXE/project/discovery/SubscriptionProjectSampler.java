@@ -0,0 +1,139 @@
+package com.connectexe.ConnectEXE.project.discovery;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uniform random sampling of projects from the accounts a user follows without ORDER BY RANDOM().
+ * Each user's candidate project ids are cached as a pool; a request draws k distinct ids from
+ * the pool in O(k) with Floyd's algorithm, so its cost does not depend on how many candidates exist.
+ * Pools older than the TTL are still served while a background refresh reloads them.
+ * At most pool-max-users pools are kept; the least recently used one is dropped first.
+ */
+@Component
+@Slf4j
+public class SubscriptionProjectSampler {
+
+    private final ProjectRepository projectRepository;
+    private final long poolTtlMs;
+    private final int maxPools;
+
+    // Access-ordered, so the eldest entry is the least recently used pool; guarded by itself
+    private final Map<String, Pool> pools;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "project-pool-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SubscriptionProjectSampler(ProjectRepository projectRepository,
+                                      @Value("${project.random.pool-ttl-seconds:300}") long poolTtlSeconds,
+                                      @Value("${project.random.pool-max-users:10000}") int maxPools) {
+        this.projectRepository = projectRepository;
+        this.poolTtlMs = poolTtlSeconds * 1000;
+        this.maxPools = maxPools;
+        this.pools = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pool> eldest) {
+                // Bound memory; a dropped pool is simply reloaded on that user's next request
+                return size() > SubscriptionProjectSampler.this.maxPools;
+            }
+        };
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Up to {@code limit} distinct candidate project ids, uniformly random and in random order
+     */
+    public List<String> sample(String userId, int limit) {
+        String[] ids = getPool(userId).ids;
+        int k = Math.min(Math.max(limit, 0), ids.length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // Floyd's algorithm: every k-subset of the n ids is equally likely
+        Set<Integer> chosen = new LinkedHashSet<>(k * 2);
+        for (int j = ids.length - k; j < ids.length; j++) {
+            int t = random.nextInt(j + 1);
+            chosen.add(chosen.contains(t) ? j : t);
+        }
+
+        List<String> result = new ArrayList<>(k);
+        for (int index : chosen) {
+            result.add(ids[index]);
+        }
+        // Floyd's picks are uniform as a set but not in order
+        Collections.shuffle(result, random);
+        return result;
+    }
+
+    /**
+     * Drop a user's cached pool, e.g. after they follow or unfollow someone
+     */
+    public void invalidate(String userId) {
+        synchronized (pools) {
+            pools.remove(userId);
+        }
+    }
+
+    private Pool getPool(String userId) {
+        Pool pool;
+        synchronized (pools) {
+            // Marks the pool as recently used
+            pool = pools.get(userId);
+        }
+        if (pool == null) {
+            return load(userId);
+        }
+        if (System.currentTimeMillis() - pool.loadedAt > poolTtlMs && refreshing.add(userId)) {
+            refresher.execute(() -> {
+                try {
+                    load(userId);
+                } catch (Exception e) {
+                    log.warn("Failed to refresh project pool for user {}: {}", userId, e.getMessage());
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        }
+        return pool;
+    }
+
+    private Pool load(String userId) {
+        Pool pool = new Pool(projectRepository.findPublicProjectIdsFromFollowedUsers(userId).toArray(new String[0]),
+                System.currentTimeMillis());
+        synchronized (pools) {
+            pools.put(userId, pool);
+        }
+        return pool;
+    }
+
+    private static final class Pool {
+        private final String[] ids;
+        private final long loadedAt;
+
+        private Pool(String[] ids, long loadedAt) {
+            this.ids = ids;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
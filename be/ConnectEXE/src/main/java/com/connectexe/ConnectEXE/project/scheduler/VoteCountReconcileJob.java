@@ -0,0 +1,91 @@
+package com.connectexe.ConnectEXE.project.scheduler;
+
+import com.connectexe.ConnectEXE.project.vote.VoteLeaderboard;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically recomputes projects.vote_count from the votes table to repair any drift,
+ * e.g. from votes deleted directly in the database.
+ * Projects are repaired in batches, each in its own transaction: the batch's rows are locked first,
+ * the way the vote statements lock a project to adjust its counter, and only then counted,
+ * so a vote committed while the job waits is counted rather than overwritten.
+ */
+@Component
+@Slf4j
+public class VoteCountReconcileJob {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ProjectRepository projectRepository;
+    private final VoteLeaderboard voteLeaderboard;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public VoteCountReconcileJob(ProjectRepository projectRepository,
+                                 VoteLeaderboard voteLeaderboard,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${project.vote-count.reconcile-batch-size:500}") int batchSize) {
+        this.projectRepository = projectRepository;
+        this.voteLeaderboard = voteLeaderboard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${project.vote-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int repaired = 0;
+        String after = "";
+        int attempt = 1;
+        while (true) {
+            Batch batch;
+            try {
+                batch = reconcileBatchAfter(after);
+            } catch (TransientDataAccessException e) {
+                // A batched vote locking the same projects in another order; retry the batch
+                if (attempt++ >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("⚠️ Retrying vote_count reconcile after {}: {}", after, e.getMessage());
+                continue;
+            }
+            attempt = 1;
+            if (batch.getRepaired() > 0) {
+                // Committed: the leaderboard would otherwise keep ranking by the drifted counts until its next reload
+                voteLeaderboard.refresh(batch.getProjectIds());
+                repaired += batch.getRepaired();
+            }
+            if (batch.getProjectIds().size() < batchSize) {
+                break;
+            }
+            after = batch.getProjectIds().get(batch.getProjectIds().size() - 1);
+        }
+        if (repaired > 0) {
+            log.warn("Repaired vote_count drift on {} project(s)", repaired);
+        } else {
+            log.debug("Vote counts consistent");
+        }
+    }
+
+    private Batch reconcileBatchAfter(String after) {
+        return transactionTemplate.execute(status -> {
+            List<String> projectIds = projectRepository.lockProjectIdsAfter(after, batchSize);
+            int repaired = projectIds.isEmpty() ? 0 : projectRepository.reconcileVoteCounts(projectIds);
+            return new Batch(projectIds, repaired);
+        });
+    }
+
+    @lombok.Value
+    private static class Batch {
+        List<String> projectIds;
+        int repaired;
+    }
+}
@@ -1,5 +1,6 @@
 package com.connectexe.ConnectEXE.project.service;
 
+import com.connectexe.ConnectEXE.common.CursorPage;
 import com.connectexe.ConnectEXE.entity.Project;
 import com.connectexe.ConnectEXE.project.dto.request.CreateProjectRequest;
 import com.connectexe.ConnectEXE.project.dto.request.UpdateProjectRequest;
@@ -37,6 +38,17 @@ public interface ProjectService {
      */
     Page<ProjectResponse> getAllProjects(int page, int size, String userId);
     
+    /**
+     * Get public projects using keyset pagination on (createdAt, projectId), newest first.
+     * No total count is computed.
+     * @param cursor Opaque cursor from the previous page (null or blank for the first page)
+     * @param size Page size
+     * @param userId Current user ID (optional, for checking vote status)
+     * @return Slice of projects with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    CursorPage<ProjectResponse> getAllProjectsByCursor(String cursor, int size, String userId);
+    
     /**
      * Get projects by category
      * @param category Project category
@@ -1,19 +1,28 @@
 package com.connectexe.ConnectEXE.project.service.impl;
 
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.common.constant.CommonConst;
 import com.connectexe.ConnectEXE.entity.Project;
-import com.connectexe.ConnectEXE.entity.User;
-import com.connectexe.ConnectEXE.entity.Vote;
+import com.connectexe.ConnectEXE.project.discovery.SubscriptionProjectSampler;
 import com.connectexe.ConnectEXE.project.dto.request.CreateProjectRequest;
 import com.connectexe.ConnectEXE.project.dto.request.UpdateProjectRequest;
 import com.connectexe.ConnectEXE.project.dto.response.ProjectResponse;
 import com.connectexe.ConnectEXE.project.service.ProjectService;
+import com.connectexe.ConnectEXE.project.vote.VoteBuffer;
+import com.connectexe.ConnectEXE.project.vote.VoteLeaderboard;
 import com.connectexe.ConnectEXE.repository.ProjectRepository;
 import com.connectexe.ConnectEXE.repository.UserRepository;
 import com.connectexe.ConnectEXE.repository.VoteRepository;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.storage.ImageVariant;
+import com.connectexe.ConnectEXE.storage.ImageVariantResolver;
+import com.connectexe.ConnectEXE.util.CursorUtil;
 import com.connectexe.ConnectEXE.util.IdUtil;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -21,7 +30,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,16 +44,22 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProjectServiceImpl implements ProjectService {
 
+    private static final String UNKNOWN_AUTHOR = "Unknown";
+
     private final ProjectRepository projectRepository;
     private final VoteRepository voteRepository;
     private final UserRepository userRepository;
+    private final VoteBuffer voteBuffer;
+    private final VoteLeaderboard voteLeaderboard;
+    private final SubscriptionProjectSampler subscriptionProjectSampler;
+    private final ImageVariantResolver imageVariantResolver;
+    private final ImageReferenceService imageReferenceService;
 
     @Override
     public List<ProjectResponse> getRandomProjectsFromSubscriptions(String userId, int limit) {
-        List<Project> projects = projectRepository.findRandomProjectsFromSubscriptions(userId, limit);
-        return projects.stream()
-                .map(project -> convertToProjectResponse(project, userId))
-                .collect(Collectors.toList());
+        List<String> ids = subscriptionProjectSampler.sample(userId, limit);
+        List<Project> projects = findPublicInOrder(ids);
+        return convertToProjectResponses(projects, userId);
     }
 
     @Override
@@ -46,21 +67,48 @@ public class ProjectServiceImpl implements ProjectService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Project> projects = projectRepository.findByStatusAndIsPublic(
                 Project.ProjectStatus.SUCCESSFUL, true, pageable);
-        return projects.map(project -> convertToProjectResponse(project, userId));
+        return convertToProjectResponsePage(projects, userId);
     }
 
     @Override
     public Page<ProjectResponse> getAllProjects(int page, int size, String userId) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Project> projects = projectRepository.findByIsPublic(true, pageable);
-        return projects.map(project -> convertToProjectResponse(project, userId));
+        return convertToProjectResponsePage(projects, userId);
+    }
+
+    @Override
+    public CursorPage<ProjectResponse> getAllProjectsByCursor(String cursor, int size, String userId) {
+        int pageSize = Math.min(Math.max(size, CommonConst.MIN_PAGE_SIZE), CommonConst.MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether another page exists without counting
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        CursorUtil.Cursor position = CursorUtil.decode(cursor);
+        List<Project> projects = position == null
+                ? projectRepository.findPublicFirstPage(limit)
+                : projectRepository.findPublicPageAfter(position.getCreatedAt(), position.getId(), limit);
+        
+        boolean hasNext = projects.size() > pageSize;
+        if (hasNext) {
+            projects = projects.subList(0, pageSize);
+        }
+        
+        List<ProjectResponse> items = convertToProjectResponses(projects, userId);
+        
+        Project last = projects.isEmpty() ? null : projects.get(projects.size() - 1);
+        return CursorPage.<ProjectResponse>builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CursorUtil.encode(last.getCreatedAt(), last.getProjectId()) : null)
+                .size(items.size())
+                .build();
     }
 
     @Override
     public Page<ProjectResponse> getProjectsByCategory(Project.ProjectCategory category, int page, int size, String userId) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Project> projects = projectRepository.findByCategoryAndIsPublic(category, true, pageable);
-        return projects.map(project -> convertToProjectResponse(project, userId));
+        return convertToProjectResponsePage(projects, userId);
     }
 
     @Override
@@ -72,17 +120,19 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public Page<ProjectResponse> getVotingProjects(int page, int size, String userId) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Object[]> projectsWithVotes = projectRepository.findProjectsWithVoteCounts(pageable);
-        
-        return projectsWithVotes.map(result -> {
-            Project project = (Project) result[0];
-            Long voteCount = (Long) result[1];
-            
-            ProjectResponse response = convertToProjectResponse(project, userId);
-            response.setVoteCount(voteCount);
-            return response;
-        });
+        if (voteLeaderboard.isReady()) {
+            // Ranked in memory; only the page's projects are loaded
+            List<Project> projects = findPublicInOrder(voteLeaderboard.page(page, size));
+            return new PageImpl<>(convertToProjectResponses(projects, userId),
+                    PageRequest.of(page, size), voteLeaderboard.size());
+        }
+
+        // Cold ranking: fall back to the database
+        // Served from the denormalized counter via idx_projects_public_vote_count, no aggregation
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.DESC, "voteCount").and(Sort.by(Sort.Direction.DESC, "projectId")));
+        Page<Project> projects = projectRepository.findByIsPublic(true, pageable);
+        return convertToProjectResponsePage(projects, userId);
     }
 
     @Override
@@ -106,6 +156,13 @@ public class ProjectServiceImpl implements ProjectService {
         project.setUpdatedAt(LocalDateTime.now());
 
         Project savedProject = projectRepository.save(project);
+        if (savedProject.getImageUrl() != null) {
+            imageReferenceService.attach(ImageOwner.project(savedProject.getProjectId()),
+                    List.of(savedProject.getImageUrl()), userId);
+        }
+        if (Boolean.TRUE.equals(savedProject.getIsPublic())) {
+            voteLeaderboard.putAfterCommit(savedProject.getProjectId(), 0);
+        }
         return convertToProjectResponse(savedProject, userId);
     }
 
@@ -130,7 +187,9 @@ public class ProjectServiceImpl implements ProjectService {
         if (request.getCategory() != null) {
             project.setCategory(request.getCategory());
         }
-        if (request.getImageUrl() != null) {
+        String replacedImageUrl = project.getImageUrl();
+        boolean imageReplaced = request.getImageUrl() != null && !request.getImageUrl().equals(replacedImageUrl);
+        if (imageReplaced) {
             project.setImageUrl(request.getImageUrl());
         }
         if (request.getTags() != null) {
@@ -154,6 +213,19 @@ public class ProjectServiceImpl implements ProjectService {
 
         project.setUpdatedAt(LocalDateTime.now());
         Project updatedProject = projectRepository.save(project);
+        if (imageReplaced) {
+            if (replacedImageUrl != null) {
+                imageReferenceService.release(ImageOwner.project(projectId), List.of(replacedImageUrl));
+            }
+            imageReferenceService.attach(ImageOwner.project(projectId), List.of(request.getImageUrl()), userId);
+        }
+        if (request.getIsPublic() != null) {
+            if (request.getIsPublic()) {
+                voteLeaderboard.putAfterCommit(projectId, updatedProject.getVoteCount());
+            } else {
+                voteLeaderboard.removeAfterCommit(projectId);
+            }
+        }
         return convertToProjectResponse(updatedProject, userId);
     }
 
@@ -163,37 +235,97 @@ public class ProjectServiceImpl implements ProjectService {
             throw new RuntimeException("Project not found");
         }
 
-        // Check if already voted
-        if (voteRepository.existsByUserIdAndProjectId(userId, projectId)) {
-            return; // Already voted, do nothing
+        if (voteBuffer.isEnabled()) {
+            voteBuffer.submit(userId, projectId, true);
+            return;
         }
 
-        Vote vote = new Vote();
-        vote.setVoteId(IdUtil.randomHex(12));
-        vote.setUserId(userId);
-        vote.setProjectId(projectId);
-        vote.setIsUpvote(true);
-        voteRepository.save(vote);
+        // The unique (user_id, project_id) constraint makes this idempotent even under concurrent requests
+        int inserted = voteRepository.insertUpvoteIfAbsent(IdUtil.randomHex(12), userId, projectId);
+        if (inserted > 0) {
+            projectRepository.adjustVoteCount(projectId, 1);
+            voteLeaderboard.adjustAfterCommit(projectId, 1);
+        }
     }
 
     @Override
     public void unvoteProject(String projectId, String userId) {
-        voteRepository.deleteByUserIdAndProjectId(userId, projectId);
+        if (voteBuffer.isEnabled()) {
+            voteBuffer.submit(userId, projectId, false);
+            return;
+        }
+
+        int removed = voteRepository.deleteUpvote(userId, projectId);
+        if (removed > 0) {
+            projectRepository.adjustVoteCount(projectId, -removed);
+            voteLeaderboard.adjustAfterCommit(projectId, -removed);
+        }
+    }
+
+    /**
+     * Load projects by id keeping the given order; ids that vanished or went private since they were cached are skipped
+     */
+    private List<Project> findPublicInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Project> byId = projectRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Project::getProjectId, project -> project));
+        return ids.stream()
+                .map(byId::get)
+                .filter(project -> project != null && Boolean.TRUE.equals(project.getIsPublic()))
+                .collect(Collectors.toList());
     }
 
     private ProjectResponse convertToProjectResponse(Project project, String userId) {
-        // Get author name
-        String authorName = userRepository.findById(project.getOwnerId())
-                .map(User::getFullName)
-                .orElse("Unknown");
+        return convertToProjectResponses(Collections.singletonList(project), userId, ImageVariant.FULL).get(0);
+    }
 
-        // Get vote count
-        long voteCount = voteRepository.countUpvotesByProjectId(project.getProjectId());
+    private Page<ProjectResponse> convertToProjectResponsePage(Page<Project> projects, String userId) {
+        List<ProjectResponse> items = convertToProjectResponses(projects.getContent(), userId);
+        return new PageImpl<>(items, projects.getPageable(), projects.getTotalElements());
+    }
+
+    private List<ProjectResponse> convertToProjectResponses(List<Project> projects, String userId) {
+        return convertToProjectResponses(projects, userId, ImageVariant.CARD);
+    }
+
+    /**
+     * Convert a page of projects, loading authors, the caller's votes and the image renditions
+     * for the whole page in one query each instead of per project. Vote counts come from the denormalized column.
+     */
+    private List<ProjectResponse> convertToProjectResponses(List<Project> projects, String userId,
+                                                            ImageVariant imageVariant) {
+        if (projects.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> projectIds = projects.stream()
+                .map(Project::getProjectId)
+                .collect(Collectors.toSet());
+        Set<String> ownerIds = projects.stream()
+                .map(Project::getOwnerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
 
-        // Check if current user has voted
-        boolean hasVoted = userId != null && 
-                voteRepository.existsByUserIdAndProjectId(userId, project.getProjectId());
+        Map<String, String> authorNames = userRepository.namesById(ownerIds);
+        Set<String> votedProjectIds = userId == null
+                ? Collections.emptySet()
+                : new HashSet<>(voteRepository.findVotedProjectIds(userId, projectIds));
+        Map<String, String> images = imageVariantResolver.resolve(projects.stream()
+                .map(Project::getImageUrl)
+                .collect(Collectors.toList()), imageVariant);
+
+        return projects.stream()
+                .map(project -> convertToProjectResponse(project,
+                        authorNames.getOrDefault(project.getOwnerId(), UNKNOWN_AUTHOR),
+                        project.getVoteCount() != null ? project.getVoteCount() : 0L,
+                        votedProjectIds.contains(project.getProjectId()),
+                        ImageVariantResolver.apply(project.getImageUrl(), images)))
+                .collect(Collectors.toList());
+    }
 
+    private ProjectResponse convertToProjectResponse(Project project, String authorName, long voteCount, boolean hasVoted,
+                                                     String imageUrl) {
         return ProjectResponse.builder()
                 .projectId(project.getProjectId())
                 .projectName(project.getProjectName())
@@ -201,7 +333,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .content(project.getContent())
                 .category(project.getCategory())
                 .status(project.getStatus())
-                .imageUrl(project.getImageUrl())
+                .imageUrl(imageUrl)
                 .tags(project.getTags())
                 .members(project.getMembers())
                 .websiteLink(project.getWebsiteLink())
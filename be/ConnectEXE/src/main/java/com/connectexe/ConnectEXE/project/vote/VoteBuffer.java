@@ -0,0 +1,356 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import com.connectexe.ConnectEXE.repository.VoteRepository;
+import com.connectexe.ConnectEXE.util.IdUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind buffer for votes (project.votes.write-behind.enabled).
+ * Vote and unvote calls are de-duplicated per (user, project) in memory, acknowledged immediately,
+ * and flushed every flush-interval-ms or once max-batch entries are pending, as one multi-row
+ * statement for votes and one for unvotes. With journal-path set, each change is appended to a local
+ * log first so acknowledged votes survive a crash.
+ * If a batch fails, its changes are written one by one so one bad row cannot hold back the rest;
+ * a change that keeps failing on its own is dead-lettered after max-attempts flushes.
+ * At most max-pending changes wait: beyond that a voter flushes on its own thread, and is refused
+ * if the database still does not take the changes.
+ */
+@Component
+@Slf4j
+public class VoteBuffer {
+
+    private final VoteRepository voteRepository;
+    private final VoteLeaderboard voteLeaderboard;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxBatch;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final String journalPath;
+    private final boolean journalFsync;
+
+    // Latest intent per (user, project): true = vote, false = unvote
+    private final Map<VoteKey, Boolean> pending = new ConcurrentHashMap<>();
+    // Serializes journal writes with draining so the journal and the map never disagree
+    private final Object lock = new Object();
+    // Serializes flushes: the flusher thread, voters applying back-pressure, and shutdown
+    private final Object flushLock = new Object();
+    // Failed single-row writes per change; guarded by flushLock except for removal on a newer submit
+    private final Map<VoteKey, Integer> attempts = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile boolean stopped;
+    private ScheduledExecutorService flusher;
+    private VoteJournal journal;
+
+    private final Timer flushTimer;
+    private final Counter flushFailures;
+    private final Counter deadLettered;
+
+    public VoteBuffer(VoteRepository voteRepository,
+                      VoteLeaderboard voteLeaderboard,
+                      MeterRegistry registry,
+                      @Value("${project.votes.write-behind.enabled:false}") boolean enabled,
+                      @Value("${project.votes.write-behind.flush-interval-ms:500}") long flushIntervalMs,
+                      @Value("${project.votes.write-behind.max-batch:500}") int maxBatch,
+                      @Value("${project.votes.write-behind.max-pending:5000}") int maxPending,
+                      @Value("${project.votes.write-behind.max-attempts:5}") int maxAttempts,
+                      @Value("${project.votes.write-behind.journal-path:}") String journalPath,
+                      @Value("${project.votes.write-behind.journal-fsync:false}") boolean journalFsync) {
+        this.voteRepository = voteRepository;
+        this.voteLeaderboard = voteLeaderboard;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatch = maxBatch;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.journalPath = journalPath;
+        this.journalFsync = journalFsync;
+
+        Gauge.builder("votes.buffer.depth", pending, Map::size)
+                .description("Vote changes waiting to be flushed")
+                .register(registry);
+        this.flushTimer = Timer.builder("votes.buffer.flush.latency")
+                .description("Time to write one batch of buffered votes")
+                .register(registry);
+        this.flushFailures = Counter.builder("votes.buffer.flush.failures")
+                .description("Flushes that failed and were retried")
+                .register(registry);
+        this.deadLettered = Counter.builder("votes.buffer.dead_lettered")
+                .description("Vote changes given up on after failing repeatedly")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (journalPath != null && !journalPath.isBlank()) {
+            journal = new VoteJournal(Path.of(journalPath), journalFsync);
+            journal.recover(pending);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vote-buffer-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Vote write-behind enabled (interval {} ms, batch {}, journal {})",
+                flushIntervalMs, maxBatch, journal != null ? journalPath : "off");
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+        stopped = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Last attempt; anything left is still in the journal for the next start
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a vote (true) or unvote (false). Returns once the change is buffered and journaled.
+     *
+     * @throws IllegalStateException if too many changes are waiting and they cannot be flushed now
+     */
+    public void submit(String userId, String projectId, boolean upvote) {
+        VoteKey key = new VoteKey(userId, projectId);
+        if (stopped) {
+            // Shut down: nothing flushes any more, so write straight away
+            write(Map.of(key, upvote));
+            voteLeaderboard.refresh(List.of(projectId));
+            return;
+        }
+        if (pending.size() >= maxPending) {
+            flush();
+            if (pending.size() >= maxPending) {
+                throw new IllegalStateException("Too many votes are waiting to be saved, please try again later");
+            }
+        }
+        synchronized (lock) {
+            if (journal != null) {
+                try {
+                    journal.append(key, upvote);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to journal vote", e);
+                }
+            }
+            pending.put(key, upvote);
+        }
+        // A newer change starts its attempts afresh
+        attempts.remove(key);
+        if (pending.size() >= maxBatch && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush in stop() or the journal covers the change
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write everything pending to the database. Runs on the flusher thread, on a voter's thread when
+     * too many changes are waiting, and once at shutdown; one flush at a time.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            Map<VoteKey, Boolean> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                batch.forEach(pending::remove);
+                if (journal != null) {
+                    try {
+                        journal.rotate();
+                    } catch (IOException e) {
+                        // Keep the entries pending; the journal still has them
+                        pending.putAll(batch);
+                        log.error("Failed to rotate vote journal, skipping flush: {}", e.getMessage());
+                        return;
+                    }
+                }
+            }
+
+            long start = System.nanoTime();
+            try {
+                Map<VoteKey, Boolean> failed = writeBatch(batch);
+
+                if (failed.isEmpty()) {
+                    commitJournal();
+                } else {
+                    // The rotated journal file is kept, so the entries stay durable until a later flush succeeds
+                    log.error("{} buffered vote change(s) could not be written, will retry", failed.size());
+                    restore(failed);
+                }
+                Set<String> written = batch.keySet().stream()
+                        .filter(key -> !failed.containsKey(key))
+                        .map(VoteKey::getProjectId)
+                        .collect(Collectors.toSet());
+                try {
+                    voteLeaderboard.refresh(written);
+                } catch (RuntimeException e) {
+                    // The periodic reload catches up; an exception here would stop the scheduled flushes
+                    log.warn("Failed to refresh vote leaderboard: {}", e.getMessage());
+                }
+                log.debug("Flushed {} buffered vote change(s)", batch.size() - failed.size());
+            } finally {
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Write a batch in one go, or one change at a time if that fails
+     *
+     * @return the changes that could not be written and should be retried
+     */
+    private Map<VoteKey, Boolean> writeBatch(Map<VoteKey, Boolean> batch) {
+        try {
+            write(batch);
+            batch.keySet().forEach(attempts::remove);
+            return Map.of();
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            log.warn("Failed to flush {} buffered vote change(s), retrying one by one: {}", batch.size(), e.getMessage());
+            return writeEach(batch);
+        }
+    }
+
+    /**
+     * Write a failed batch one change at a time
+     *
+     * @return the changes that still failed and should be retried
+     */
+    private Map<VoteKey, Boolean> writeEach(Map<VoteKey, Boolean> batch) {
+        Map<VoteKey, Boolean> failed = new HashMap<>();
+        Map<VoteKey, RuntimeException> errors = new HashMap<>();
+        boolean anyWritten = false;
+        for (Map.Entry<VoteKey, Boolean> change : batch.entrySet()) {
+            try {
+                write(Map.of(change.getKey(), change.getValue()));
+                attempts.remove(change.getKey());
+                anyWritten = true;
+            } catch (RuntimeException e) {
+                failed.put(change.getKey(), change.getValue());
+                errors.put(change.getKey(), e);
+            }
+        }
+        // A change only counts a failed attempt if the database takes other writes or rejects the row
+        // itself; when everything fails the database is more likely down, and the changes just wait
+        for (Map.Entry<VoteKey, RuntimeException> error : errors.entrySet()) {
+            VoteKey key = error.getKey();
+            if (!anyWritten && !(error.getValue() instanceof DataIntegrityViolationException)) {
+                continue;
+            }
+            if (attempts.merge(key, 1, Integer::sum) >= maxAttempts) {
+                deadLetter(key, failed.remove(key), error.getValue());
+                attempts.remove(key);
+            }
+        }
+        return failed;
+    }
+
+    private void deadLetter(VoteKey key, boolean upvote, RuntimeException error) {
+        deadLettered.increment();
+        log.error("Giving up on {} by user {} for project {} after {} attempts: {}",
+                upvote ? "vote" : "unvote", key.getUserId(), key.getProjectId(), maxAttempts, error.getMessage());
+        if (journal != null) {
+            try {
+                journal.deadLetter(key, upvote);
+            } catch (IOException e) {
+                log.error("Failed to record dead-lettered vote change: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void commitJournal() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                journal.commitRotated();
+            } catch (IOException e) {
+                // Replaying the written entries again is harmless: votes and unvotes are idempotent
+                log.warn("Failed to remove flushed vote journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(Map<VoteKey, Boolean> batch) {
+        List<VoteKey> votes = new ArrayList<>();
+        List<VoteKey> unvotes = new ArrayList<>();
+        batch.forEach((key, upvote) -> (upvote ? votes : unvotes).add(key));
+
+        if (!votes.isEmpty()) {
+            String[] voteIds = new String[votes.size()];
+            for (int i = 0; i < voteIds.length; i++) {
+                voteIds[i] = IdUtil.randomHex(12);
+            }
+            voteRepository.insertUpvotesBatch(voteIds, userIds(votes), projectIds(votes));
+        }
+        if (!unvotes.isEmpty()) {
+            voteRepository.deleteUpvotesBatch(userIds(unvotes), projectIds(unvotes));
+        }
+    }
+
+    /**
+     * Put failed changes back without overwriting newer changes
+     */
+    private void restore(Map<VoteKey, Boolean> batch) {
+        synchronized (lock) {
+            batch.forEach(pending::putIfAbsent);
+        }
+    }
+
+    private static String[] userIds(List<VoteKey> keys) {
+        return keys.stream().map(VoteKey::getUserId).toArray(String[]::new);
+    }
+
+    private static String[] projectIds(List<VoteKey> keys) {
+        return keys.stream().map(VoteKey::getProjectId).toArray(String[]::new);
+    }
+}
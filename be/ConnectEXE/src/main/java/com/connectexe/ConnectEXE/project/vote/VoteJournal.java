@@ -0,0 +1,155 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of buffered vote changes, so acknowledged votes survive a crash.
+ * Each line is {@code + userId projectId} (vote) or {@code - userId projectId} (unvote).
+ * Before a flush the active file is rotated to {@code <path>.flushing}, which is deleted once the
+ * batch is in the database and kept if the flush fails; on startup both files are replayed.
+ * Changes given up on are appended to {@code <path>.dead}, which is never replayed. Not thread-safe; callers synchronize.
+ */
+@Slf4j
+class VoteJournal {
+
+    private static final char VOTE = '+';
+    private static final char UNVOTE = '-';
+
+    private final Path path;
+    private final Path flushingPath;
+    private final Path deadPath;
+    private final boolean fsync;
+    private FileOutputStream out;
+    private BufferedWriter writer;
+
+    VoteJournal(Path path, boolean fsync) throws IOException {
+        this.path = path;
+        this.flushingPath = path.resolveSibling(path.getFileName() + ".flushing");
+        this.deadPath = path.resolveSibling(path.getFileName() + ".dead");
+        this.fsync = fsync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    /**
+     * Replay entries left by a previous run into {@code pending} (later entries win),
+     * then start a fresh journal holding just the compacted result
+     */
+    void recover(Map<VoteKey, Boolean> pending) throws IOException {
+        replay(flushingPath, pending);
+        replay(path, pending);
+        open(false);
+        for (Map.Entry<VoteKey, Boolean> entry : pending.entrySet()) {
+            write(entry.getKey(), entry.getValue());
+        }
+        sync();
+        Files.deleteIfExists(flushingPath);
+    }
+
+    void append(VoteKey key, boolean upvote) throws IOException {
+        write(key, upvote);
+        sync();
+    }
+
+    /**
+     * Move the current entries aside before they are flushed; new entries go to a fresh file.
+     * If an earlier flush failed its rotated file is still there, so the entries are appended to it.
+     */
+    void rotate() throws IOException {
+        writer.close();
+        boolean rotated = false;
+        try {
+            if (Files.exists(flushingPath)) {
+                Files.write(flushingPath, Files.readAllBytes(path), StandardOpenOption.APPEND);
+                if (fsync) {
+                    try (FileChannel channel = FileChannel.open(flushingPath, StandardOpenOption.WRITE)) {
+                        channel.force(false);
+                    }
+                }
+            } else {
+                Files.move(path, flushingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+            rotated = true;
+        } finally {
+            // On failure keep appending to the current file so nothing is lost
+            open(!rotated);
+        }
+    }
+
+    /**
+     * The rotated entries are now in the database
+     */
+    void commitRotated() throws IOException {
+        Files.deleteIfExists(flushingPath);
+    }
+
+    /**
+     * Keep a change that could not be written, for an operator to look at
+     */
+    void deadLetter(VoteKey key, boolean upvote) throws IOException {
+        Files.writeString(deadPath, line(key, upvote) + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close vote journal {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void open(boolean append) throws IOException {
+        out = new FileOutputStream(path.toFile(), append);
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    private void write(VoteKey key, boolean upvote) throws IOException {
+        writer.write(line(key, upvote));
+        writer.newLine();
+    }
+
+    private static String line(VoteKey key, boolean upvote) {
+        return (upvote ? VOTE : UNVOTE) + " " + key.getUserId() + " " + key.getProjectId();
+    }
+
+    private void sync() throws IOException {
+        // Flushing to the OS survives a process crash; fsync also survives power loss at one disk sync per vote
+        writer.flush();
+        if (fsync) {
+            out.getFD().sync();
+        }
+    }
+
+    private void replay(Path file, Map<VoteKey, Boolean> pending) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 3 || parts[0].length() != 1) {
+                // A torn final line from a crash mid-write
+                log.warn("Skipping malformed vote journal line in {}: '{}'", file, line);
+                continue;
+            }
+            pending.put(new VoteKey(parts[1], parts[2]), parts[0].charAt(0) == VOTE);
+        }
+        log.info("Replayed {} vote journal entries from {}", lines.size(), file);
+    }
+}
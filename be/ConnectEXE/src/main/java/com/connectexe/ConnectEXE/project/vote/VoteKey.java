@@ -0,0 +1,16 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Identifies one user's vote on one project.
+ */
+@Getter
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class VoteKey {
+    private final String userId;
+    private final String projectId;
+}
@@ -0,0 +1,252 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.projection.ProjectVoteCountView;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory ranking of public projects by (voteCount DESC, projectId DESC), the same order as the
+ * voting page query. Loaded once the application is ready, updated on every vote change after the
+ * transaction commits, and fully reloaded periodically to pick up changes made elsewhere
+ * (admin edits, deletions, direct SQL). Until the first load completes it reports not ready and
+ * callers fall back to the database.
+ * <p>
+ * Each instance keeps its own ranking and only applies the vote changes it handles itself, so
+ * changes made through other instances show up here with the next reload: up to
+ * project.leaderboard.reload-interval-ms (5 minutes by default) late.
+ * <p>
+ * The ranking is a sorted array guarded by a read-write lock: a page is read by index, and a
+ * change moves one entry under the write lock, so readers never see it half applied.
+ */
+@Component
+@Slf4j
+public class VoteLeaderboard {
+
+    private static final Comparator<Entry> RANK_ORDER = Comparator
+            .comparingLong(Entry::getVoteCount).reversed()
+            .thenComparing(Entry::getProjectId, Comparator.reverseOrder());
+
+    private final ProjectRepository projectRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Ranking ranking;
+    // Projects changed while a reload reads the database, or null if no reload is running; guarded by lock
+    private Set<String> changedDuringReload;
+
+    public VoteLeaderboard(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${project.leaderboard.reload-interval-ms:300000}",
+            initialDelayString = "${project.leaderboard.reload-interval-ms:300000}")
+    public void reload() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (ProjectVoteCountView view : projectRepository.findPublicVoteCounts()) {
+            entries.add(new Entry(view.getVoteCount(), view.getProjectId()));
+        }
+        Ranking fresh = new Ranking(entries);
+
+        Set<String> changed;
+        lock.writeLock().lock();
+        try {
+            ranking = fresh;
+            changed = changedDuringReload;
+            changedDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // The load may have read these before or after their change; read them again
+        refresh(changed);
+        log.info("Loaded vote leaderboard with {} projects in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ranking != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking == null ? 0 : ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Project ids for one page of the ranking, best first
+     */
+    public List<String> page(int page, int size) {
+        lock.readLock().lock();
+        try {
+            return ranking == null ? List.of() : ranking.page((long) page * size, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Change a project's count by delta once the current transaction commits
+     */
+    public void adjustAfterCommit(String projectId, long delta) {
+        // Unknown projects (private, or created since the last load) are left to refresh/reload
+        afterCommit(() -> update(projectId, current -> current.adjust(projectId, delta)));
+    }
+
+    /**
+     * Re-read the given projects' counts and visibility, e.g. after a batch of buffered votes
+     */
+    public void refresh(Collection<String> projectIds) {
+        if (projectIds.isEmpty() || !isReady()) {
+            return;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        projectRepository.findPublicVoteCountsByProjectIdIn(projectIds)
+                .forEach(view -> counts.put(view.getProjectId(), view.getVoteCount()));
+        for (String projectId : projectIds) {
+            Long count = counts.get(projectId);
+            if (count == null) {
+                update(projectId, current -> current.remove(projectId));
+            } else {
+                update(projectId, current -> current.set(projectId, count));
+            }
+        }
+    }
+
+    /**
+     * Add a project (or move it) once the current transaction commits
+     */
+    public void putAfterCommit(String projectId, long voteCount) {
+        afterCommit(() -> update(projectId, current -> current.set(projectId, voteCount)));
+    }
+
+    /**
+     * Drop a project, e.g. when it is made private, once the current transaction commits
+     */
+    public void removeAfterCommit(String projectId) {
+        afterCommit(() -> update(projectId, current -> current.remove(projectId)));
+    }
+
+    private void update(String projectId, Consumer<Ranking> change) {
+        lock.writeLock().lock();
+        try {
+            if (ranking == null) {
+                return;
+            }
+            change.accept(ranking);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(projectId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Value
+    private static class Entry {
+        long voteCount;
+        String projectId;
+    }
+
+    /**
+     * Entries sorted by RANK_ORDER, plus a map to find a project's current entry. Moving an entry
+     * shifts the array between its old and new position; not thread-safe, used under the lock.
+     */
+    private static final class Ranking {
+        private final List<Entry> sorted;
+        private final Map<String, Entry> byProject;
+
+        Ranking(List<Entry> entries) {
+            entries.sort(RANK_ORDER);
+            this.sorted = entries;
+            this.byProject = new HashMap<>(entries.size() * 2);
+            entries.forEach(entry -> byProject.put(entry.getProjectId(), entry));
+        }
+
+        int size() {
+            return sorted.size();
+        }
+
+        void set(String projectId, long voteCount) {
+            remove(projectId);
+            Entry fresh = new Entry(voteCount, projectId);
+            sorted.add(-Collections.binarySearch(sorted, fresh, RANK_ORDER) - 1, fresh);
+            byProject.put(projectId, fresh);
+        }
+
+        void adjust(String projectId, long delta) {
+            Entry old = byProject.get(projectId);
+            if (old != null) {
+                set(projectId, Math.max(0, old.getVoteCount() + delta));
+            }
+        }
+
+        void remove(String projectId) {
+            Entry old = byProject.remove(projectId);
+            if (old != null) {
+                sorted.remove(Collections.binarySearch(sorted, old, RANK_ORDER));
+            }
+        }
+
+        List<String> page(long offset, int limit) {
+            int from = (int) Math.min(offset, sorted.size());
+            int to = Math.min(from + limit, sorted.size());
+            List<String> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add(sorted.get(i).getProjectId());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.connectexe.ConnectEXE.repository;
+
+import com.connectexe.ConnectEXE.entity.ContentPost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContentPostRepository extends JpaRepository<ContentPost, ContentPost.Key> {
+    
+    // Record a published item in its author's outbox (idempotent on re-approval)
+    @Modifying
+    @Query(value = "INSERT INTO content_posts (item_type, item_id, author_id, created_at) " +
+            "VALUES (:itemType, :itemId, :authorId, :createdAt) " +
+            "ON CONFLICT (item_type, item_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("itemType") String itemType,
+                       @Param("itemId") String itemId,
+                       @Param("authorId") String authorId,
+                       @Param("createdAt") LocalDateTime createdAt);
+    
+    // One keyset page over the posts of every popular account the follower pulls from
+    // (idx_user_follows_follower_pull). Each author's newest posts are read in index order from
+    // idx_content_posts_author_created, at most a page per author, and only those are merged,
+    // so a page costs pulled authors × page size whatever the length of their history
+    @Query(value = "SELECT c.* FROM user_follows f " +
+            "CROSS JOIN LATERAL (SELECT p.* FROM content_posts p WHERE p.author_id = f.followee_id " +
+            "  ORDER BY p.created_at DESC, p.item_id DESC LIMIT :limit) c " +
+            "WHERE f.follower_id = :followerId AND f.followee_popular = true " +
+            "ORDER BY c.created_at DESC, c.item_id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<ContentPost> findPulledFirstPage(@Param("followerId") String followerId, @Param("limit") int limit);
+    
+    @Query(value = "SELECT c.* FROM user_follows f " +
+            "CROSS JOIN LATERAL (SELECT p.* FROM content_posts p WHERE p.author_id = f.followee_id " +
+            "  AND (p.created_at, p.item_id) < (:createdAt, :itemId) " +
+            "  ORDER BY p.created_at DESC, p.item_id DESC LIMIT :limit) c " +
+            "WHERE f.follower_id = :followerId AND f.followee_popular = true " +
+            "ORDER BY c.created_at DESC, c.item_id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<ContentPost> findPulledPageAfter(@Param("followerId") String followerId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("itemId") String itemId,
+                                          @Param("limit") int limit);
+}
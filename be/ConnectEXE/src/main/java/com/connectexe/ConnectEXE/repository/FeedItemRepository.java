@@ -0,0 +1,81 @@
+package com.connectexe.ConnectEXE.repository;
+
+import com.connectexe.ConnectEXE.entity.FeedItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedItemRepository extends JpaRepository<FeedItem, FeedItem.Key> {
+    
+    // Fan-out on write: push one item into the inbox of every follower on a push edge, in one statement
+    @Modifying
+    @Query(value = "INSERT INTO feed_items (owner_id, item_type, item_id, author_id, created_at) " +
+            "SELECT f.follower_id, :itemType, :itemId, :authorId, :createdAt FROM user_follows f " +
+            "WHERE f.followee_id = :authorId AND f.followee_popular = false " +
+            "ON CONFLICT (owner_id, item_type, item_id) DO NOTHING",
+            nativeQuery = true)
+    int fanOut(@Param("itemType") String itemType,
+               @Param("itemId") String itemId,
+               @Param("authorId") String authorId,
+               @Param("createdAt") LocalDateTime createdAt);
+    
+    // On follow, copy the followee's most recent posts into the new follower's inbox
+    @Modifying
+    @Query(value = "INSERT INTO feed_items (owner_id, item_type, item_id, author_id, created_at) " +
+            "SELECT :ownerId, c.item_type, c.item_id, c.author_id, c.created_at FROM content_posts c " +
+            "WHERE c.author_id = :authorId " +
+            "ORDER BY c.created_at DESC, c.item_id DESC LIMIT :limit " +
+            "ON CONFLICT (owner_id, item_type, item_id) DO NOTHING",
+            nativeQuery = true)
+    int backfill(@Param("ownerId") String ownerId, @Param("authorId") String authorId, @Param("limit") int limit);
+    
+    // On unfollow, drop that author's items from the inbox
+    @Modifying
+    @Query("DELETE FROM FeedItem i WHERE i.ownerId = :ownerId AND i.authorId = :authorId")
+    int deleteByOwnerIdAndAuthorId(@Param("ownerId") String ownerId, @Param("authorId") String authorId);
+    
+    // Keyset pagination on (createdAt, itemId) over one inbox (idx_feed_items_owner_created)
+    @Query("SELECT i FROM FeedItem i WHERE i.ownerId = :ownerId " +
+           "ORDER BY i.createdAt DESC, i.itemId DESC")
+    List<FeedItem> findFirstPage(@Param("ownerId") String ownerId, Pageable pageable);
+    
+    // createdAt <= :createdAt is implied by the OR, but lets the index scan start at the cursor
+    @Query("SELECT i FROM FeedItem i WHERE i.ownerId = :ownerId " +
+           "AND i.createdAt <= :createdAt " +
+           "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.itemId < :itemId)) " +
+           "ORDER BY i.createdAt DESC, i.itemId DESC")
+    List<FeedItem> findPageAfter(@Param("ownerId") String ownerId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("itemId") String itemId,
+                                 Pageable pageable);
+    
+    // Trim the inboxes an author's fan-out writes to: per push follower, delete from the (maxItems + 1)th newest
+    // entry back, found by a short index seek (idx_feed_items_owner_created) instead of ranking the whole table
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM feed_items f USING (" +
+            "  SELECT u.follower_id AS owner_id, b.created_at, b.item_id FROM user_follows u " +
+            "  CROSS JOIN LATERAL (SELECT i.created_at, i.item_id FROM feed_items i WHERE i.owner_id = u.follower_id " +
+            "    ORDER BY i.created_at DESC, i.item_id DESC OFFSET :maxItems LIMIT 1) b " +
+            "  WHERE u.followee_id = :authorId AND u.followee_popular = false) r " +
+            "WHERE f.owner_id = r.owner_id AND (f.created_at, f.item_id) <= (r.created_at, r.item_id)",
+            nativeQuery = true)
+    int trimFollowerInboxes(@Param("authorId") String authorId, @Param("maxItems") int maxItems);
+    
+    // Trim one inbox to its newest :maxItems entries
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM feed_items f WHERE f.owner_id = :ownerId AND (f.created_at, f.item_id) <= (" +
+            "  SELECT i.created_at, i.item_id FROM feed_items i WHERE i.owner_id = :ownerId " +
+            "  ORDER BY i.created_at DESC, i.item_id DESC OFFSET :maxItems LIMIT 1)",
+            nativeQuery = true)
+    int trimInbox(@Param("ownerId") String ownerId, @Param("maxItems") int maxItems);
+}
@@ -1,9 +1,13 @@
 package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.ForumReply;
+import com.connectexe.ConnectEXE.repository.projection.TopicReplyCountView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -23,4 +27,18 @@ public interface ForumReplyRepository extends JpaRepository<ForumReply, String>
     
     // Count root-level replies only
     Long countByTopicIdAndParentReplyIdIsNull(String topicId);
+    
+    // IDs of a reply and all its nested replies, which are deleted along with it
+    @Query(value = "WITH RECURSIVE subtree AS (" +
+           "  SELECT reply_id FROM forum_replies WHERE reply_id = :replyId " +
+           "  UNION ALL " +
+           "  SELECT fr.reply_id FROM forum_replies fr JOIN subtree s ON fr.parent_reply_id = s.reply_id) " +
+           "SELECT reply_id FROM subtree",
+           nativeQuery = true)
+    List<String> findSubtreeReplyIds(@Param("replyId") String replyId);
+    
+    // Count replies for a batch of topics in one grouped query (topics without replies are absent)
+    @Query("SELECT fr.topicId AS topicId, COUNT(fr) AS replyCount FROM ForumReply fr " +
+           "WHERE fr.topicId IN :topicIds GROUP BY fr.topicId")
+    List<TopicReplyCountView> countByTopicIdIn(@Param("topicIds") Collection<String> topicIds);
 }
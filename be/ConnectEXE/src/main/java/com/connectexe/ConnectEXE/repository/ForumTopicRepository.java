@@ -1,6 +1,8 @@
 package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.ForumTopic;
+import com.connectexe.ConnectEXE.repository.projection.SearchHitView;
+import com.connectexe.ConnectEXE.repository.projection.TopicStatsView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface ForumTopicRepository extends JpaRepository<ForumTopic, String> {
     
@@ -23,6 +28,31 @@ public interface ForumTopicRepository extends JpaRepository<ForumTopic, String>
     // Find topics by userId, approved status and active
     Page<ForumTopic> findByUserIdAndApprovedAndIsActive(String userId, Boolean approved, Boolean isActive, Pageable pageable);
     
+    // Keyset pagination on (createdAt, topicId): first page, no count query
+    @Query("SELECT t FROM ForumTopic t WHERE t.isActive = :isActive " +
+           "AND (:approved IS NULL OR t.approved = :approved) " +
+           "AND (:userId IS NULL OR t.userId = :userId) " +
+           "ORDER BY t.createdAt DESC, t.topicId DESC")
+    List<ForumTopic> findFirstPage(@Param("isActive") Boolean isActive,
+                                   @Param("approved") Boolean approved,
+                                   @Param("userId") String userId,
+                                   Pageable pageable);
+    
+    // Keyset pagination on (createdAt, topicId): rows strictly after the cursor position
+    // createdAt <= :createdAt is implied by the OR, but lets the index scan start at the cursor
+    @Query("SELECT t FROM ForumTopic t WHERE t.isActive = :isActive " +
+           "AND (:approved IS NULL OR t.approved = :approved) " +
+           "AND (:userId IS NULL OR t.userId = :userId) " +
+           "AND t.createdAt <= :createdAt " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.topicId < :topicId)) " +
+           "ORDER BY t.createdAt DESC, t.topicId DESC")
+    List<ForumTopic> findPageAfter(@Param("isActive") Boolean isActive,
+                                   @Param("approved") Boolean approved,
+                                   @Param("userId") String userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("topicId") String topicId,
+                                   Pageable pageable);
+    
     // Legacy methods (deprecated - should filter by isActive)
     @Deprecated
     Page<ForumTopic> findAll(Pageable pageable);
@@ -36,6 +66,24 @@ public interface ForumTopicRepository extends JpaRepository<ForumTopic, String>
     @Deprecated
     Page<ForumTopic> findByUserIdAndApproved(String userId, Boolean approved, Pageable pageable);
     
+    // Aggregate counts for the admin dashboard in a single pass over the table
+    @Query("SELECT COUNT(t) AS total, COUNT(CASE WHEN t.createdAt > :since THEN 1 END) AS createdSince " +
+           "FROM ForumTopic t")
+    TopicStatsView getTopicStats(@Param("since") LocalDateTime since);
+    
+    // Ranked search over active, approved topics: weighted full-text prefix match plus trigram (typo-tolerant) match
+    @Query(value = "SELECT t.topic_id AS id, t.title AS title, LEFT(t.content, 200) AS snippet, " +
+            "CAST(ts_rank(t.search_vector, to_tsquery('simple', :tsQuery)) + word_similarity(:q, t.title) " +
+            "AS double precision) AS rank " +
+            "FROM forum_topics t " +
+            "WHERE t.is_active = true AND t.approved = true " +
+            "AND (t.search_vector @@ to_tsquery('simple', :tsQuery) " +
+            "OR :q <% lower(t.title)) " +
+            "ORDER BY rank DESC " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHitView> search(@Param("tsQuery") String tsQuery, @Param("q") String q, @Param("limit") int limit);
+    
     // Custom query to count replies for a topic
     @Query("SELECT COUNT(fr) FROM ForumReply fr WHERE fr.topicId = :topicId")
     Long countRepliesByTopicId(@Param("topicId") String topicId);
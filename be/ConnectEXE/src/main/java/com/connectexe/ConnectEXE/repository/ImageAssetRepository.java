@@ -0,0 +1,118 @@
+package com.connectexe.ConnectEXE.repository;
+
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, String> {
+
+    // Index a newly stored asset together with its owner's reference, in one statement so it is never
+    // seen unreferenced; returns 0 if another upload indexed the same content first
+    @Modifying
+    @Transactional
+    @Query(value = "WITH inserted AS (" +
+            "  INSERT INTO image_assets (content_hash, public_id, secure_url, format, width, height, bytes, created_at) " +
+            "  VALUES (:hash, :publicId, :secureUrl, :format, :width, :height, :bytes, :createdAt) " +
+            "  ON CONFLICT (content_hash) DO NOTHING RETURNING content_hash) " +
+            "INSERT INTO image_asset_refs (content_hash, owner_key, created_at) " +
+            "SELECT content_hash, :ownerKey, :createdAt FROM inserted",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash,
+                       @Param("ownerKey") String ownerKey,
+                       @Param("publicId") String publicId,
+                       @Param("secureUrl") String secureUrl,
+                       @Param("format") String format,
+                       @Param("width") Integer width,
+                       @Param("height") Integer height,
+                       @Param("bytes") long bytes,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    List<ImageAsset> findBySecureUrlIn(Collection<String> secureUrls);
+
+    Optional<ImageAsset> findByPublicId(String publicId);
+
+    // Record generated renditions; returns 0 if the asset was removed in the meantime
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageAsset a SET a.thumbnailUrl = :thumbnailUrl, a.cardUrl = :cardUrl, a.fullUrl = :fullUrl " +
+            "WHERE a.contentHash = :hash")
+    int updateVariants(@Param("hash") String hash,
+                       @Param("thumbnailUrl") String thumbnailUrl,
+                       @Param("cardUrl") String cardUrl,
+                       @Param("fullUrl") String fullUrl);
+
+    // Add (or keep) an owner's reference; returns 0 if the asset is not indexed
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO image_asset_refs (content_hash, owner_key, created_at) " +
+            "SELECT a.content_hash, :ownerKey, :createdAt FROM image_assets a WHERE a.content_hash = :hash " +
+            "ON CONFLICT (content_hash, owner_key) DO UPDATE SET created_at = EXCLUDED.created_at",
+            nativeQuery = true)
+    int addReference(@Param("hash") String hash,
+                     @Param("ownerKey") String ownerKey,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    // Reference every indexed asset among the URLs (idx_image_assets_secure_url); unknown URLs are ignored
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO image_asset_refs (content_hash, owner_key, created_at) " +
+            "SELECT a.content_hash, :ownerKey, :createdAt FROM image_assets a WHERE a.secure_url IN (:urls) " +
+            "ON CONFLICT (content_hash, owner_key) DO NOTHING",
+            nativeQuery = true)
+    int addReferencesByUrl(@Param("ownerKey") String ownerKey,
+                           @Param("urls") Collection<String> urls,
+                           @Param("createdAt") LocalDateTime createdAt);
+
+    // Drop an owner's reference to one asset; repeating it is a no-op
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM image_asset_refs r USING image_assets a " +
+            "WHERE a.content_hash = r.content_hash AND a.public_id = :publicId AND r.owner_key = :ownerKey",
+            nativeQuery = true)
+    int releaseReference(@Param("publicId") String publicId, @Param("ownerKey") String ownerKey);
+
+    // Drop an owner's references to the assets among the URLs
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM image_asset_refs r USING image_assets a " +
+            "WHERE a.content_hash = r.content_hash AND a.secure_url IN (:urls) AND r.owner_key = :ownerKey",
+            nativeQuery = true)
+    int releaseReferencesByUrl(@Param("ownerKey") String ownerKey, @Param("urls") Collection<String> urls);
+
+    // Drop every reference an owner holds
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM image_asset_refs WHERE owner_key = :ownerKey", nativeQuery = true)
+    int releaseAllReferences(@Param("ownerKey") String ownerKey);
+
+    // Drop every reference a batch of owners holds
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM image_asset_refs WHERE owner_key IN (:ownerKeys)", nativeQuery = true)
+    int releaseAllReferencesIn(@Param("ownerKeys") Collection<String> ownerKeys);
+
+    // Remove the index row only if nothing references it; a reference added concurrently fails this on its foreign key
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM image_assets a WHERE a.content_hash = :hash " +
+            "AND NOT EXISTS (SELECT 1 FROM image_asset_refs r WHERE r.content_hash = a.content_hash)",
+            nativeQuery = true)
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    // Assets left without references
+    @Query(value = "SELECT a.* FROM image_assets a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM image_asset_refs r WHERE r.content_hash = a.content_hash) " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<ImageAsset> findUnreferenced(@Param("limit") int limit);
+}
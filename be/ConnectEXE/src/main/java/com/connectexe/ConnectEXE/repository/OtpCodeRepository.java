@@ -2,7 +2,12 @@ package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.OtpCode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -10,7 +15,20 @@ import java.util.Optional;
 public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
 	Optional<OtpCode> findTopByUserIdAndOtpTypeAndIsUsedFalseOrderByCreatedAtDesc(String userId, String otpType);
 
-	long countByUserIdAndOtpTypeAndCreatedAtAfter(String userId, String otpType, LocalDateTime after);
-
 	Optional<OtpCode> findTopByUserIdAndOtpTypeAndIsUsedTrueOrderByCreatedAtDesc(String userId, String otpType);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE OtpCode o SET o.isUsed = true WHERE o.otpId = :otpId")
+	int markUsed(@Param("otpId") String otpId);
+
+	/**
+	 * Delete at most batchSize codes that expired before the cutoff, used or not.
+	 * Each call is its own short transaction so the purge never holds many row locks at once.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = "DELETE FROM otp_codes WHERE otp_id IN ("
+			+ "SELECT otp_id FROM otp_codes WHERE expiry_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+	int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
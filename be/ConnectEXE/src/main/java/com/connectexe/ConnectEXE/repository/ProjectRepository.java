@@ -1,17 +1,24 @@
 package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.Project;
+import com.connectexe.ConnectEXE.repository.projection.ProjectStatsView;
+import com.connectexe.ConnectEXE.repository.projection.ProjectVoteCountView;
+import com.connectexe.ConnectEXE.repository.projection.SearchHitView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, String> {
+public interface ProjectRepository extends JpaRepository<Project, String>, JpaSpecificationExecutor<Project> {
     
     // Find by status with pagination
     Page<Project> findByStatusAndIsPublic(Project.ProjectStatus status, Boolean isPublic, Pageable pageable);
@@ -22,25 +29,83 @@ public interface ProjectRepository extends JpaRepository<Project, String> {
     // Find all public projects
     Page<Project> findByIsPublic(Boolean isPublic, Pageable pageable);
     
-    // Find random projects from subscribed users
-    @Query(value = "SELECT p.* FROM projects p " +
+    // Keyset pagination on (createdAt, projectId): first page of public projects, no count query
+    @Query("SELECT p FROM Project p WHERE p.isPublic = true " +
+           "ORDER BY p.createdAt DESC, p.projectId DESC")
+    List<Project> findPublicFirstPage(Pageable pageable);
+    
+    // Keyset pagination on (createdAt, projectId): public projects strictly after the cursor position
+    // createdAt <= :createdAt is implied by the OR, but lets the index scan start at the cursor
+    @Query("SELECT p FROM Project p WHERE p.isPublic = true " +
+           "AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.projectId < :projectId)) " +
+           "ORDER BY p.createdAt DESC, p.projectId DESC")
+    List<Project> findPublicPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("projectId") String projectId,
+                                      Pageable pageable);
+    
+    // Ids of public projects owned by users the given user follows (candidate pool for random discovery)
+    @Query(value = "SELECT p.project_id FROM projects p " +
             "WHERE p.owner_id IN (" +
-            "  SELECT s.subscribed_to_id FROM subscriptions s " +
-            "  WHERE s.subscriber_id = :userId AND s.status = 'ACTIVE'" +
+            "  SELECT f.followee_id FROM user_follows f WHERE f.follower_id = :userId" +
             ") " +
-            "AND p.is_public = true " +
-            "ORDER BY RANDOM() " +
-            "LIMIT :limit", 
+            "AND p.is_public = true",
+            nativeQuery = true)
+    List<String> findPublicProjectIdsFromFollowedUsers(@Param("userId") String userId);
+    
+    // Atomically adjust the denormalized vote counter
+    @Modifying
+    @Query("UPDATE Project p SET p.voteCount = p.voteCount + :delta WHERE p.projectId = :projectId")
+    int adjustVoteCount(@Param("projectId") String projectId, @Param("delta") long delta);
+    
+    // Vote counts of all public projects, used to build the in-memory leaderboard
+    @Query("SELECT p.projectId AS projectId, p.voteCount AS voteCount FROM Project p WHERE p.isPublic = true")
+    List<ProjectVoteCountView> findPublicVoteCounts();
+    
+    // Vote counts of the given projects that are public
+    @Query("SELECT p.projectId AS projectId, p.voteCount AS voteCount FROM Project p " +
+           "WHERE p.isPublic = true AND p.projectId IN :projectIds")
+    List<ProjectVoteCountView> findPublicVoteCountsByProjectIdIn(@Param("projectIds") Collection<String> projectIds);
+    
+    // Lock the next batch of projects in ID order, so no vote can change their vote_count until the transaction ends
+    @Query(value = "SELECT project_id FROM projects WHERE project_id > :after " +
+            "ORDER BY project_id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<String> lockProjectIdsAfter(@Param("after") String after, @Param("limit") int limit);
+    
+    // Repair vote_count of projects locked by lockProjectIdsAfter wherever it has drifted from the votes table;
+    // returns the number of projects fixed. Run as a later statement than the lock, it counts every vote
+    // whose counter update committed first, and rows that already match are not rewritten
+    @Modifying
+    @Query(value = "UPDATE projects p SET vote_count = " +
+            "(SELECT COUNT(*) FROM votes v WHERE v.project_id = p.project_id AND v.is_upvote = true) " +
+            "WHERE p.project_id IN (:projectIds) AND p.vote_count <> " +
+            "(SELECT COUNT(*) FROM votes v WHERE v.project_id = p.project_id AND v.is_upvote = true)",
+            nativeQuery = true)
+    int reconcileVoteCounts(@Param("projectIds") Collection<String> projectIds);
+    
+    // Aggregate counts for the admin dashboard in a single pass over the table
+    @Query("SELECT COUNT(p) AS total, " +
+           "COUNT(CASE WHEN p.status = :pendingStatus THEN 1 END) AS pending, " +
+           "COUNT(CASE WHEN p.createdAt > :since THEN 1 END) AS createdSince " +
+           "FROM Project p")
+    ProjectStatsView getProjectStats(@Param("pendingStatus") Project.ProjectStatus pendingStatus,
+                                     @Param("since") LocalDateTime since);
+    
+    // Ranked search over public projects: weighted full-text prefix match plus trigram (typo-tolerant) match.
+    // Trigrams ignore case; lower(...) lets the match use the same indexes as the admin filters
+    @Query(value = "SELECT p.project_id AS id, p.project_name AS title, LEFT(p.description, 200) AS snippet, " +
+            "CAST(ts_rank(p.search_vector, to_tsquery('simple', :tsQuery)) + word_similarity(:q, p.project_name) " +
+            "AS double precision) AS rank " +
+            "FROM projects p " +
+            "WHERE p.is_public = true " +
+            "AND (p.search_vector @@ to_tsquery('simple', :tsQuery) " +
+            "OR :q <% lower(p.project_name) " +
+            "OR :q <% lower(p.tags)) " +
+            "ORDER BY rank DESC " +
+            "LIMIT :limit",
             nativeQuery = true)
-    List<Project> findRandomProjectsFromSubscriptions(@Param("userId") String userId, @Param("limit") int limit);
-    
-    // Find projects with vote counts (for voting page)
-    @Query("SELECT p, COUNT(v) as voteCount FROM Project p " +
-           "LEFT JOIN Vote v ON v.projectId = p.projectId AND v.isUpvote = true " +
-           "WHERE p.isPublic = true " +
-           "GROUP BY p " +
-           "ORDER BY voteCount DESC")
-    Page<Object[]> findProjectsWithVoteCounts(Pageable pageable);
+    List<SearchHitView> search(@Param("tsQuery") String tsQuery, @Param("q") String q, @Param("limit") int limit);
     
     // Find projects by owner
     Page<Project> findByOwnerId(String ownerId, Pageable pageable);
@@ -0,0 +1,52 @@
+package com.connectexe.ConnectEXE.repository;
+
+import com.connectexe.ConnectEXE.entity.UserFollow;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserFollowRepository extends JpaRepository<UserFollow, UserFollow.Key> {
+    
+    boolean existsByFollowerIdAndFolloweeId(String followerId, String followeeId);
+    
+    // Who follows the user, newest first (idx_user_follows_followee)
+    Page<UserFollow> findByFolloweeIdOrderByCreatedAtDesc(String followeeId, Pageable pageable);
+    
+    // Whom the user follows, newest first
+    Page<UserFollow> findByFollowerIdOrderByCreatedAtDesc(String followerId, Pageable pageable);
+    
+    // Create the edge unless it exists; returns 1 if a follow was added, 0 otherwise
+    @Modifying
+    @Query(value = "INSERT INTO user_follows (follower_id, followee_id, followee_popular, created_at) " +
+            "VALUES (:followerId, :followeeId, :popular, :createdAt) " +
+            "ON CONFLICT (follower_id, followee_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("followerId") String followerId,
+                       @Param("followeeId") String followeeId,
+                       @Param("popular") boolean popular,
+                       @Param("createdAt") LocalDateTime createdAt);
+    
+    // Remove the edge; returns the number of rows removed
+    @Modifying
+    @Query("DELETE FROM UserFollow f WHERE f.followerId = :followerId AND f.followeeId = :followeeId")
+    int deleteEdge(@Param("followerId") String followerId, @Param("followeeId") String followeeId);
+    
+    // Once an account becomes popular, switch all its followers from push to pull
+    @Modifying
+    @Query("UPDATE UserFollow f SET f.followeePopular = true WHERE f.followeeId = :followeeId AND f.followeePopular = false")
+    int markFolloweePopular(@Param("followeeId") String followeeId);
+    
+    // Atomically adjust the denormalized follower counter and return the new value
+    @Query(value = "UPDATE users SET follower_count = GREATEST(follower_count + :delta, 0) " +
+            "WHERE user_id = :userId RETURNING follower_count",
+            nativeQuery = true)
+    Long adjustFollowerCount(@Param("userId") String userId, @Param("delta") long delta);
+}
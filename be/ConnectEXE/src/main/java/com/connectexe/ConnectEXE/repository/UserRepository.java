@@ -1,17 +1,29 @@
 package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.User;
+import com.connectexe.ConnectEXE.repository.projection.SearchHitView;
+import com.connectexe.ConnectEXE.repository.projection.UserNameView;
+import com.connectexe.ConnectEXE.repository.projection.UserStatsView;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
     /**
      * Find users by a list of roles with pagination.
      * @param roles List of roles
@@ -80,6 +92,69 @@ public interface UserRepository extends JpaRepository<User, String> {
      */
     @Query("select u from User u where u.identityNumber = :identity")
     Optional<User> findByIdentityCard(@Param("identity") String identityCard);
+    /**
+     * Find id and full name for a batch of users in a single query.
+     * @param userIds User IDs to resolve
+     * @return List of name projections (unknown IDs are absent)
+     */
+    @Query("select u.userId as userId, u.fullName as fullName from User u where u.userId in :userIds")
+    List<UserNameView> findNamesByUserIdIn(@Param("userIds") Collection<String> userIds);
+    /**
+     * Resolve full names for a batch of users in a single query.
+     * @param userIds User IDs to resolve; null IDs are ignored
+     * @return Map of user ID to full name (unknown IDs and users without a name are absent)
+     */
+    default Map<String, String> namesById(Collection<String> userIds) {
+        Set<String> ids = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return findNamesByUserIdIn(ids).stream()
+                .filter(view -> view.getFullName() != null)
+                .collect(Collectors.toMap(UserNameView::getUserId, UserNameView::getFullName));
+    }
+    /**
+     * Count total and active users in a single pass over the table.
+     * @return Aggregate user counts
+     */
+    @Query("select count(u) as total, count(case when u.isActive = true then 1 end) as active from User u")
+    UserStatsView getUserStats();
+    /**
+     * Ranked search over active users: full-text prefix match on the name plus trigram (typo-tolerant) match.
+     * @param tsQuery Prefix tsquery, e.g. "nguyen:* & van:*"
+     * @param q Raw search term for trigram matching
+     * @param includeEmail Whether the email column may be matched (admins only)
+     * @param limit Maximum number of hits
+     * @return Hits ordered by rank, best first
+     */
+    @Query(value = "SELECT u.user_id AS id, u.full_name AS title, u.major AS snippet, " +
+            "CAST(ts_rank(u.search_vector, to_tsquery('simple', :tsQuery)) + word_similarity(:q, u.full_name) " +
+            "AS double precision) AS rank " +
+            "FROM users u " +
+            "WHERE (u.is_active IS NULL OR u.is_active = true) " +
+            "AND (u.search_vector @@ to_tsquery('simple', :tsQuery) " +
+            "OR :q <% lower(u.full_name) " +
+            "OR (:includeEmail = true AND :q <% lower(u.email))) " +
+            "ORDER BY rank DESC " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHitView> search(@Param("tsQuery") String tsQuery, @Param("q") String q,
+                               @Param("includeEmail") boolean includeEmail, @Param("limit") int limit);
+    /**
+     * Replace a password hash only if it is still the one that was verified,
+     * so a concurrent password change is never overwritten by a re-hash.
+     * @param userId User ID
+     * @param oldHash Hash the password was verified against
+     * @param newHash Re-computed hash
+     * @return 1 if the hash was replaced, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.userId = :userId and u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("userId") String userId, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
     /**
      * Count the total number of users.
      * @return total user count
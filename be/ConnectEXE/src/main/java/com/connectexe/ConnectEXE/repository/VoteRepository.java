@@ -2,10 +2,14 @@ package com.connectexe.ConnectEXE.repository;
 
 import com.connectexe.ConnectEXE.entity.Vote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,6 +25,60 @@ public interface VoteRepository extends JpaRepository<Vote, String> {
     @Query("SELECT COUNT(v) FROM Vote v WHERE v.projectId = :projectId AND v.isUpvote = true")
     long countUpvotesByProjectId(@Param("projectId") String projectId);
     
+    // Which of the given projects the user has voted for
+    @Query("SELECT v.projectId FROM Vote v WHERE v.userId = :userId AND v.projectId IN :projectIds")
+    List<String> findVotedProjectIds(@Param("userId") String userId, @Param("projectIds") Collection<String> projectIds);
+    
     // Delete vote by user and project
     void deleteByUserIdAndProjectId(String userId, String projectId);
+    
+    // Insert an upvote unless the user already voted; returns 1 if a vote was added, 0 otherwise
+    @Modifying
+    @Query(value = "INSERT INTO votes (vote_id, user_id, project_id, is_upvote) " +
+            "VALUES (:voteId, :userId, :projectId, true) " +
+            "ON CONFLICT (user_id, project_id) DO NOTHING",
+            nativeQuery = true)
+    int insertUpvoteIfAbsent(@Param("voteId") String voteId,
+                             @Param("userId") String userId,
+                             @Param("projectId") String projectId);
+    
+    // Delete the user's upvote; returns the number of rows removed
+    @Modifying
+    @Query("DELETE FROM Vote v WHERE v.userId = :userId AND v.projectId = :projectId AND v.isUpvote = true")
+    int deleteUpvote(@Param("userId") String userId, @Param("projectId") String projectId);
+    
+    // Batched upvotes in one statement: skip existing votes and bump vote_count by what was actually inserted
+    @Modifying
+    @Transactional
+    @Query(value = "WITH input AS (" +
+            "  SELECT * FROM unnest(CAST(:voteIds AS varchar[]), CAST(:userIds AS varchar[]), CAST(:projectIds AS varchar[])) " +
+            "  AS t(vote_id, user_id, project_id)), " +
+            "inserted AS (" +
+            "  INSERT INTO votes (vote_id, user_id, project_id, is_upvote) " +
+            "  SELECT vote_id, user_id, project_id, true FROM input " +
+            "  ON CONFLICT (user_id, project_id) DO NOTHING " +
+            "  RETURNING project_id) " +
+            "UPDATE projects p SET vote_count = p.vote_count + c.cnt " +
+            "FROM (SELECT project_id, COUNT(*) AS cnt FROM inserted GROUP BY project_id) c " +
+            "WHERE p.project_id = c.project_id",
+            nativeQuery = true)
+    int insertUpvotesBatch(@Param("voteIds") String[] voteIds,
+                           @Param("userIds") String[] userIds,
+                           @Param("projectIds") String[] projectIds);
+    
+    // Batched unvotes in one statement: delete existing upvotes and lower vote_count by what was actually deleted
+    @Modifying
+    @Transactional
+    @Query(value = "WITH input AS (" +
+            "  SELECT * FROM unnest(CAST(:userIds AS varchar[]), CAST(:projectIds AS varchar[])) " +
+            "  AS t(user_id, project_id)), " +
+            "deleted AS (" +
+            "  DELETE FROM votes v USING input i " +
+            "  WHERE v.user_id = i.user_id AND v.project_id = i.project_id AND v.is_upvote = true " +
+            "  RETURNING v.project_id) " +
+            "UPDATE projects p SET vote_count = p.vote_count - c.cnt " +
+            "FROM (SELECT project_id, COUNT(*) AS cnt FROM deleted GROUP BY project_id) c " +
+            "WHERE p.project_id = c.project_id",
+            nativeQuery = true)
+    int deleteUpvotesBatch(@Param("userIds") String[] userIds, @Param("projectIds") String[] projectIds);
 }
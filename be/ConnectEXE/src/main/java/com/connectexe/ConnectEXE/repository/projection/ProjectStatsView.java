@@ -0,0 +1,12 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Aggregate project counts for the admin dashboard.
+ */
+public interface ProjectStatsView {
+    Long getTotal();
+
+    Long getPending();
+
+    Long getCreatedSince();
+}
@@ -0,0 +1,10 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Projection of a project's denormalized vote count.
+ */
+public interface ProjectVoteCountView {
+    String getProjectId();
+
+    Long getVoteCount();
+}
@@ -0,0 +1,14 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Projection of a single ranked full-text/trigram search match.
+ */
+public interface SearchHitView {
+    String getId();
+
+    String getTitle();
+
+    String getSnippet();
+
+    Double getRank();
+}
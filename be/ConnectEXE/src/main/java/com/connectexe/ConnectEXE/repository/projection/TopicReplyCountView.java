@@ -0,0 +1,10 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Projection of a grouped reply count for a single forum topic.
+ */
+public interface TopicReplyCountView {
+    String getTopicId();
+
+    Long getReplyCount();
+}
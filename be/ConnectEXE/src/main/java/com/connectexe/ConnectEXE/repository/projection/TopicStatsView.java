@@ -0,0 +1,10 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Aggregate forum topic counts for the admin dashboard.
+ */
+public interface TopicStatsView {
+    Long getTotal();
+
+    Long getCreatedSince();
+}
@@ -0,0 +1,11 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Lightweight projection of a user's id and display name.
+ * Used to resolve author names for a whole page in one query.
+ */
+public interface UserNameView {
+    String getUserId();
+
+    String getFullName();
+}
@@ -0,0 +1,10 @@
+package com.connectexe.ConnectEXE.repository.projection;
+
+/**
+ * Aggregate user counts for the admin dashboard.
+ */
+public interface UserStatsView {
+    Long getTotal();
+
+    Long getActive();
+}
@@ -0,0 +1,27 @@
+package com.connectexe.ConnectEXE.repository.specification;
+
+import com.connectexe.ConnectEXE.entity.Project;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable JPA specifications for filtering projects in the database.
+ */
+public final class ProjectSpecifications {
+
+    private ProjectSpecifications() {}
+
+    /**
+     * Match projects with the given status.
+     */
+    public static Specification<Project> hasStatus(Project.ProjectStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Match projects whose name contains the search term (case-insensitive).
+     */
+    public static Specification<Project> matchesSearch(String searchQuery) {
+        String pattern = SpecificationUtil.containsPattern(searchQuery);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("projectName")), pattern, SpecificationUtil.LIKE_ESCAPE);
+    }
+}
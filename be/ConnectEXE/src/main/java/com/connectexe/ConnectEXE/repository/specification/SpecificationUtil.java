@@ -0,0 +1,21 @@
+package com.connectexe.ConnectEXE.repository.specification;
+
+/**
+ * Helpers shared by the specification classes.
+ */
+final class SpecificationUtil {
+    static final char LIKE_ESCAPE = '\\';
+
+    private SpecificationUtil() {}
+
+    /**
+     * Build a lower-case "contains" LIKE pattern with wildcard characters in the input escaped.
+     */
+    static String containsPattern(String searchQuery) {
+        String escaped = searchQuery.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
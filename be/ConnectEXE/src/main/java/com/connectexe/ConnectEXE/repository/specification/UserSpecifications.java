@@ -0,0 +1,53 @@
+package com.connectexe.ConnectEXE.repository.specification;
+
+import com.connectexe.ConnectEXE.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable JPA specifications for filtering users in the database.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {}
+
+    /**
+     * Match users with the given role (case-insensitive).
+     */
+    public static Specification<User> hasRole(String role) {
+        String value = role.trim().toLowerCase();
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("role")), value);
+    }
+
+    /**
+     * Match users with the given status.
+     * Rows without a status column value fall back to the isActive flag, mirroring how status is displayed.
+     */
+    public static Specification<User> hasStatus(String status) {
+        String value = status.trim().toUpperCase();
+        return (root, query, cb) -> {
+            switch (value) {
+                case "ACTIVE":
+                    return cb.or(
+                            cb.equal(root.get("status"), value),
+                            cb.and(cb.isNull(root.get("status")), cb.isTrue(root.get("isActive"))));
+                case "INACTIVE":
+                    return cb.or(
+                            cb.equal(root.get("status"), value),
+                            cb.and(cb.isNull(root.get("status")),
+                                    cb.or(cb.isNull(root.get("isActive")), cb.isFalse(root.get("isActive")))));
+                default:
+                    return cb.equal(root.get("status"), value);
+            }
+        };
+    }
+
+    /**
+     * Match users whose full name or email contains the search term (case-insensitive).
+     */
+    public static Specification<User> matchesSearch(String searchQuery) {
+        String pattern = SpecificationUtil.containsPattern(searchQuery);
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("fullName")), pattern, SpecificationUtil.LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("email")), pattern, SpecificationUtil.LIKE_ESCAPE));
+    }
+}
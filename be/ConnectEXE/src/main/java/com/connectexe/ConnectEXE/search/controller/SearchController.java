@@ -0,0 +1,64 @@
+package com.connectexe.ConnectEXE.search.controller;
+
+import com.connectexe.ConnectEXE.common.ApiResponse;
+import com.connectexe.ConnectEXE.common.constant.RouteConst;
+import com.connectexe.ConnectEXE.search.dto.response.SearchResponse;
+import com.connectexe.ConnectEXE.search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * Controller for ranked search across users, projects and forum topics.
+ */
+@RestController
+@RequestMapping(RouteConst.SEARCH_BASE)
+@Slf4j
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search users, projects and topics
+     * @param query Search term (typo-tolerant, words match as prefixes)
+     * @param types Restrict to some of: user, project, topic (optional)
+     * @param limit Maximum number of results (default: 20)
+     * @return Results ordered by rank
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @RequestParam(name = RouteConst.PARAM_QUERY) String query,
+            @RequestParam(name = "types", required = false) Set<String> types,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            SearchResponse result = searchService.search(query, types, limit, isAdmin());
+            return ResponseEntity.ok(ApiResponse.success("Search completed", result));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Error searching for '{}': {}", query, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search"));
+        }
+    }
+
+    /**
+     * Only admins may match users by email
+     */
+    private boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
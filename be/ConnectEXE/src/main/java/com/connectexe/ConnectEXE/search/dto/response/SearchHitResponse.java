@@ -0,0 +1,18 @@
+package com.connectexe.ConnectEXE.search.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitResponse {
+    private String type; // user, project or topic
+    private String id;
+    private String title;
+    private String snippet;
+    private Double rank;
+}
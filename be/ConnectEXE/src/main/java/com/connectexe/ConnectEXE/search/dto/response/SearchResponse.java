@@ -0,0 +1,17 @@
+package com.connectexe.ConnectEXE.search.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+    private String query;
+    private List<SearchHitResponse> results; // Ordered by rank, best first
+}
@@ -0,0 +1,23 @@
+package com.connectexe.ConnectEXE.search.service;
+
+import com.connectexe.ConnectEXE.search.dto.response.SearchResponse;
+
+import java.util.Set;
+
+public interface SearchService {
+
+    String TYPE_USER = "user";
+    String TYPE_PROJECT = "project";
+    String TYPE_TOPIC = "topic";
+
+    /**
+     * Ranked, typo-tolerant prefix search over users, public projects and approved forum topics
+     * @param query Search term (at least 2 characters)
+     * @param types Entity types to search (user, project, topic); null or empty searches all
+     * @param limit Maximum number of results
+     * @param includeEmail Whether user emails may be matched (admins only)
+     * @return Merged results ordered by rank
+     * @throws IllegalArgumentException if the query is too short or has no searchable words
+     */
+    SearchResponse search(String query, Set<String> types, int limit, boolean includeEmail);
+}
@@ -0,0 +1,94 @@
+package com.connectexe.ConnectEXE.search.service.impl;
+
+import com.connectexe.ConnectEXE.common.constant.CommonConst;
+import com.connectexe.ConnectEXE.repository.ForumTopicRepository;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.repository.projection.SearchHitView;
+import com.connectexe.ConnectEXE.search.dto.response.SearchHitResponse;
+import com.connectexe.ConnectEXE.search.dto.response.SearchResponse;
+import com.connectexe.ConnectEXE.search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ForumTopicRepository topicRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, Set<String> types, int limit, boolean includeEmail) {
+        String q = query == null ? "" : query.trim();
+        if (q.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            q = q.substring(0, MAX_QUERY_LENGTH);
+        }
+        String tsQuery = toPrefixTsQuery(q);
+        if (tsQuery.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no searchable words");
+        }
+        int max = Math.min(Math.max(limit, CommonConst.MIN_PAGE_SIZE), CommonConst.MAX_PAGE_SIZE);
+        boolean all = types == null || types.isEmpty();
+
+        List<SearchHitResponse> results = new ArrayList<>();
+        if (all || types.contains(TYPE_USER)) {
+            addHits(results, TYPE_USER, userRepository.search(tsQuery, q, includeEmail, max));
+        }
+        if (all || types.contains(TYPE_PROJECT)) {
+            addHits(results, TYPE_PROJECT, projectRepository.search(tsQuery, q, max));
+        }
+        if (all || types.contains(TYPE_TOPIC)) {
+            addHits(results, TYPE_TOPIC, topicRepository.search(tsQuery, q, max));
+        }
+
+        List<SearchHitResponse> ranked = results.stream()
+                .sorted(Comparator.comparing(SearchHitResponse::getRank, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(max)
+                .collect(Collectors.toList());
+
+        return SearchResponse.builder()
+                .query(q)
+                .results(ranked)
+                .build();
+    }
+
+    /**
+     * Turns free text into a tsquery that matches every word as a prefix, e.g. "web app" -> "web:* & app:*".
+     * Anything other than letters and digits is dropped so user input cannot inject tsquery operators.
+     */
+    private String toPrefixTsQuery(String q) {
+        return Arrays.stream(q.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private void addHits(List<SearchHitResponse> results, String type, List<SearchHitView> hits) {
+        for (SearchHitView hit : hits) {
+            results.add(SearchHitResponse.builder()
+                    .type(type)
+                    .id(hit.getId())
+                    .title(hit.getTitle())
+                    .snippet(hit.getSnippet())
+                    .rank(hit.getRank())
+                    .build());
+        }
+    }
+}
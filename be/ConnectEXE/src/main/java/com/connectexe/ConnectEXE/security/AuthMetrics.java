@@ -0,0 +1,51 @@
+package com.connectexe.ConnectEXE.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-outcome counters for request authentication, exposed as {@code auth.requests{source,outcome}}.
+ * Counters are registered once so the filters only do an increment per request.
+ */
+@Component
+public class AuthMetrics {
+
+    private static final String METRIC_NAME = "auth.requests";
+
+    private final Counter jwtSuccess;
+    private final Counter jwtInvalid;
+    private final Counter jwtError;
+    private final Counter cookieSuccess;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.jwtSuccess = counter(registry, "jwt", "success");
+        this.jwtInvalid = counter(registry, "jwt", "invalid");
+        this.jwtError = counter(registry, "jwt", "error");
+        this.cookieSuccess = counter(registry, "cookie", "success");
+    }
+
+    public void jwtSuccess() {
+        jwtSuccess.increment();
+    }
+
+    public void jwtInvalid() {
+        jwtInvalid.increment();
+    }
+
+    public void jwtError() {
+        jwtError.increment();
+    }
+
+    public void cookieSuccess() {
+        cookieSuccess.increment();
+    }
+
+    private static Counter counter(MeterRegistry registry, String source, String outcome) {
+        return Counter.builder(METRIC_NAME)
+                .description("Authentication attempts by source and outcome")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
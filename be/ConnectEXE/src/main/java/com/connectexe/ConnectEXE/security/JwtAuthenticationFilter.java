@@ -1,10 +1,12 @@
 package com.connectexe.ConnectEXE.security;
 
+import com.connectexe.ConnectEXE.util.JwtClaims;
 import com.connectexe.ConnectEXE.util.JwtTokenProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,12 +18,18 @@ import java.io.IOException;
 import java.util.Collections;
 
 @Component
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache,
+                                   AuthMetrics authMetrics) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authMetrics = authMetrics;
     }
 
     @Override
@@ -31,9 +39,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                String userId = jwtTokenProvider.getUserIdFromToken(jwt);
-                String role = jwtTokenProvider.getRoleFromToken(jwt);
+            JwtClaims claims = jwt != null ? resolveClaims(jwt) : null;
+
+            if (claims != null) {
+                String userId = claims.getUserId();
+                String role = claims.getRole();
                 
                 // CLEAR any existing authentication (from cookie filter)
                 SecurityContextHolder.clearContext();
@@ -48,17 +58,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Set JWT authentication in SecurityContext (overrides cookie auth)
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 
-                System.out.println("✅ JWT authenticated user: " + userId + " with role: " + role + " (overriding any previous auth)");
+                authMetrics.jwtSuccess();
+                log.debug("JWT authenticated user {} with role {}", userId, role);
             } else if (jwt != null) {
-                System.err.println("❌ Invalid JWT token");
+                authMetrics.jwtInvalid();
+                log.debug("Rejected invalid JWT token");
             }
         } catch (Exception ex) {
-            System.err.println("❌ Could not set user authentication in security context: " + ex.getMessage());
+            authMetrics.jwtError();
+            log.warn("Could not set user authentication in security context: {}", ex.getMessage());
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Look up a recently verified token, or verify and parse it once and remember the result
+     */
+    private JwtClaims resolveClaims(String jwt) {
+        JwtClaims claims = verifiedTokenCache.get(jwt);
+        if (claims == null) {
+            claims = jwtTokenProvider.parseToken(jwt);
+            if (claims != null) {
+                verifiedTokenCache.put(jwt, claims);
+            }
+        }
+        return claims;
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -0,0 +1,226 @@
+package com.connectexe.ConnectEXE.security;
+
+import com.connectexe.ConnectEXE.common.exception.HashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder that runs every hash on a small dedicated executor instead of the
+ * calling request thread, so a login burst cannot exhaust the servlet pool. The executor has a
+ * bounded queue; when it is full, or a hash is not finished within the timeout, callers get a
+ * {@link HashingUnavailableException} (503) instead of waiting.
+ * At startup the cost is calibrated to the highest value whose hash time stays within the target,
+ * unless a fixed cost is configured. Pin the cost when several instances share one database,
+ * otherwise instances calibrated differently keep re-hashing each other's passwords.
+ */
+@Component
+@Slf4j
+public class PasswordHasher implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final int fixedCost;
+    private final int minCost;
+    private final int maxCost;
+    private final long targetMs;
+    private final long timeoutMs;
+
+    private final ThreadPoolExecutor executor;
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int cost;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(MeterRegistry registry,
+                          @Value("${auth.hashing.threads:0}") int threads,
+                          @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.hashing.timeout-ms:2000}") long timeoutMs,
+                          @Value("${auth.hashing.cost:0}") int fixedCost,
+                          @Value("${auth.hashing.min-cost:10}") int minCost,
+                          @Value("${auth.hashing.max-cost:14}") int maxCost,
+                          @Value("${auth.hashing.target-ms:250}") long targetMs) {
+        this.fixedCost = fixedCost;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.targetMs = targetMs;
+        this.timeoutMs = timeoutMs;
+        this.cost = fixedCost > 0 ? fixedCost : minCost;
+        this.encoder = new BCryptPasswordEncoder(cost);
+
+        // BCrypt is CPU-bound: more threads than cores only adds queueing inside the OS scheduler
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hash.queue.depth", executor.getQueue(), BlockingQueue::size)
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("auth.hash.cost", this, hasher -> hasher.cost)
+                .description("BCrypt cost used for new hashes")
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("auth.hash.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .register(registry);
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchTimer = hashTimer(registry, "match");
+        this.rejectedCounter = Counter.builder("auth.hash.rejected")
+                .description("Password hashes rejected because the hashing executor was saturated")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void calibrate() {
+        if (fixedCost > 0) {
+            log.info("Using configured BCrypt cost {}", fixedCost);
+            return;
+        }
+        // Each cost step doubles the work, so measure the cheapest cost once and extrapolate
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double estimateMs = best / 1_000_000.0;
+        int calibrated = minCost;
+        while (calibrated < maxCost && estimateMs * 2 <= targetMs) {
+            calibrated++;
+            estimateMs *= 2;
+        }
+        this.encoder = new BCryptPasswordEncoder(calibrated);
+        this.cost = calibrated;
+        log.info("Calibrated BCrypt cost {} (~{} ms per hash, target {} ms)", calibrated, Math.round(estimateMs), targetMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return await(submit(() -> current.encode(rawPassword), encodeTimer));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        BCryptPasswordEncoder current = encoder;
+        return await(submit(() -> current.matches(rawPassword, encodedPassword), matchTimer));
+    }
+
+    /**
+     * A stored hash needs upgrading when its cost differs from the current cost
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != cost;
+    }
+
+    /**
+     * Hash without waiting for the result, e.g. for best-effort re-hashing after login
+     * @throws HashingUnavailableException if the executor is saturated
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return submit(() -> current.encode(rawPassword), encodeTimer);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> hash, Timer hashTimer) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(hash.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new HashingUnavailableException("Password hashing is saturated");
+        }
+        // Cancelling the result (on timeout) drops the hash if it has not started yet
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            rejectedCounter.increment();
+            throw new HashingUnavailableException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(false);
+            throw new HashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.hash.time")
+                .description("Time spent computing one BCrypt hash")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.connectexe.ConnectEXE.security;
+
+import com.connectexe.ConnectEXE.util.JwtClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of recently verified JWTs, so repeat requests with the same token skip
+ * signature verification and JSON parsing. Keyed by a SHA-256 hash of the token so raw
+ * tokens are never kept in memory; lookups take no lock. Entries expire with their token,
+ * so a token is kept no longer than it could be used anyway.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, JwtClaims> entries;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache-size:10000}") int maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        return nanosUntilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return nanosUntilExpiry(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return Cached claims for the token, or null if absent or expired
+     */
+    public JwtClaims get(String token) {
+        JwtClaims claims = entries.getIfPresent(hash(token));
+        // Expiry is millisecond-precise on the token but scheduled coarsely by the cache
+        return claims != null && !claims.isExpired() ? claims : null;
+    }
+
+    public void put(String token, JwtClaims claims) {
+        entries.put(hash(token), claims);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long nanosUntilExpiry(JwtClaims claims) {
+        if (claims.getExpiration() == null) {
+            return Long.MAX_VALUE;
+        }
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+}
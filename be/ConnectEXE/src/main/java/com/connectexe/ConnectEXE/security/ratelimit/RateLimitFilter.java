@@ -0,0 +1,79 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rejects requests over their route's limit with 429 before they reach any controller,
+ * so throttled requests never touch the database or the password hasher.
+ * Runs after the authentication filters so per-user rules can key on the user ID.
+ * Rules match the decoded path without ;parameters, as handler mapping sees it, so
+ * encoded or decorated variants of a route (/auth/%6cogin, /auth/login;x) are limited too.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE_PRINCIPAL_PREFIX = "cookieUser_";
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final RateLimiter rateLimiter;
+    private final List<RateLimitRule> rules;
+
+    public RateLimitFilter(RateLimiter rateLimiter, List<RateLimitRule> rules) {
+        this.rateLimiter = rateLimiter;
+        this.rules = rules;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        for (RateLimitRule rule : rules) {
+            if (!rule.matches(request.getMethod(), path)) {
+                continue;
+            }
+            long retryAfterSeconds = rateLimiter.tryAcquire(rule.getPolicy(), resolveKey(rule.getKeyType(), request));
+            if (retryAfterSeconds > 0) {
+                log.debug("Rate limit {} exceeded for {} {}", rule.getPolicy().getName(), request.getMethod(), path);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setContentType("application/json");
+                response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, please try again later\"}");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * The bucket key a rule charges for this request; also used by handlers that charge extra tokens
+     */
+    public static String resolveKey(RateLimitRule.KeyType keyType, HttpServletRequest request) {
+        if (keyType == RateLimitRule.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            // Cookie-only principals are shared by every user with the same role
+            if (authentication != null && authentication.isAuthenticated()
+                    && !authentication.getName().startsWith(COOKIE_PRINCIPAL_PREFIX)
+                    && !"anonymousUser".equals(authentication.getName())) {
+                return "user:" + authentication.getName();
+            }
+        }
+        // Behind a reverse proxy, set server.forward-headers-strategy so this is the client address
+        return "ip:" + request.getRemoteAddr();
+    }
+}
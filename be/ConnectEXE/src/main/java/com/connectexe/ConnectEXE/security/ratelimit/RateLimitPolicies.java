@@ -0,0 +1,42 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import com.connectexe.ConnectEXE.common.constant.CommonConst;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The configured rate limit policies, one per protected operation and key.
+ */
+@Component
+@Getter
+public class RateLimitPolicies {
+
+    private static final long ONE_DAY_SECONDS = 24 * 60 * 60;
+
+    private final RateLimitPolicy loginPerIp;
+    private final RateLimitPolicy loginPerEmail;
+    private final RateLimitPolicy otpPerIp;
+    private final RateLimitPolicy otpPerEmail;
+    private final RateLimitPolicy topicPerUser;
+    private final RateLimitPolicy uploadPerUser;
+
+    public RateLimitPolicies(@Value("${rate-limit.login-ip.capacity:20}") int loginIpCapacity,
+                             @Value("${rate-limit.login-ip.window-seconds:60}") long loginIpWindow,
+                             @Value("${rate-limit.login-email.capacity:5}") int loginEmailCapacity,
+                             @Value("${rate-limit.login-email.window-seconds:60}") long loginEmailWindow,
+                             @Value("${rate-limit.otp-ip.capacity:10}") int otpIpCapacity,
+                             @Value("${rate-limit.otp-ip.window-seconds:600}") long otpIpWindow,
+                             @Value("${rate-limit.topic-user.capacity:10}") int topicCapacity,
+                             @Value("${rate-limit.topic-user.window-seconds:600}") long topicWindow,
+                             @Value("${rate-limit.upload-user.capacity:30}") int uploadCapacity,
+                             @Value("${rate-limit.upload-user.window-seconds:60}") long uploadWindow) {
+        this.loginPerIp = new RateLimitPolicy("login-ip", loginIpCapacity, loginIpWindow);
+        this.loginPerEmail = new RateLimitPolicy("login-email", loginEmailCapacity, loginEmailWindow);
+        this.otpPerIp = new RateLimitPolicy("otp-ip", otpIpCapacity, otpIpWindow);
+        // Same allowance as the former per-day OTP resend count, as a rolling window
+        this.otpPerEmail = new RateLimitPolicy("otp-email", CommonConst.OTP_RESEND_LIMIT, ONE_DAY_SECONDS);
+        this.topicPerUser = new RateLimitPolicy("topic-user", topicCapacity, topicWindow);
+        this.uploadPerUser = new RateLimitPolicy("upload-user", uploadCapacity, uploadWindow);
+    }
+}
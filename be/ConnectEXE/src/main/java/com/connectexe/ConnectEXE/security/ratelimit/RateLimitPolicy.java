@@ -0,0 +1,21 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import lombok.Value;
+
+/**
+ * A named token bucket limit: at most {@code capacity} requests in a burst, refilled at
+ * {@code capacity} tokens per {@code windowSeconds}.
+ */
+@Value
+public class RateLimitPolicy {
+    String name;
+    int capacity;
+    long windowSeconds;
+
+    /**
+     * Nanoseconds needed to earn one token
+     */
+    long nanosPerToken() {
+        return windowSeconds * 1_000_000_000L / capacity;
+    }
+}
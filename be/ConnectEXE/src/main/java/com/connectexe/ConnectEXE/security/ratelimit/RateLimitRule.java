@@ -0,0 +1,28 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Applies a policy to requests with the given method and one of the given paths.
+ */
+@Value
+public class RateLimitRule {
+
+    public enum KeyType {
+        /** Client IP address */
+        IP,
+        /** Authenticated user ID, falling back to the IP for anonymous or cookie-only requests */
+        USER
+    }
+
+    String method;
+    Set<String> paths;
+    RateLimitPolicy policy;
+    KeyType keyType;
+
+    boolean matches(String requestMethod, String path) {
+        return method.equalsIgnoreCase(requestMethod) && paths.contains(path);
+    }
+}
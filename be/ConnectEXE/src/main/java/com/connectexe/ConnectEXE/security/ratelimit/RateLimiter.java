@@ -0,0 +1,129 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory per-key token buckets, e.g. one per client IP, user ID or email for each policy.
+ * Buckets live in a concurrent map per policy and are evicted once idle long enough to have refilled.
+ * Clients choose their keys (IPv6 addresses, emails), so each policy's map is bounded: when it is full, idle
+ * buckets are swept at once, and keys that still do not fit share the policy's one overflow bucket.
+ * Flooding a map therefore throttles that policy's new keys harder instead of lifting their limit,
+ * and a policy with long windows (otp-email) cannot crowd new keys of another (login-ip) into overflow.
+ * Limits are per instance; with several instances the effective limit is multiplied accordingly.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final long OVERFLOW_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, PolicyBuckets> policies = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxKeys;
+    private final MeterRegistry registry;
+
+    public RateLimiter(MeterRegistry registry,
+                       @Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Take one token from the bucket of {@code key} under {@code policy}
+     * @return 0 if the request may proceed, otherwise the number of seconds until it may be retried
+     */
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        return tryAcquire(policy, key, 1);
+    }
+
+    /**
+     * Take {@code tokens} tokens at once, e.g. one per file of a batch, from the bucket of {@code key}
+     * @param tokens at most the policy's capacity, otherwise the request can never proceed
+     * @return 0 if the request may proceed, otherwise the number of seconds until it may be retried
+     */
+    public long tryAcquire(RateLimitPolicy policy, String key, int tokens) {
+        if (!enabled || key == null || tokens <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        PolicyBuckets policyBuckets = policies.computeIfAbsent(policy.getName(), PolicyBuckets::new);
+        TokenBucket bucket = policyBuckets.buckets.get(key);
+        if (bucket == null) {
+            if (policyBuckets.buckets.size() >= maxKeys) {
+                policyBuckets.sweepOnOverflow(now);
+            }
+            if (policyBuckets.buckets.size() >= maxKeys) {
+                // Fail closed: keys that do not fit share one bucket, so flooding cannot lift anyone's limit
+                policyBuckets.overflowCounter.increment();
+                bucket = policyBuckets.overflow.updateAndGet(current -> current != null ? current : new TokenBucket(policy, now));
+            } else {
+                bucket = policyBuckets.buckets.computeIfAbsent(key, k -> new TokenBucket(policy, now));
+            }
+        }
+        long waitNanos = bucket.tryConsume(now, tokens);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        registry.counter("ratelimit.rejected", "policy", policy.getName()).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    void evictIdle() {
+        long now = System.nanoTime();
+        for (PolicyBuckets policyBuckets : policies.values()) {
+            int before = policyBuckets.buckets.size();
+            policyBuckets.buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            policyBuckets.overflow.updateAndGet(current -> current != null && current.isIdle(now) ? null : current);
+            log.debug("Evicted {} idle {} rate limit bucket(s)", before - policyBuckets.buckets.size(), policyBuckets.name);
+        }
+    }
+
+    /**
+     * The buckets of one policy, bounded by {@code maxKeys} on their own
+     */
+    private final class PolicyBuckets {
+
+        private final String name;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicReference<TokenBucket> overflow = new AtomicReference<>();
+        private final AtomicLong lastOverflowSweepNanos = new AtomicLong(System.nanoTime() - OVERFLOW_SWEEP_INTERVAL_NANOS);
+        private final Counter overflowCounter;
+
+        private PolicyBuckets(String name) {
+            this.name = name;
+            Gauge.builder("ratelimit.keys", buckets, Map::size)
+                    .description("Rate limit buckets currently tracked")
+                    .tag("policy", name)
+                    .register(registry);
+            this.overflowCounter = Counter.builder("ratelimit.overflow")
+                    .description("Requests charged to a policy's shared overflow bucket because its bucket map was full")
+                    .tag("policy", name)
+                    .register(registry);
+        }
+
+        /**
+         * Sweep idle buckets when the map is full, at most once a second so a flood does not turn into full scans
+         */
+        private void sweepOnOverflow(long now) {
+            long last = lastOverflowSweepNanos.get();
+            if (now - last >= OVERFLOW_SWEEP_INTERVAL_NANOS && lastOverflowSweepNanos.compareAndSet(last, now)) {
+                buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+/**
+ * Token bucket refilled lazily on access. Buckets are per key, so the monitor is only
+ * contended by requests for the same key.
+ */
+class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    // Tokens are tracked in nanoseconds of credit so refills never lose fractions
+    private long creditNanos;
+    private long lastRefillNanos;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(RateLimitPolicy policy, long nowNanos) {
+        this.capacity = policy.getCapacity();
+        this.nanosPerToken = policy.nanosPerToken();
+        this.creditNanos = capacity * nanosPerToken;
+        this.lastRefillNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Take one token
+     * @return 0 if a token was taken, otherwise nanoseconds until one is available
+     */
+    long tryConsume(long nowNanos) {
+        return tryConsume(nowNanos, 1);
+    }
+
+    /**
+     * Take {@code tokens} tokens at once, or none
+     * @return 0 if the tokens were taken, otherwise nanoseconds until that many are available
+     */
+    synchronized long tryConsume(long nowNanos, int tokens) {
+        lastAccessNanos = nowNanos;
+        creditNanos = Math.min(capacity * nanosPerToken, creditNanos + (nowNanos - lastRefillNanos));
+        lastRefillNanos = nowNanos;
+        long neededNanos = tokens * nanosPerToken;
+        if (creditNanos >= neededNanos) {
+            creditNanos -= neededNanos;
+            return 0;
+        }
+        return neededNanos - creditNanos;
+    }
+
+    /**
+     * A bucket untouched long enough to be full again is indistinguishable from a new one
+     */
+    boolean isIdle(long nowNanos) {
+        return nowNanos - lastAccessNanos >= capacity * nanosPerToken;
+    }
+}
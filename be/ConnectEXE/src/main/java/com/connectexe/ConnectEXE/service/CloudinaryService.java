@@ -3,6 +3,7 @@ package com.connectexe.ConnectEXE.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -14,29 +15,42 @@ public interface CloudinaryService {
      * Upload image to Cloudinary
      * 
      * @param file the image file to upload
+     * @param uploaderId the user uploading; holds the image's reference until it is attached or deleted
      * @return Map containing upload result with URL
      * @throws IOException if upload fails
      */
-    Map<String, Object> uploadImage(MultipartFile file) throws IOException;
+    Map<String, Object> uploadImage(MultipartFile file, String uploaderId) throws IOException;
     
     /**
      * Upload image with custom folder path
      * 
      * @param file the image file to upload
      * @param folder the folder path in Cloudinary (e.g., "users", "projects")
+     * @param uploaderId the user uploading; holds the image's reference until it is attached or deleted
      * @return Map containing upload result with URL
      * @throws IOException if upload fails
      */
-    Map<String, Object> uploadImage(MultipartFile file, String folder) throws IOException;
+    Map<String, Object> uploadImage(MultipartFile file, String folder, String uploaderId) throws IOException;
     
     /**
-     * Delete image from Cloudinary by public ID
+     * Upload several images concurrently; a failed file does not fail the others
+     * 
+     * @param files the image files to upload
+     * @param folder the folder path in Cloudinary
+     * @param uploaderId the user uploading
+     * @return one outcome per file, in the same order as the files
+     */
+    List<ImageUploadOutcome> uploadImages(List<MultipartFile> files, String folder, String uploaderId);
+    
+    /**
+     * Release the uploader's reference to an image; it is deleted from Cloudinary once nothing references it
      * 
      * @param publicId the public ID of the image
+     * @param uploaderId the user who uploaded it
      * @return Map containing deletion result
      * @throws IOException if deletion fails
      */
-    Map<String, Object> deleteImage(String publicId) throws IOException;
+    Map<String, Object> deleteImage(String publicId, String uploaderId) throws IOException;
     
     /**
      * Extract public ID from Cloudinary URL
@@ -0,0 +1,42 @@
+package com.connectexe.ConnectEXE.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Uploads that go from the client straight to the storage backend. The API only signs the upload
+ * beforehand and checks and records the stored image afterwards, so image bytes never pass through it.
+ */
+public interface DirectUploadService {
+
+    /**
+     * @return whether the configured storage backend accepts direct uploads
+     */
+    boolean isSupported();
+
+    /**
+     * Grant one upload to storage
+     *
+     * @param folder the folder to store the image in
+     * @param userId the user who will upload
+     * @return the signed upload and its confirmation ticket
+     * @throws IllegalArgumentException if the folder is invalid
+     * @throws IllegalStateException if direct uploads are not {@link #isSupported() supported}
+     */
+    DirectUploadTicket grant(String folder, String userId);
+
+    /**
+     * Check and record an image uploaded with a grant. Confirming the same upload again returns the same result.
+     *
+     * @param ticket         the ticket issued with the grant
+     * @param uploadResponse the fields of the storage backend's signed upload response
+     *                       (public_id, version, signature, format, bytes, width, height)
+     * @param userId         the user confirming; must be the one the upload was granted to
+     * @return the stored image's details
+     * @throws IllegalArgumentException if the ticket is invalid or expired, the response is not signed by the
+     *                                  backend, or the stored image breaks the grant's limits
+     * @throws IllegalStateException if direct uploads are not {@link #isSupported() supported}
+     * @throws IOException if the stored image could not be read or removed
+     */
+    Map<String, Object> confirm(String ticket, Map<String, String> uploadResponse, String userId) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.connectexe.ConnectEXE.service;
+
+import com.connectexe.ConnectEXE.storage.DirectUploadGrant;
+import lombok.Value;
+
+/**
+ * A granted direct upload: what the client posts to storage, and the ticket it confirms the upload with.
+ */
+@Value
+public class DirectUploadTicket {
+    DirectUploadGrant grant;
+    String publicId;
+    long maxBytes;
+    String ticket;
+}
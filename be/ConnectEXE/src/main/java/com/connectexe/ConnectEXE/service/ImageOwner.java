@@ -0,0 +1,26 @@
+package com.connectexe.ConnectEXE.service;
+
+/**
+ * Keys of the owners that hold references to image assets. An upload is held by its uploader
+ * until the image is attached to the topic, reply or project that uses it.
+ */
+public final class ImageOwner {
+
+    private ImageOwner() {}
+
+    public static String user(String userId) {
+        return "user:" + userId;
+    }
+
+    public static String topic(String topicId) {
+        return "topic:" + topicId;
+    }
+
+    public static String reply(String replyId) {
+        return "reply:" + replyId;
+    }
+
+    public static String project(String projectId) {
+        return "project:" + projectId;
+    }
+}
@@ -0,0 +1,55 @@
+package com.connectexe.ConnectEXE.service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Tracks who uses each deduplicated image asset. Every owner holds at most one reference per asset and
+ * only ever releases its own, so repeated or concurrent releases cannot drop anyone else's reference.
+ * Assets left without references are removed from storage.
+ */
+public interface ImageReferenceService {
+
+    /**
+     * Reference the images an owner now uses, taking over the uploader's references to them
+     *
+     * @param ownerKey   the owner, see {@link ImageOwner}
+     * @param imageUrls  the images' URLs; URLs of images that are not indexed are ignored
+     * @param uploaderId the user who uploaded the images
+     */
+    void attach(String ownerKey, Collection<String> imageUrls, String uploaderId);
+
+    /**
+     * Drop an owner's references to some images, e.g. ones an update replaced
+     *
+     * @param ownerKey  the owner, see {@link ImageOwner}
+     * @param imageUrls the images' URLs
+     */
+    void release(String ownerKey, Collection<String> imageUrls);
+
+    /**
+     * Drop every reference an owner holds, e.g. when it is deleted
+     *
+     * @param ownerKey the owner, see {@link ImageOwner}
+     */
+    void releaseAll(String ownerKey);
+
+    /**
+     * Drop every reference a batch of owners holds, e.g. a reply and its nested replies
+     *
+     * @param ownerKeys the owners, see {@link ImageOwner}
+     */
+    void releaseAll(Collection<String> ownerKeys);
+
+    /**
+     * Drop an uploader's reference to an image, removing it from storage if nothing else references it.
+     * Images stored before they were indexed are deleted outright.
+     *
+     * @param publicId   the image's public ID
+     * @param uploaderId the user releasing the image
+     * @return a map whose "result" is "ok", or "not found" if the user holds no reference to the image
+     * @throws IOException if the image could not be deleted from storage
+     */
+    Map<String, Object> releaseUpload(String publicId, String uploaderId) throws IOException;
+}
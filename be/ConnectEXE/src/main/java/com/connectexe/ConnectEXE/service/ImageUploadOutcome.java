@@ -0,0 +1,27 @@
+package com.connectexe.ConnectEXE.service;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Result of one file in a multi-image upload: either the storage result or the error message.
+ */
+@Value
+public class ImageUploadOutcome {
+    String fileName;
+    Map<String, Object> result;
+    String error;
+
+    public static ImageUploadOutcome success(String fileName, Map<String, Object> result) {
+        return new ImageUploadOutcome(fileName, result, null);
+    }
+
+    public static ImageUploadOutcome failure(String fileName, String error) {
+        return new ImageUploadOutcome(fileName, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
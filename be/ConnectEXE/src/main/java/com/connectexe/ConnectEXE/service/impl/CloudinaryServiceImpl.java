@@ -1,104 +1,365 @@
 package com.connectexe.ConnectEXE.service.impl;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
 import com.connectexe.ConnectEXE.service.CloudinaryService;
-import lombok.RequiredArgsConstructor;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.service.ImageUploadOutcome;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import com.connectexe.ConnectEXE.storage.ImageVariantGenerator;
+import com.connectexe.ConnectEXE.util.ImageTypeUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
 
 /**
- * Implementation of CloudinaryService for image upload and management
+ * Implementation of CloudinaryService for image upload and management. Images are kept by the
+ * configured {@link ImageStorage} backend (Cloudinary by default).
+ * Uploads are streamed from disk: the multipart part is copied to a temp file, hashing it on the way,
+ * and the backend reads it from there, so a file is never held in the heap as a whole.
+ * Uploads are deduplicated by SHA-256: repeated content reuses the stored asset and adds the uploader's
+ * reference, and deleting only releases that reference (see {@link ImageReferenceService}).
+ * Downscaled variants of new assets are generated in the background by {@link ImageVariantGenerator}.
+ * Multi-image uploads run on a shared bounded pool, with at most a configured number of
+ * files of one request in flight at a time.
  */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CloudinaryServiceImpl implements CloudinaryService {
 
-    private final Cloudinary cloudinary;
+    // Folders become storage paths, so only plain segments are allowed
+    static final Pattern FOLDER_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}(/[A-Za-z0-9_-]{1,64}){0,3}");
+
+    private final ImageStorage imageStorage;
+    private final ImageAssetRepository imageAssetRepository;
+    private final ImageReferenceService imageReferenceService;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final Path tempDir;
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final ThreadPoolExecutor batchExecutor;
+    private final int perRequestConcurrency;
+
+    public CloudinaryServiceImpl(ImageStorage imageStorage,
+                                 ImageAssetRepository imageAssetRepository,
+                                 ImageReferenceService imageReferenceService,
+                                 ImageVariantGenerator imageVariantGenerator,
+                                 MeterRegistry registry,
+                                 @Value("${upload.temp-dir:}") String tempDir,
+                                 @Value("${upload.batch.threads:32}") int batchThreads,
+                                 @Value("${upload.batch.per-request-concurrency:5}") int perRequestConcurrency) throws IOException {
+        this.imageStorage = imageStorage;
+        this.imageAssetRepository = imageAssetRepository;
+        this.imageReferenceService = imageReferenceService;
+        this.imageVariantGenerator = imageVariantGenerator;
+        this.perRequestConcurrency = perRequestConcurrency;
+        // Uploads are I/O-bound, so threads well beyond the core count are fine. The pool has no queue:
+        // a helper is only started if a thread is free, and otherwise the request thread does the work.
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.batchExecutor = new ThreadPoolExecutor(batchThreads, batchThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.batchExecutor.allowCoreThreadTimeOut(true);
+        this.tempDir = tempDir.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"))
+                : Files.createDirectories(Paths.get(tempDir));
+        Gauge.builder("upload.bytes.in_flight", bytesInFlight, AtomicLong::get)
+                .description("Bytes of image uploads currently being sent to storage")
+                .baseUnit("bytes")
+                .register(registry);
+        this.successTimer = uploadTimer(registry, "success");
+        this.failureTimer = uploadTimer(registry, "failure");
+        Gauge.builder("upload.batch.active", batchExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Threads currently uploading files of multi-image requests")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        batchExecutor.shutdownNow();
+    }
 
     @Override
-    public Map<String, Object> uploadImage(MultipartFile file) throws IOException {
-        return uploadImage(file, "connect-exe");
+    public Map<String, Object> uploadImage(MultipartFile file, String uploaderId) throws IOException {
+        return uploadImage(file, "connect-exe", uploaderId);
     }
 
     @Override
-    public Map<String, Object> uploadImage(MultipartFile file, String folder) throws IOException {
+    public Map<String, Object> uploadImage(MultipartFile file, String folder, String uploaderId) throws IOException {
+        Path staged = null;
+        long size = 0;
+        long startedAt = System.nanoTime();
+        boolean success = false;
         try {
             // Validate file
             validateImageFile(file);
+            if (folder == null || !FOLDER_PATTERN.matcher(folder).matches()) {
+                throw new IOException("Invalid folder name");
+            }
+            if (uploaderId == null) {
+                throw new IOException("Uploader is required");
+            }
+            String ownerKey = ImageOwner.user(uploaderId);
             
             // Generate unique filename
             String originalFilename = file.getOriginalFilename();
             String fileExtension = originalFilename != null ? 
                     originalFilename.substring(originalFilename.lastIndexOf(".")) : ".jpg";
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
+            String uniqueName = UUID.randomUUID().toString();
             
-            // Upload to Cloudinary
-            Map<String, Object> uploadParams = ObjectUtils.asMap(
-                    "folder", folder,
-                    "public_id", uniqueFilename.replace(fileExtension, ""),
-                    "resource_type", "image",
-                    "overwrite", true,
-                    "quality", "auto:good"
-            );
+            staged = Files.createTempFile(tempDir, "upload-", fileExtension);
+            String contentHash;
+            try (DigestInputStream in = new DigestInputStream(file.getInputStream(), sha256())) {
+                Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+                contentHash = HexFormat.of().formatHex(in.getMessageDigest().digest());
+            }
+            
+            // Same content uploaded before: no call to the storage backend
+            Optional<Map<String, Object>> existing = reuseAsset(contentHash, ownerKey);
+            if (existing.isPresent()) {
+                success = true;
+                log.info("♻️ Reusing stored image for identical upload: {}", existing.get().get("secure_url"));
+                return existing.get();
+            }
             
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
+            size = file.getSize();
+            bytesInFlight.addAndGet(size);
             
-            log.info("✅ Image uploaded successfully to Cloudinary: {}", uploadResult.get("secure_url"));
+            Map<String, Object> uploadResult = indexAsset(contentHash, ownerKey, imageStorage.store(staged, folder, uniqueName,
+                    fileExtension.substring(1).toLowerCase()));
+            success = true;
+            
+            String publicId = (String) uploadResult.get("public_id");
+            if (publicId != null && publicId.equals(folder + "/" + uniqueName)) {
+                // Variants are encoded off the request thread; the generator now owns the staged file
+                imageVariantGenerator.submit(contentHash, staged, publicId, (String) uploadResult.get("secure_url"));
+                staged = null;
+            }
+            
+            log.info("✅ Image uploaded successfully: {}", uploadResult.get("secure_url"));
             
             return uploadResult;
             
         } catch (IOException e) {
-            log.error("❌ Failed to upload image to Cloudinary: {}", e.getMessage());
+            log.error("❌ Failed to upload image: {}", e.getMessage());
             throw new IOException("Failed to upload image: " + e.getMessage(), e);
+        } finally {
+            bytesInFlight.addAndGet(-size);
+            (success ? successTimer : failureTimer).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (staged != null) {
+                try {
+                    Files.deleteIfExists(staged);
+                } catch (IOException e) {
+                    log.warn("Could not delete staged upload {}: {}", staged, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<ImageUploadOutcome> uploadImages(List<MultipartFile> files, String folder, String uploaderId) {
+        // Set once per file: a helper finishing after the request gave up cannot overwrite "Upload interrupted"
+        AtomicReferenceArray<ImageUploadOutcome> outcomes = new AtomicReferenceArray<>(files.size());
+        AtomicBoolean abandoned = new AtomicBoolean();
+        AtomicInteger next = new AtomicInteger();
+        // Each worker takes the next file until none are left, which caps this request's concurrency
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < files.size() && !abandoned.get(); i = next.getAndIncrement()) {
+                ImageUploadOutcome outcome = uploadOne(files.get(i), folder, uploaderId);
+                if (!outcomes.compareAndSet(i, null, outcome)) {
+                    releaseLateUpload(outcome, uploaderId);
+                }
+            }
+        };
+        
+        int workers = Math.min(perRequestConcurrency, files.size());
+        List<Future<?>> helpers = new ArrayList<>(workers);
+        for (int w = 1; w < workers; w++) {
+            try {
+                helpers.add(batchExecutor.submit(worker));
+            } catch (RejectedExecutionException e) {
+                // Pool is busy: continue with fewer helpers
+                break;
+            }
+        }
+        // The request thread is a worker too, so progress never depends on a free pool thread
+        worker.run();
+        
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Helpers stop taking files; results that still arrive are discarded
+                abandoned.set(true);
+                helpers.forEach(h -> h.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                // uploadOne never throws; nothing to do
+            }
+        }
+        List<ImageUploadOutcome> results = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            outcomes.compareAndSet(i, null, ImageUploadOutcome.failure(files.get(i).getOriginalFilename(), "Upload interrupted"));
+            results.add(outcomes.get(i));
+        }
+        return List.copyOf(results);
+    }
+
+    /**
+     * The client was told this file failed, so it will never use the image; drop the uploader's reference
+     */
+    private void releaseLateUpload(ImageUploadOutcome outcome, String uploaderId) {
+        if (!outcome.isSuccess()) {
+            return;
+        }
+        String publicId = (String) outcome.getResult().get("public_id");
+        try {
+            imageReferenceService.releaseUpload(publicId, uploaderId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not release image {} uploaded after its request gave up: {}", publicId, e.getMessage());
+        }
+    }
+
+    private ImageUploadOutcome uploadOne(MultipartFile file, String folder, String uploaderId) {
+        try {
+            return ImageUploadOutcome.success(file.getOriginalFilename(), uploadImage(file, folder, uploaderId));
+        } catch (Exception e) {
+            return ImageUploadOutcome.failure(file.getOriginalFilename(), e.getMessage());
         }
     }
 
     @Override
-    public Map<String, Object> deleteImage(String publicId) throws IOException {
+    public Map<String, Object> deleteImage(String publicId, String uploaderId) throws IOException {
         try {
-            Map<String, Object> deleteResult = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            // Only the caller's own reference is released; the image stays while others still use it
+            Map<String, Object> deleteResult = imageReferenceService.releaseUpload(publicId, uploaderId);
             
-            log.info("🗑️ Image deleted from Cloudinary: {}", publicId);
+            log.info("🗑️ Released image {}: {}", publicId, deleteResult.get("result"));
             
             return deleteResult;
             
-        } catch (IOException e) {
-            log.error("❌ Failed to delete image from Cloudinary: {}", e.getMessage());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("❌ Failed to delete image: {}", e.getMessage());
             throw new IOException("Failed to delete image: " + e.getMessage(), e);
         }
     }
 
     @Override
     public String extractPublicId(String imageUrl) {
-        // Example URL: https://res.cloudinary.com/cloud-name/image/upload/v1234567890/folder/filename.jpg
-        // Extract: folder/filename
-        
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return null;
+        return imageStorage.extractPublicId(imageUrl);
+    }
+
+    /**
+     * Add the owner's reference to the asset with this content, if one is indexed
+     */
+    private Optional<Map<String, Object>> reuseAsset(String contentHash, String ownerKey) {
+        try {
+            return imageAssetRepository.findById(contentHash)
+                    .filter(asset -> imageAssetRepository.addReference(contentHash, ownerKey, LocalDateTime.now()) == 1)
+                    .map(CloudinaryServiceImpl::toUploadResult);
+        } catch (DataIntegrityViolationException e) {
+            // The asset was removed while referencing it; store the upload anew
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Index a newly stored image. If the same content was indexed concurrently,
+     * keep that asset and remove the copy just stored.
+     */
+    private Map<String, Object> indexAsset(String contentHash, String ownerKey, Map<String, Object> uploadResult) {
+        String publicId = (String) uploadResult.get("public_id");
+        int inserted = imageAssetRepository.insertIfAbsent(contentHash, ownerKey, publicId,
+                (String) uploadResult.get("secure_url"),
+                (String) uploadResult.get("format"),
+                toInteger(uploadResult.get("width")),
+                toInteger(uploadResult.get("height")),
+                uploadResult.get("bytes") instanceof Number bytes ? bytes.longValue() : 0L,
+                LocalDateTime.now());
+        if (inserted == 1) {
+            return uploadResult;
+        }
+        Optional<Map<String, Object>> winner = reuseAsset(contentHash, ownerKey);
+        if (winner.isEmpty()) {
+            // The other asset was deleted meanwhile; ours stays, unindexed
+            return uploadResult;
         }
-        
         try {
-            String[] parts = imageUrl.split("/upload/");
-            if (parts.length < 2) {
-                return null;
-            }
-            
-            String pathAfterUpload = parts[1];
-            // Remove version prefix (v1234567890/)
-            String pathWithoutVersion = pathAfterUpload.replaceFirst("v\\d+/", "");
-            // Remove file extension
-            return pathWithoutVersion.substring(0, pathWithoutVersion.lastIndexOf("."));
-            
-        } catch (Exception e) {
-            log.error("❌ Failed to extract public ID from URL: {}", imageUrl);
-            return null;
+            imageStorage.delete(publicId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete duplicate image {}: {}", publicId, e.getMessage());
+        }
+        return winner.get();
+    }
+
+    static Map<String, Object> toUploadResult(ImageAsset asset) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("secure_url", asset.getSecureUrl());
+        result.put("public_id", asset.getPublicId());
+        result.put("format", asset.getFormat());
+        result.put("width", asset.getWidth());
+        result.put("height", asset.getHeight());
+        result.put("bytes", asset.getBytes());
+        return result;
+    }
+
+    static Integer toInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(sha256().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -130,5 +391,19 @@ public class CloudinaryServiceImpl implements CloudinaryService {
                 throw new IOException("Invalid image format. Allowed: JPG, PNG, GIF, WEBP, BMP");
             }
         }
+        
+        // Check the content itself; only the header bytes are read
+        try (InputStream in = file.getInputStream()) {
+            if (ImageTypeUtil.detect(in, file.getSize()).isEmpty()) {
+                throw new IOException("Invalid image format. Allowed: JPG, PNG, GIF, WEBP, BMP");
+            }
+        }
+    }
+
+    private static Timer uploadTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("upload.duration")
+                .description("Time to validate and send an image upload to storage")
+                .tag("outcome", outcome)
+                .register(registry);
     }
 }
@@ -0,0 +1,173 @@
+package com.connectexe.ConnectEXE.service.impl;
+
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import com.connectexe.ConnectEXE.service.DirectUploadService;
+import com.connectexe.ConnectEXE.service.DirectUploadTicket;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.storage.DirectUploadCapable;
+import com.connectexe.ConnectEXE.storage.DirectUploadGrant;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import com.connectexe.ConnectEXE.util.SignatureUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Implementation of DirectUploadService. Tickets are stateless: the public ID, size limit, expiry and
+ * user are signed with a server key, so any instance can confirm an upload granted by another.
+ * Directly uploaded images are never read by the API, so they cannot be deduplicated by content;
+ * they are indexed in image_assets under a key derived from their public ID and referenced by the
+ * uploader, which keeps deleting them the same as deleting uploaded images. No downscaled variants are generated for them.
+ */
+@Service
+@Slf4j
+public class DirectUploadServiceImpl implements DirectUploadService {
+
+    private static final String TICKET_PREFIX = "direct-upload|";
+    private static final Set<String> ALLOWED_FORMATS = Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp");
+    // Numeric fields of the upload response; the backend is asked for the real values, these are only validated
+    private static final List<String> REPORTED_NUMBERS = List.of("version", "bytes", "width", "height");
+
+    private final ImageStorage imageStorage;
+    // The backend's direct upload support, or null if it has none
+    private final DirectUploadCapable directUploads;
+    private final ImageAssetRepository imageAssetRepository;
+    private final long ttlSeconds;
+    private final long maxBytes;
+    private final byte[] ticketKey;
+
+    public DirectUploadServiceImpl(ImageStorage imageStorage,
+                                   ImageAssetRepository imageAssetRepository,
+                                   @Value("${upload.direct.ttl-seconds:300}") long ttlSeconds,
+                                   @Value("${upload.direct.max-bytes:10485760}") long maxBytes,
+                                   @Value("${upload.direct.ticket-secret:${jwt.secret}}") String ticketSecret) {
+        this.imageStorage = imageStorage;
+        this.directUploads = imageStorage instanceof DirectUploadCapable capable ? capable : null;
+        this.imageAssetRepository = imageAssetRepository;
+        this.ttlSeconds = ttlSeconds;
+        this.maxBytes = maxBytes;
+        this.ticketKey = ticketSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isSupported() {
+        return directUploads != null;
+    }
+
+    @Override
+    public DirectUploadTicket grant(String folder, String userId) {
+        requireSupported();
+        if (folder == null || !CloudinaryServiceImpl.FOLDER_PATTERN.matcher(folder).matches()) {
+            throw new IllegalArgumentException("Invalid folder name");
+        }
+        String name = UUID.randomUUID().toString();
+        String publicId = folder + "/" + name;
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        DirectUploadGrant grant = directUploads.grantDirectUpload(folder, name, maxBytes, expiresAt);
+
+        // The ticket outlives the grant by one TTL, so an upload finishing just in time can still be confirmed
+        String payload = TICKET_PREFIX + publicId + "|" + maxBytes + "|"
+                + expiresAt.plusSeconds(ttlSeconds).getEpochSecond() + "|" + userId;
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + SignatureUtil.sign(ticketKey, payload);
+        return new DirectUploadTicket(grant, publicId, maxBytes, ticket);
+    }
+
+    @Override
+    public Map<String, Object> confirm(String ticket, Map<String, String> uploadResponse, String userId) throws IOException {
+        requireSupported();
+        for (String field : REPORTED_NUMBERS) {
+            requireNumber(uploadResponse.get(field), field);
+        }
+        String publicId = uploadResponse.get("public_id");
+        String[] granted = verifyTicket(ticket);
+        if (!granted[0].equals(publicId)) {
+            throw new IllegalArgumentException("Upload ticket was issued for another image");
+        }
+        if (!granted[3].equals(userId)) {
+            throw new IllegalArgumentException("Upload ticket was issued to another user");
+        }
+        if (Instant.now().getEpochSecond() > Long.parseLong(granted[2])) {
+            throw new IllegalArgumentException("Upload ticket has expired");
+        }
+
+        String assetKey = CloudinaryServiceImpl.sha256Hex("direct:" + publicId);
+        Optional<Map<String, Object>> confirmed = imageAssetRepository.findById(assetKey)
+                .map(CloudinaryServiceImpl::toUploadResult);
+        if (confirmed.isPresent()) {
+            return confirmed.get();
+        }
+
+        Map<String, Object> stored = directUploads.verifyUpload(uploadResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Upload response was not signed by the storage backend or the image is missing"));
+        long bytes = stored.get("bytes") instanceof Number number ? number.longValue() : 0L;
+        String format = stored.get("format") instanceof String value ? value.toLowerCase() : "";
+        if (bytes > Long.parseLong(granted[1]) || !ALLOWED_FORMATS.contains(format)) {
+            // Not every backend can enforce the limits while uploading, so the image is removed here.
+            // The size is the backend's, not the client's, so it cannot be understated to keep an oversized image
+            imageStorage.delete(publicId);
+            throw new IllegalArgumentException(bytes > Long.parseLong(granted[1])
+                    ? "File size exceeds maximum limit of " + granted[1] + " bytes"
+                    : "Invalid image format. Allowed: JPG, PNG, GIF, WEBP, BMP");
+        }
+
+        imageAssetRepository.insertIfAbsent(assetKey, ImageOwner.user(userId), publicId,
+                (String) stored.get("secure_url"),
+                format,
+                CloudinaryServiceImpl.toInteger(stored.get("width")),
+                CloudinaryServiceImpl.toInteger(stored.get("height")),
+                bytes,
+                LocalDateTime.now());
+        log.info("✅ Direct upload confirmed: {}", stored.get("secure_url"));
+        return stored;
+    }
+
+    private void requireSupported() {
+        if (directUploads == null) {
+            throw new IllegalStateException("Direct uploads are not supported by this storage backend");
+        }
+    }
+
+    private static void requireNumber(String value, String field) {
+        if (value == null) {
+            return;
+        }
+        try {
+            Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + " in upload response");
+        }
+    }
+
+    /**
+     * @return the ticket's public ID, size limit, expiry (epoch seconds) and user
+     */
+    private String[] verifyTicket(String ticket) {
+        int dot = ticket == null ? -1 : ticket.lastIndexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("Invalid upload ticket");
+        }
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(ticket.substring(0, dot)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid upload ticket", e);
+        }
+        if (!payload.startsWith(TICKET_PREFIX) || !SignatureUtil.verify(ticketKey, payload, ticket.substring(dot + 1))) {
+            throw new IllegalArgumentException("Invalid upload ticket");
+        }
+        // The user ID comes last, so it may contain the separator
+        return payload.substring(TICKET_PREFIX.length()).split("\\|", 4);
+    }
+}
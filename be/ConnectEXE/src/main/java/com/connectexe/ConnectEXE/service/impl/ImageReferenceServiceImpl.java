@@ -0,0 +1,145 @@
+package com.connectexe.ConnectEXE.service.impl;
+
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import com.connectexe.ConnectEXE.service.ImageOwner;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import com.connectexe.ConnectEXE.storage.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ImageReferenceService. Attaching and releasing only change reference rows, so they
+ * can run inside the caller's transaction; assets they leave unreferenced are removed from storage by
+ * a periodic sweep, outside any transaction. Releasing an upload removes its asset at once.
+ */
+@Service
+@Slf4j
+public class ImageReferenceServiceImpl implements ImageReferenceService {
+
+    private final ImageStorage imageStorage;
+    private final ImageAssetRepository imageAssetRepository;
+    private final int sweepBatchSize;
+
+    public ImageReferenceServiceImpl(ImageStorage imageStorage,
+                                     ImageAssetRepository imageAssetRepository,
+                                     @Value("${upload.assets.sweep-batch-size:100}") int sweepBatchSize) {
+        this.imageStorage = imageStorage;
+        this.imageAssetRepository = imageAssetRepository;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @Override
+    public void attach(String ownerKey, Collection<String> imageUrls, String uploaderId) {
+        Set<String> urls = distinct(imageUrls);
+        if (urls.isEmpty()) {
+            return;
+        }
+        imageAssetRepository.addReferencesByUrl(ownerKey, urls, LocalDateTime.now());
+        if (uploaderId != null) {
+            imageAssetRepository.releaseReferencesByUrl(ImageOwner.user(uploaderId), urls);
+        }
+    }
+
+    @Override
+    public void release(String ownerKey, Collection<String> imageUrls) {
+        Set<String> urls = distinct(imageUrls);
+        if (!urls.isEmpty()) {
+            imageAssetRepository.releaseReferencesByUrl(ownerKey, urls);
+        }
+    }
+
+    @Override
+    public void releaseAll(String ownerKey) {
+        imageAssetRepository.releaseAllReferences(ownerKey);
+    }
+
+    @Override
+    public void releaseAll(Collection<String> ownerKeys) {
+        if (!ownerKeys.isEmpty()) {
+            imageAssetRepository.releaseAllReferencesIn(ownerKeys);
+        }
+    }
+
+    @Override
+    public Map<String, Object> releaseUpload(String publicId, String uploaderId) throws IOException {
+        Optional<ImageAsset> asset = imageAssetRepository.findByPublicId(publicId);
+        if (asset.isEmpty()) {
+            // Stored before uploads were indexed: nothing tracks who uses it
+            return imageStorage.delete(publicId);
+        }
+        if (imageAssetRepository.releaseReference(publicId, ImageOwner.user(uploaderId)) == 0) {
+            return Map.of("result", "not found");
+        }
+        if (!removeIfUnreferenced(asset.get())) {
+            log.info("🔗 Released a reference to image still in use: {}", publicId);
+        }
+        return Map.of("result", "ok");
+    }
+
+    @Scheduled(fixedDelayString = "${upload.assets.sweep-interval-ms:600000}")
+    public void sweepUnreferenced() {
+        List<ImageAsset> unreferenced = imageAssetRepository.findUnreferenced(sweepBatchSize);
+        int removed = 0;
+        for (ImageAsset asset : unreferenced) {
+            if (removeIfUnreferenced(asset)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced image(s) from storage", removed);
+        }
+    }
+
+    /**
+     * Remove the asset's index row and stored files, unless a reference exists or is being added
+     *
+     * @return whether the asset was removed
+     */
+    private boolean removeIfUnreferenced(ImageAsset asset) {
+        try {
+            if (imageAssetRepository.deleteIfUnreferenced(asset.getContentHash()) == 0) {
+                return false;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A reference was added while deleting; the asset stays
+            return false;
+        }
+        deleteQuietly(asset.getPublicId());
+        for (ImageVariant variant : ImageVariant.values()) {
+            deleteQuietly(variant.publicIdOf(asset.getPublicId()));
+        }
+        log.info("🗑️ Image deleted: {}", asset.getPublicId());
+        return true;
+    }
+
+    private void deleteQuietly(String publicId) {
+        try {
+            imageStorage.delete(publicId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete image {}: {}", publicId, e.getMessage());
+        }
+    }
+
+    private static Set<String> distinct(Collection<String> imageUrls) {
+        if (imageUrls == null) {
+            return Set.of();
+        }
+        return imageUrls.stream()
+                .filter(url -> url != null && !url.isBlank())
+                .collect(Collectors.toSet());
+    }
+}
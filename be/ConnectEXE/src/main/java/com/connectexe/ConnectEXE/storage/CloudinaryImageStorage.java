@@ -0,0 +1,119 @@
+package com.connectexe.ConnectEXE.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.api.exceptions.NotFound;
+import com.cloudinary.utils.ObjectUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores images in Cloudinary. The SDK streams the file from disk.
+ * Direct uploads are Cloudinary signed uploads; Cloudinary accepts a signature for an hour
+ * and cannot limit the size of a signed upload, so both are checked again when the upload is confirmed.
+ * The signature of Cloudinary's upload response covers only public_id and version, so it proves which image
+ * was uploaded but not its size; the size, format and dimensions are then read with the Admin API.
+ * Grants do not overwrite, so an image cannot be swapped for a larger one after it was confirmed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CloudinaryImageStorage implements ImageStorage, DirectUploadCapable {
+
+    private final Cloudinary cloudinary;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+        Map<String, Object> uploadParams = ObjectUtils.asMap(
+                "folder", folder,
+                "public_id", name,
+                "resource_type", "image",
+                "overwrite", true,
+                "quality", "auto:good"
+        );
+        return cloudinary.uploader().upload(source.toFile(), uploadParams);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> delete(String publicId) throws IOException {
+        return cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    }
+
+    @Override
+    public DirectUploadGrant grantDirectUpload(String folder, String name, long maxBytes, Instant expiresAt) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("timestamp", String.valueOf(Instant.now().getEpochSecond()));
+        params.put("folder", folder);
+        params.put("public_id", name);
+        params.put("allowed_formats", "jpg,png,gif,webp,bmp");
+        params.put("overwrite", "false");
+
+        Map<String, String> fields = new HashMap<>();
+        params.forEach((key, value) -> fields.put(key, (String) value));
+        fields.put("signature", cloudinary.apiSignRequest(params, cloudinary.config.apiSecret));
+        fields.put("api_key", cloudinary.config.apiKey);
+        return new DirectUploadGrant(cloudinary.cloudinaryApiUrl("upload", "image"), fields, expiresAt);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> verifyUpload(Map<String, String> uploadResponse) throws IOException {
+        String publicId = uploadResponse.get("public_id");
+        String version = uploadResponse.get("version");
+        String signature = uploadResponse.get("signature");
+        if (publicId == null || version == null || signature == null
+                || !cloudinary.verifyApiResponseSignature(publicId, version, signature)) {
+            return Optional.empty();
+        }
+        // Only public_id and version are signed; everything else is read from Cloudinary
+        Map<?, ?> resource;
+        try {
+            resource = cloudinary.api().resource(publicId, ObjectUtils.asMap("resource_type", "image"));
+        } catch (NotFound e) {
+            return Optional.empty();
+        } catch (Exception e) {
+            throw new IOException("Failed to look up uploaded image " + publicId, e);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("secure_url", resource.get("secure_url"));
+        result.put("public_id", publicId);
+        result.put("format", resource.get("format"));
+        result.put("bytes", resource.get("bytes"));
+        result.put("width", resource.get("width"));
+        result.put("height", resource.get("height"));
+        return Optional.of(result);
+    }
+
+    @Override
+    public String extractPublicId(String imageUrl) {
+        // Example URL: https://res.cloudinary.com/cloud-name/image/upload/v1234567890/folder/filename.jpg
+        // Extract: folder/filename
+        
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return null;
+        }
+        
+        try {
+            String[] parts = imageUrl.split("/upload/");
+            if (parts.length < 2) {
+                return null;
+            }
+            
+            String pathAfterUpload = parts[1];
+            // Remove version prefix (v1234567890/)
+            String pathWithoutVersion = pathAfterUpload.replaceFirst("v\\d+/", "");
+            // Remove file extension
+            return pathWithoutVersion.substring(0, pathWithoutVersion.lastIndexOf("."));
+            
+        } catch (Exception e) {
+            log.error("❌ Failed to extract public ID from URL: {}", imageUrl);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.connectexe.ConnectEXE.storage;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implemented by {@link ImageStorage} backends that clients can upload to directly,
+ * so the bytes never pass through the API.
+ */
+public interface DirectUploadCapable {
+
+    /**
+     * Signed parameters for a client to upload one image straight to this backend
+     *
+     * @param folder    folder to store the image in
+     * @param name      unique name within the folder, without extension
+     * @param maxBytes  largest file the backend should accept, where it can enforce that
+     * @param expiresAt when the grant stops being accepted, where the backend can enforce that
+     * @return where and what to post
+     */
+    DirectUploadGrant grantDirectUpload(String folder, String name, long maxBytes, Instant expiresAt);
+
+    /**
+     * Details of an image uploaded with a grant. The backend's signature on the upload response
+     * identifies the image; its size, format and dimensions are read from the backend, never taken from the client
+     *
+     * @param uploadResponse the fields of the upload response, as the client received them
+     * @return the details in the same form as {@link ImageStorage#store} returns them,
+     *         or empty if the response was not signed by this backend or the image is not stored
+     * @throws IOException if the stored image could not be read
+     */
+    Optional<Map<String, Object>> verifyUpload(Map<String, String> uploadResponse) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.connectexe.ConnectEXE.storage;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Lets a client upload one image straight to the storage backend: the client posts the file
+ * as multipart "file" to uploadUrl, together with every entry of fields, before expiresAt.
+ */
+@Value
+public class DirectUploadGrant {
+    String uploadUrl;
+    Map<String, String> fields;
+    Instant expiresAt;
+}
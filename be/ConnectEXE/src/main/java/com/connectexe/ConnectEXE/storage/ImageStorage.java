@@ -0,0 +1,44 @@
+package com.connectexe.ConnectEXE.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Backend that stores uploaded images. Results use Cloudinary's key names
+ * (secure_url, public_id, format, width, height, bytes) so callers do not depend on the backend.
+ * Selected with the storage.backend property.
+ * Backends that clients can upload to directly also implement {@link DirectUploadCapable}.
+ */
+public interface ImageStorage {
+
+    /**
+     * Store an already validated image
+     *
+     * @param source file holding the image; the caller deletes it afterwards
+     * @param folder folder to store the image in
+     * @param name   unique name within the folder, without extension
+     * @param format file extension without the dot
+     * @return the stored image's details, with public_id of the form folder/name
+     * @throws IOException if the image could not be stored
+     */
+    Map<String, Object> store(Path source, String folder, String name, String format) throws IOException;
+
+    /**
+     * Delete an image
+     *
+     * @param publicId the image's public ID
+     * @return a map whose "result" is "ok" or "not found"
+     * @throws IOException if the image could not be deleted
+     */
+    Map<String, Object> delete(String publicId) throws IOException;
+
+    /**
+     * Extract the public ID from an image URL returned by {@link #store}
+     *
+     * @param imageUrl the image URL
+     * @return the public ID, or null if the URL does not belong to this backend
+     */
+    String extractPublicId(String imageUrl);
+
+}
@@ -0,0 +1,25 @@
+package com.connectexe.ConnectEXE.storage;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Downscaled renditions generated for every stored image. Images already within
+ * a variant's bounds use the next larger rendition, or the original, instead.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+    THUMBNAIL("thumb", 320),
+    CARD("card", 640),
+    FULL("full", 1600);
+
+    // Appended to the original's public ID: folder/name_thumb
+    private final String suffix;
+    // Longest edge in pixels
+    private final int maxDimension;
+
+    public String publicIdOf(String originalPublicId) {
+        return originalPublicId + "_" + suffix;
+    }
+}
@@ -0,0 +1,210 @@
+package com.connectexe.ConnectEXE.storage;
+
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant}s of newly stored images after the upload has returned,
+ * on a small bounded pool since decoding is CPU- and memory-heavy. Until an image's variants
+ * exist (or if generation is skipped) readers fall back to the original.
+ */
+@Component
+@Slf4j
+public class ImageVariantGenerator {
+
+    private final ImageStorage imageStorage;
+    private final ImageAssetRepository imageAssetRepository;
+    private final ThreadPoolExecutor executor;
+    private final long maxPixels;
+    private final Timer generateTimer;
+    private final Counter rejectedCounter;
+
+    public ImageVariantGenerator(ImageStorage imageStorage,
+                                 ImageAssetRepository imageAssetRepository,
+                                 MeterRegistry registry,
+                                 @Value("${upload.variants.threads:2}") int threads,
+                                 @Value("${upload.variants.queue-capacity:100}") int queueCapacity,
+                                 @Value("${upload.variants.max-pixels:40000000}") long maxPixels) {
+        this.imageStorage = imageStorage;
+        this.imageAssetRepository = imageAssetRepository;
+        this.maxPixels = maxPixels;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("upload.variants.queue.depth", executor.getQueue(), BlockingQueue::size)
+                .description("Stored images waiting for variant generation")
+                .register(registry);
+        this.generateTimer = Timer.builder("upload.variants.time")
+                .description("Time to decode an image and store its variants")
+                .register(registry);
+        this.rejectedCounter = Counter.builder("upload.variants.rejected")
+                .description("Images left without variants because the generation queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue variant generation for a newly indexed asset. Takes ownership of the source file,
+     * which is deleted once the variants are stored or generation is skipped.
+     *
+     * @param contentHash the asset's content hash
+     * @param source      file holding the original image
+     * @param publicId    the original's public ID (folder/name)
+     * @param originalUrl the original's URL, used for variants the image is already small enough for
+     */
+    public void submit(String contentHash, Path source, String publicId, String originalUrl) {
+        try {
+            executor.execute(() -> {
+                try {
+                    generateTimer.record(() -> generate(contentHash, source, publicId, originalUrl));
+                } finally {
+                    deleteQuietly(source);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Variant queue full, serving original only for {}", publicId);
+            deleteQuietly(source);
+        }
+    }
+
+    void generate(String contentHash, Path source, String publicId, String originalUrl) {
+        List<String> stored = new ArrayList<>();
+        try {
+            Map<ImageVariant, String> urls = createVariants(source, publicId, originalUrl, stored);
+            if (urls == null) {
+                return;
+            }
+            int updated = imageAssetRepository.updateVariants(contentHash,
+                    urls.get(ImageVariant.THUMBNAIL), urls.get(ImageVariant.CARD), urls.get(ImageVariant.FULL));
+            if (updated == 0) {
+                // The asset was deleted meanwhile
+                stored.forEach(this::deleteStoredQuietly);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate variants for {}: {}", publicId, e.getMessage());
+            stored.forEach(this::deleteStoredQuietly);
+        }
+    }
+
+    /**
+     * @return each variant's URL, or null if the image cannot be decoded
+     */
+    private Map<ImageVariant, String> createVariants(Path source, String publicId, String originalUrl,
+                                                     List<String> stored) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.debug("No decoder for {}, serving original only", publicId);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.info("Skipping variants for {} ({}x{} exceeds the pixel limit)", publicId, width, height);
+                    return null;
+                }
+                // Skip pixels while decoding, keeping at least twice the largest variant's resolution
+                int longest = Math.max(width, height);
+                int step = Math.max(1, longest / (ImageVariant.FULL.getMaxDimension() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+
+                String format = decoded.getColorModel().hasAlpha() ? "png" : "jpg";
+                int slash = publicId.lastIndexOf('/');
+                String folder = publicId.substring(0, slash);
+                String name = publicId.substring(slash + 1);
+
+                // From the largest down, so each variant can start from the previous one
+                Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+                ImageVariant[] variants = ImageVariant.values();
+                String largerUrl = originalUrl;
+                BufferedImage larger = decoded;
+                for (int i = variants.length - 1; i >= 0; i--) {
+                    ImageVariant variant = variants[i];
+                    if (longest > variant.getMaxDimension()) {
+                        larger = ImageResizer.fit(larger, variant.getMaxDimension());
+                        largerUrl = store(larger, format, folder, name + "_" + variant.getSuffix(), stored);
+                    }
+                    urls.put(variant, largerUrl);
+                }
+                return urls;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private String store(BufferedImage image, String format, String folder, String name, List<String> stored)
+            throws IOException {
+        Path encoded = Files.createTempFile("variant-", "." + format);
+        try {
+            if (!ImageIO.write(image, format, encoded.toFile())) {
+                throw new IOException("No encoder for " + format);
+            }
+            Map<String, Object> result = imageStorage.store(encoded, folder, name, format);
+            stored.add((String) result.get("public_id"));
+            return (String) result.get("secure_url");
+        } finally {
+            deleteQuietly(encoded);
+        }
+    }
+
+    private void deleteStoredQuietly(String publicId) {
+        try {
+            imageStorage.delete(publicId);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete variant {}: {}", publicId, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.connectexe.ConnectEXE.storage;
+
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Swaps stored image URLs for one of their {@link ImageVariant}s in responses:
+ * list responses use small renditions, detail responses the full one.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageVariantResolver {
+
+    private final ImageAssetRepository imageAssetRepository;
+
+    /**
+     * Look up the rendition of every URL in one query
+     *
+     * @return original URL to rendition URL; URLs without a rendition yet are absent
+     */
+    public Map<String, String> resolve(Collection<String> originalUrls, ImageVariant variant) {
+        Set<String> urls = originalUrls.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (urls.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> variants = new HashMap<>();
+        for (ImageAsset asset : imageAssetRepository.findBySecureUrlIn(urls)) {
+            String url = urlOf(asset, variant);
+            if (url != null) {
+                variants.put(asset.getSecureUrl(), url);
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Replace each URL by its rendition from {@link #resolve}, keeping the original when there is none
+     */
+    public static List<String> apply(List<String> urls, Map<String, String> variants) {
+        if (urls == null || variants.isEmpty()) {
+            return urls;
+        }
+        return urls.stream()
+                .map(url -> variants.getOrDefault(url, url))
+                .collect(Collectors.toList());
+    }
+
+    public static String apply(String url, Map<String, String> variants) {
+        return url == null ? null : variants.getOrDefault(url, url);
+    }
+
+    private static String urlOf(ImageAsset asset, ImageVariant variant) {
+        switch (variant) {
+            case THUMBNAIL:
+                return asset.getThumbnailUrl();
+            case CARD:
+                return asset.getCardUrl();
+            default:
+                return asset.getFullUrl();
+        }
+    }
+}
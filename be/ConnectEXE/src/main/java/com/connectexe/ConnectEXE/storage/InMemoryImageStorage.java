@@ -0,0 +1,54 @@
+package com.connectexe.ConnectEXE.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps images in a map, for tests and offline benchmarks of the upload path. Nothing is served.
+ */
+public class InMemoryImageStorage implements ImageStorage {
+
+    static final String URL_PREFIX = "memory://";
+
+    private final Map<String, byte[]> images = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+        String publicId = folder + "/" + name;
+        byte[] content = Files.readAllBytes(source);
+        images.put(publicId, content);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("secure_url", URL_PREFIX + publicId + "." + format);
+        result.put("public_id", publicId);
+        result.put("format", format);
+        result.put("bytes", content.length);
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> delete(String publicId) {
+        return Map.of("result", images.remove(publicId) != null ? "ok" : "not found");
+    }
+
+    @Override
+    public String extractPublicId(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX) || imageUrl.lastIndexOf('.') < URL_PREFIX.length()) {
+            return null;
+        }
+        return imageUrl.substring(URL_PREFIX.length(), imageUrl.lastIndexOf('.'));
+    }
+
+    public Optional<byte[]> get(String publicId) {
+        return Optional.ofNullable(images.get(publicId));
+    }
+
+    public int size() {
+        return images.size();
+    }
+}
@@ -0,0 +1,306 @@
+package com.connectexe.ConnectEXE.storage;
+
+import com.connectexe.ConnectEXE.util.ImageTypeUtil;
+import com.connectexe.ConnectEXE.util.SignatureUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores images under a local directory and serves them through
+ * {@link com.connectexe.ConnectEXE.controller.LocalFileController}.
+ * Files are written under a temporary name and renamed into place, so a reader
+ * never sees a partially written image. Only suitable when all instances share the directory.
+ * Also a stand-in for Cloudinary's signed uploads: {@link #grantDirectUpload} signs the same kind of
+ * form fields, {@link #storeDirectUpload} accepts the file posted with them and signs its response,
+ * and {@link #verifyUpload} checks that signature.
+ */
+@Slf4j
+public class LocalImageStorage implements ImageStorage, DirectUploadCapable {
+
+    private static final String TEMP_PREFIX = ".upload-";
+
+    private final Path root;
+    private final String publicUrl;
+    private final byte[] signingKey;
+
+    /**
+     * @param root      directory holding the images; created if missing
+     * @param publicUrl URL prefix the files are served under, e.g. /api/files
+     */
+    public LocalImageStorage(Path root, String publicUrl) throws IOException {
+        this(root, publicUrl, "");
+    }
+
+    /**
+     * @param root          directory holding the images; created if missing
+     * @param publicUrl     URL prefix the files are served under, e.g. /api/files
+     * @param signingSecret key for direct upload signatures; if blank, a random key only this instance knows
+     */
+    public LocalImageStorage(Path root, String publicUrl, String signingSecret) throws IOException {
+        this.root = Files.createDirectories(root).toRealPath();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        if (signingSecret == null || signingSecret.isBlank()) {
+            this.signingKey = new byte[32];
+            new SecureRandom().nextBytes(this.signingKey);
+        } else {
+            this.signingKey = signingSecret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+        String publicId = folder + "/" + name;
+        Path target = resolve(publicId + "." + format);
+        Path dir = Files.createDirectories(target.getParent());
+
+        Path temp = Files.createTempFile(dir, TEMP_PREFIX, ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        Map<String, Object> result = describe(target, publicId, format);
+        log.info("Stored image {} ({} bytes)", publicId, result.get("bytes"));
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> delete(String publicId) throws IOException {
+        Path base = resolve(publicId);
+        Path dir = base.getParent();
+        boolean deleted = false;
+        if (Files.isDirectory(dir)) {
+            // The public ID has no extension, so remove whichever format was stored
+            try (DirectoryStream<Path> matches = Files.newDirectoryStream(dir, base.getFileName() + ".*")) {
+                for (Path match : matches) {
+                    deleted |= Files.deleteIfExists(match);
+                }
+            }
+        }
+        Files.deleteIfExists(claimOf(publicId));
+        return Map.of("result", deleted ? "ok" : "not found");
+    }
+
+    @Override
+    public DirectUploadGrant grantDirectUpload(String folder, String name, long maxBytes, Instant expiresAt) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("timestamp", String.valueOf(Instant.now().getEpochSecond()));
+        fields.put("folder", folder);
+        fields.put("public_id", name);
+        fields.put("max_bytes", String.valueOf(maxBytes));
+        fields.put("expires_at", String.valueOf(expiresAt.getEpochSecond()));
+        fields.put("signature", SignatureUtil.sign(signingKey, SignatureUtil.canonicalize(fields)));
+        return new DirectUploadGrant(publicUrl + "/upload", fields, expiresAt);
+    }
+
+    /**
+     * Store a file posted with the fields of a {@link #grantDirectUpload} grant. Each grant stores one image.
+     *
+     * @param fields  the posted form fields, including the signature
+     * @param content the posted file; read up to the granted size
+     * @return the stored image's details, as {@link #store} returns them
+     * @throws IllegalArgumentException if the grant is invalid, expired or used, or the file is not an accepted image
+     * @throws IOException if the image could not be stored
+     */
+    public Map<String, Object> storeDirectUpload(Map<String, String> fields, InputStream content) throws IOException {
+        Map<String, String> signed = new HashMap<>(fields);
+        String signature = signed.remove("signature");
+        if (!SignatureUtil.verify(signingKey, SignatureUtil.canonicalize(signed), signature)) {
+            throw new IllegalArgumentException("Invalid upload signature");
+        }
+        if (Instant.now().getEpochSecond() > Long.parseLong(signed.get("expires_at"))) {
+            throw new IllegalArgumentException("Upload grant has expired");
+        }
+        String publicId = signed.get("folder") + "/" + signed.get("public_id");
+
+        // The stored file's name depends on the detected format, so the grant is claimed under a name
+        // that does not; creating the claim fails if another upload with this grant got there first
+        Path claim = claimOf(publicId);
+        Files.createDirectories(claim.getParent());
+        try {
+            Files.createFile(claim);
+        } catch (FileAlreadyExistsException e) {
+            throw new IllegalArgumentException("Upload grant has already been used");
+        }
+
+        boolean stored = false;
+        Path temp = Files.createTempFile(claim.getParent(), TEMP_PREFIX, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                copyAtMost(content, out, Long.parseLong(signed.get("max_bytes")));
+            }
+            String format;
+            try (InputStream in = Files.newInputStream(temp)) {
+                format = ImageTypeUtil.detect(in, Files.size(temp))
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid image format. Allowed: JPG, PNG, GIF, WEBP, BMP"));
+            }
+            Path target = resolve(publicId + "." + format);
+            // Nothing else writes under this public ID while the claim is held
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            stored = true;
+            Map<String, Object> result = describe(target, publicId, format);
+            // Signed like Cloudinary's upload response, so the client can prove the upload when confirming it
+            String version = String.valueOf(Instant.now().getEpochSecond());
+            result.put("version", version);
+            result.put("signature", SignatureUtil.sign(signingKey, responseSignatureData(publicId, version)));
+            log.info("Stored directly uploaded image {} ({} bytes)", publicId, result.get("bytes"));
+            return result;
+        } finally {
+            Files.deleteIfExists(temp);
+            if (!stored) {
+                // A rejected file does not use up the grant
+                Files.deleteIfExists(claim);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Map<String, Object>> verifyUpload(Map<String, String> uploadResponse) throws IOException {
+        String publicId = uploadResponse.get("public_id");
+        String version = uploadResponse.get("version");
+        if (publicId == null || version == null
+                || !SignatureUtil.verify(signingKey, responseSignatureData(publicId, version), uploadResponse.get("signature"))) {
+            return Optional.empty();
+        }
+        // The file is on this node's disk, so its details are read rather than taken from the client
+        return describe(publicId);
+    }
+
+    /**
+     * Details of a stored image, in the same form as {@link #store} returns them
+     *
+     * @param publicId the image's public ID
+     * @return the details, or empty if nothing is stored under the ID
+     * @throws IOException if the folder could not be read
+     */
+    public Optional<Map<String, Object>> describe(String publicId) throws IOException {
+        Path base = resolve(publicId);
+        if (!Files.isDirectory(base.getParent())) {
+            return Optional.empty();
+        }
+        try (DirectoryStream<Path> matches = Files.newDirectoryStream(base.getParent(), base.getFileName() + ".*")) {
+            for (Path match : matches) {
+                String fileName = match.getFileName().toString();
+                return Optional.of(describe(match, publicId, fileName.substring(fileName.lastIndexOf('.') + 1)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String extractPublicId(String imageUrl) {
+        String prefix = publicUrl + "/";
+        if (imageUrl == null) {
+            return null;
+        }
+        int start = imageUrl.indexOf(prefix);
+        int dot = imageUrl.lastIndexOf('.');
+        if (start < 0 || dot < start + prefix.length()) {
+            return null;
+        }
+        return imageUrl.substring(start + prefix.length(), dot);
+    }
+
+    /**
+     * Find a stored file by its path relative to the storage root
+     *
+     * @param relativePath e.g. folder/name.png
+     * @return the file, or empty if it does not exist or lies outside the root
+     */
+    public Optional<Path> findFile(String relativePath) {
+        Path file;
+        try {
+            file = resolve(relativePath);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (file.getFileName().toString().startsWith(".") || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private static String responseSignatureData(String publicId, String version) {
+        return SignatureUtil.canonicalize(Map.of("public_id", publicId, "version", version));
+    }
+
+    /**
+     * Marker held by the direct upload of a public ID; hidden like temp files, and not matched by name.*
+     */
+    private Path claimOf(String publicId) {
+        Path base = resolve(publicId);
+        return base.resolveSibling("." + base.getFileName() + ".claim");
+    }
+
+    private Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage path: " + relativePath);
+        }
+        return path;
+    }
+
+    private Map<String, Object> describe(Path file, String publicId, String format) throws IOException {
+        Map<String, Object> result = new HashMap<>();
+        result.put("secure_url", publicUrl + "/" + publicId + "." + format);
+        result.put("public_id", publicId);
+        result.put("format", format);
+        result.put("bytes", Files.size(file));
+        readDimensions(file, result);
+        return result;
+    }
+
+    private static void copyAtMost(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            total += read;
+            if (total > maxBytes) {
+                throw new IllegalArgumentException("File size exceeds maximum limit of " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+
+    /**
+     * Add width and height when the format can be read; only the image header is parsed
+     */
+    private static void readDimensions(Path file, Map<String, Object> result) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                result.put("width", reader.getWidth(0));
+                result.put("height", reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read dimensions of {}: {}", file, e.getMessage());
+        }
+    }
+}
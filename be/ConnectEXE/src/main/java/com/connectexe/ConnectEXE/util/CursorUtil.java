@@ -0,0 +1,61 @@
+package com.connectexe.ConnectEXE.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes opaque keyset cursors of the form (createdAt, id).
+ * The cursor is a URL-safe Base64 string so clients treat it as an opaque token.
+ */
+public final class CursorUtil {
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {}
+
+    public static String encode(LocalDateTime createdAt, String id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode}.
+     * @param cursor the opaque cursor, or null/blank for the first page
+     * @return the decoded position, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static final class Cursor {
+        private final LocalDateTime createdAt;
+        private final String id;
+
+        public Cursor(LocalDateTime createdAt, String id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.connectexe.ConnectEXE.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Detects an image format from its leading magic bytes, so uploads can be validated
+ * without reading the whole file. Recognizes the formats accepted for upload.
+ * BMP has only a two-byte signature, so its header is also checked: the declared file size must match
+ * the actual size and the DIB header must be one of the standard sizes.
+ */
+public final class ImageTypeUtil {
+    /** Enough bytes to recognize every supported format (BMP needs 18) */
+    public static final int HEADER_LENGTH = 18;
+
+    // BITMAPCOREHEADER, BITMAPINFOHEADER, BITMAPV4HEADER and BITMAPV5HEADER
+    private static final Set<Long> BMP_DIB_HEADER_SIZES = Set.of(12L, 40L, 108L, 124L);
+
+    private ImageTypeUtil() {}
+
+    /**
+     * Reads at most {@link #HEADER_LENGTH} bytes from the stream; the caller owns and closes it.
+     *
+     * @param size total length of the content in bytes
+     * @return the lowercase format name (jpg, png, gif, webp, bmp), or empty if not a supported image
+     */
+    public static Optional<String> detect(InputStream in, long size) throws IOException {
+        byte[] header = in.readNBytes(HEADER_LENGTH);
+        return detect(header, header.length, size);
+    }
+
+    public static Optional<String> detect(byte[] header, int length, long size) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of("jpg");
+        }
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of("png");
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return Optional.of("gif");
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return Optional.of("webp");
+        }
+        if (startsWith(header, length, 'B', 'M') && length >= 18
+                && uint32(header, 2) == size && BMP_DIB_HEADER_SIZES.contains(uint32(header, 14))) {
+            return Optional.of("bmp");
+        }
+        return Optional.empty();
+    }
+
+    // Little-endian, as in BMP headers
+    private static long uint32(byte[] header, int offset) {
+        return (header[offset] & 0xFFL)
+                | (header[offset + 1] & 0xFFL) << 8
+                | (header[offset + 2] & 0xFFL) << 16
+                | (header[offset + 3] & 0xFFL) << 24;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
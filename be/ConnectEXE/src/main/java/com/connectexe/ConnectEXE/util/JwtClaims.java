@@ -0,0 +1,21 @@
+package com.connectexe.ConnectEXE.util;
+
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Immutable view of a verified token's claims, produced by a single parse in {@link JwtTokenProvider#parseToken}.
+ */
+@Value
+public class JwtClaims {
+    String userId;
+    String email;
+    String role;
+    String type; // access or refresh
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
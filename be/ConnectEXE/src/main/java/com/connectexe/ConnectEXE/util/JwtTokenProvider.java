@@ -2,6 +2,8 @@ package com.connectexe.ConnectEXE.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -12,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Component
+@Slf4j
 public class JwtTokenProvider {
 
     @Value("${jwt.secret}")
@@ -23,8 +26,43 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration;
 
+    // Built once at startup; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
+    }
+
+    /**
+     * Verify the token and read all of its claims in a single parse
+     * @return Claims of a valid token, or null if the token is invalid or expired
+     */
+    public JwtClaims parseToken(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new JwtClaims(
+                    claims.get("userId", String.class),
+                    claims.get("email", String.class),
+                    claims.get("role", String.class),
+                    claims.get("type", String.class),
+                    claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT validation error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Claims getClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -67,68 +105,35 @@ public class JwtTokenProvider {
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            System.err.println("JWT validation error: " + e.getMessage());
-            return false;
-        }
+        return parseToken(token) != null;
     }
 
     /**
      * Get userId from token
      */
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("userId", String.class);
+        return getClaims(token).get("userId", String.class);
     }
 
     /**
      * Get email from token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("email", String.class);
+        return getClaims(token).get("email", String.class);
     }
 
     /**
      * Get role from token
      */
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("role", String.class);
+        return getClaims(token).get("role", String.class);
     }
 
     /**
      * Get token type (access or refresh)
      */
     public String getTokenType(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("type", String.class);
+        return getClaims(token).get("type", String.class);
     }
 
     /**
@@ -136,13 +141,7 @@ public class JwtTokenProvider {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            
-            return claims.getExpiration().before(new Date());
+            return getClaims(token).getExpiration().before(new Date());
         } catch (JwtException e) {
             return true;
         }
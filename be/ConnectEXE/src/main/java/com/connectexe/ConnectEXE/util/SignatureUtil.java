@@ -0,0 +1,51 @@
+package com.connectexe.ConnectEXE.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * HMAC-SHA256 signatures for values handed to clients and checked when they come back.
+ */
+public final class SignatureUtil {
+
+    private SignatureUtil() {}
+
+    /**
+     * @return the lowercase hex HMAC-SHA256 of data
+     */
+    public static String sign(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    /**
+     * Check a signature produced by {@link #sign} in constant time
+     */
+    public static boolean verify(byte[] key, String data, String signature) {
+        return signature != null && MessageDigest.isEqual(
+                sign(key, data).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parameters as signed by Cloudinary and the local backend: sorted by name, joined as a=1&b=2
+     */
+    public static String canonicalize(Map<String, String> params) {
+        StringJoiner joiner = new StringJoiner("&");
+        new TreeMap<>(params).forEach((name, value) -> joiner.add(name + "=" + value));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.connectexe.ConnectEXE.auth.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOtpStoreTest {
+
+	@Test
+	void reissueReplacesPendingAndVerifiedCodeMovesToUsed() {
+		InMemoryOtpStore store = new InMemoryOtpStore(1000, 64, Duration.ofMinutes(10));
+
+		OtpEntry first = store.issue("u1", "reset_password", "111111", Duration.ofMinutes(5));
+		store.issue("u1", "reset_password", "222222", Duration.ofMinutes(5));
+
+		// A stale entry must not consume the newer code
+		store.markUsed(first);
+		assertEquals("222222", store.findPending("u1", "reset_password").orElseThrow().getCode());
+		assertFalse(store.findLatestUsed("u1", "reset_password").isPresent());
+
+		store.markUsed(store.findPending("u1", "reset_password").orElseThrow());
+		assertFalse(store.findPending("u1", "reset_password").isPresent());
+		assertTrue(store.findLatestUsed("u1", "reset_password").orElseThrow().isUsed());
+		assertFalse(store.findPending("u1", "verification").isPresent());
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void wheelFiresOnlyDueKeysIncludingLaterRounds() {
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+		List<String> fired = new ArrayList<>();
+
+		wheel.schedule("soon", 250);
+		// 8 buckets of 100ms: lands in the same bucket as "soon" one revolution later
+		wheel.schedule("next-round", 1050);
+		wheel.schedule("past", 0);
+
+		wheel.advance(300, fired::add);
+		assertEquals(List.of("past", "soon"), fired);
+
+		wheel.advance(1000, fired::add);
+		assertEquals(2, fired.size());
+
+		wheel.advance(1100, fired::add);
+		assertEquals(List.of("past", "soon", "next-round"), fired);
+	}
+}
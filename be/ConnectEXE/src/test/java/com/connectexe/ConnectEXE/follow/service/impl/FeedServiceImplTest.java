@@ -0,0 +1,129 @@
+package com.connectexe.ConnectEXE.follow.service.impl;
+
+import com.connectexe.ConnectEXE.common.CursorPage;
+import com.connectexe.ConnectEXE.entity.ContentPost;
+import com.connectexe.ConnectEXE.entity.FeedItem;
+import com.connectexe.ConnectEXE.entity.FeedItemType;
+import com.connectexe.ConnectEXE.entity.ForumTopic;
+import com.connectexe.ConnectEXE.entity.Project;
+import com.connectexe.ConnectEXE.follow.dto.response.FeedItemResponse;
+import com.connectexe.ConnectEXE.follow.scheduler.FeedTrimJob;
+import com.connectexe.ConnectEXE.repository.ContentPostRepository;
+import com.connectexe.ConnectEXE.repository.FeedItemRepository;
+import com.connectexe.ConnectEXE.repository.ForumTopicRepository;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeedServiceImplTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+	private FeedItemRepository feedItemRepository;
+	private ContentPostRepository contentPostRepository;
+	private ProjectRepository projectRepository;
+	private ForumTopicRepository topicRepository;
+	private FeedServiceImpl feedService;
+
+	@BeforeEach
+	void setUp() {
+		feedItemRepository = mock(FeedItemRepository.class);
+		contentPostRepository = mock(ContentPostRepository.class);
+		projectRepository = mock(ProjectRepository.class);
+		topicRepository = mock(ForumTopicRepository.class);
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.namesById(anyCollection())).thenReturn(Map.of());
+		feedService = new FeedServiceImpl(feedItemRepository, contentPostRepository,
+				projectRepository, topicRepository, userRepository, mock(FeedTrimJob.class), 50);
+	}
+
+	@Test
+	void homeFeedMergesInboxWithPulledAuthorsNewestFirst() {
+		when(feedItemRepository.findFirstPage(eq("me"), any(Pageable.class))).thenReturn(List.of(
+				inboxItem(FeedItemType.PROJECT, "p1", "alice", NOW.minusMinutes(1)),
+				inboxItem(FeedItemType.TOPIC, "t1", "bob", NOW.minusMinutes(3))));
+		when(contentPostRepository.findPulledFirstPage("me", 4)).thenReturn(List.of(
+				post(FeedItemType.PROJECT, "p2", "star", NOW.minusMinutes(2)),
+				post(FeedItemType.PROJECT, "p3", "star", NOW.minusMinutes(4))));
+		when(projectRepository.findAllById(anyList())).thenReturn(List.of(project("p1"), project("p2"), project("p3")));
+		when(topicRepository.findAllById(anyList())).thenReturn(List.of(topic("t1")));
+
+		CursorPage<FeedItemResponse> page = feedService.getHomeFeed("me", null, 3);
+
+		assertEquals(List.of("p1", "p2", "t1"), page.getItems().stream().map(FeedItemResponse::getId).collect(Collectors.toList()));
+		assertTrue(page.isHasNext());
+		assertNotNull(page.getNextCursor());
+	}
+
+	@Test
+	void homeFeedHidesItemsNoLongerVisible() {
+		Project hidden = project("p1");
+		hidden.setIsPublic(false);
+		when(feedItemRepository.findFirstPage(eq("me"), any(Pageable.class))).thenReturn(List.of(
+				inboxItem(FeedItemType.PROJECT, "p1", "alice", NOW),
+				inboxItem(FeedItemType.PROJECT, "p2", "alice", NOW.minusMinutes(1))));
+		when(contentPostRepository.findPulledFirstPage("me", 11)).thenReturn(List.of());
+		when(projectRepository.findAllById(anyList())).thenReturn(List.of(hidden, project("p2")));
+
+		CursorPage<FeedItemResponse> page = feedService.getHomeFeed("me", null, 10);
+
+		assertEquals(1, page.getItems().size());
+		assertEquals("p2", page.getItems().get(0).getId());
+		assertFalse(page.isHasNext());
+	}
+
+	private static FeedItem inboxItem(FeedItemType type, String id, String authorId, LocalDateTime createdAt) {
+		FeedItem item = new FeedItem();
+		item.setOwnerId("me");
+		item.setItemType(type);
+		item.setItemId(id);
+		item.setAuthorId(authorId);
+		item.setCreatedAt(createdAt);
+		return item;
+	}
+
+	private static ContentPost post(FeedItemType type, String id, String authorId, LocalDateTime createdAt) {
+		ContentPost post = new ContentPost();
+		post.setItemType(type);
+		post.setItemId(id);
+		post.setAuthorId(authorId);
+		post.setCreatedAt(createdAt);
+		return post;
+	}
+
+	private static Project project(String id) {
+		Project project = new Project();
+		project.setProjectId(id);
+		project.setProjectName("Project " + id);
+		project.setIsPublic(true);
+		project.setStatus(Project.ProjectStatus.APPROVED);
+		return project;
+	}
+
+	private static ForumTopic topic(String id) {
+		ForumTopic topic = new ForumTopic();
+		topic.setTopicId(id);
+		topic.setTitle("Topic " + id);
+		topic.setApproved(true);
+		topic.setIsActive(true);
+		return topic;
+	}
+}
@@ -0,0 +1,221 @@
+package com.connectexe.ConnectEXE.forum.service.impl;
+
+import com.connectexe.ConnectEXE.entity.ForumReply;
+import com.connectexe.ConnectEXE.entity.ForumTopic;
+import com.connectexe.ConnectEXE.follow.service.FeedService;
+import com.connectexe.ConnectEXE.forum.dto.response.ReplyResponse;
+import com.connectexe.ConnectEXE.forum.dto.response.TopicDetailResponse;
+import com.connectexe.ConnectEXE.forum.dto.response.TopicResponse;
+import com.connectexe.ConnectEXE.repository.ForumReplyRepository;
+import com.connectexe.ConnectEXE.repository.ForumTopicRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.repository.projection.TopicReplyCountView;
+import com.connectexe.ConnectEXE.repository.projection.UserNameView;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.storage.ImageVariantResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Locks in the number of repository round-trips needed to render a page of topics or a thread,
+ * and the limits on how much of a thread is rendered.
+ */
+class ForumServiceImplTest {
+
+	private ForumTopicRepository topicRepository;
+	private ForumReplyRepository replyRepository;
+	private UserRepository userRepository;
+	private ForumServiceImpl forumService;
+
+	@BeforeEach
+	void setUp() {
+		topicRepository = mock(ForumTopicRepository.class);
+		replyRepository = mock(ForumReplyRepository.class);
+		// Real namesById, so the name query behind it is what gets counted
+		userRepository = mock(UserRepository.class, CALLS_REAL_METHODS);
+		forumService = new ForumServiceImpl(topicRepository, replyRepository, userRepository, mock(FeedService.class),
+				mock(ImageVariantResolver.class), mock(ImageReferenceService.class));
+	}
+
+	@Test
+	void getTopicsUsesFixedNumberOfQueriesRegardlessOfPageSize() {
+		assertQueryCountForPageSize(1);
+		assertQueryCountForPageSize(50);
+	}
+
+	@Test
+	void getTopicsFillsAuthorNamesAndReplyCounts() {
+		List<ForumTopic> topics = List.of(topic("t0", "u0"), topic("t1", "u1"));
+		when(topicRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(topics));
+		when(userRepository.findNamesByUserIdIn(anyCollection())).thenReturn(List.of(userName("u0", "Alice")));
+		when(replyRepository.countByTopicIdIn(anyCollection())).thenReturn(List.of(replyCount("t0", 3L)));
+
+		Page<TopicResponse> result = forumService.getTopics(null, null, null, 0, 10);
+
+		assertEquals("Alice", result.getContent().get(0).getAuthorName());
+		assertEquals(3, result.getContent().get(0).getReplyCount());
+		assertEquals("Unknown User", result.getContent().get(1).getAuthorName());
+		assertEquals(0, result.getContent().get(1).getReplyCount());
+	}
+
+	@Test
+	void getTopicDetailStopsNestingAtMaxDepth() {
+		ReflectionTestUtils.setField(forumService, "maxReplyDepth", 3);
+		// r1 <- r2 <- r3 <- r4 <- r5
+		List<ForumReply> replies = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			replies.add(reply("r" + i, i == 1 ? null : "r" + (i - 1)));
+		}
+		stubThread(replies);
+
+		TopicDetailResponse detail = forumService.getTopicDetail("t0");
+
+		ReplyResponse depth3 = detail.getReplies().get(0).getChildren().get(0).getChildren().get(0);
+		assertEquals("r3", depth3.getReplyId());
+		assertTrue(depth3.getChildren().isEmpty());
+		// The cut-off reply is still counted
+		assertEquals(1, depth3.getReplyCount());
+	}
+
+	@Test
+	void getTopicDetailKeepsAtMostMaxChildrenPerNodeButCountsAll() {
+		ReflectionTestUtils.setField(forumService, "maxRepliesPerNode", 2);
+		List<ForumReply> replies = new ArrayList<>();
+		replies.add(reply("root0", null));
+		replies.add(reply("root1", null));
+		replies.add(reply("root2", null));
+		for (int i = 0; i < 5; i++) {
+			replies.add(reply("c" + i, "root0"));
+		}
+		stubThread(replies);
+
+		TopicDetailResponse detail = forumService.getTopicDetail("t0");
+
+		assertEquals(List.of("root0", "root1"), replyIds(detail.getReplies()));
+		ReplyResponse root = detail.getReplies().get(0);
+		assertEquals(List.of("c0", "c1"), replyIds(root.getChildren()));
+		assertEquals(5, root.getReplyCount());
+	}
+
+	@Test
+	void getTopicDetailLoadsTheThreadWithOneQueryWhateverItsShape() {
+		// A root with 20 children of 5 children each
+		List<ForumReply> replies = new ArrayList<>();
+		replies.add(reply("root", null));
+		for (int i = 0; i < 20; i++) {
+			replies.add(reply("c" + i, "root"));
+			for (int j = 0; j < 5; j++) {
+				replies.add(reply("c" + i + "-" + j, "c" + i));
+			}
+		}
+		stubThread(replies);
+
+		TopicDetailResponse detail = forumService.getTopicDetail("t0");
+
+		assertEquals(20, detail.getReplies().get(0).getChildren().size());
+		assertEquals(5, detail.getReplies().get(0).getChildren().get(19).getChildren().size());
+		verify(replyRepository, times(1)).findByTopicIdOrderByCreatedAtAsc("t0");
+		verify(userRepository, times(1)).namesById(anyCollection());
+		verify(userRepository, times(1)).findNamesByUserIdIn(anyCollection());
+		verifyNoMoreInteractions(replyRepository, userRepository);
+	}
+
+	private void stubThread(List<ForumReply> replies) {
+		when(topicRepository.findById("t0")).thenReturn(Optional.of(topic("t0", "u0")));
+		when(replyRepository.findByTopicIdOrderByCreatedAtAsc("t0")).thenReturn(replies);
+	}
+
+	private static List<String> replyIds(List<ReplyResponse> replies) {
+		return replies.stream().map(ReplyResponse::getReplyId).collect(Collectors.toList());
+	}
+
+	private void assertQueryCountForPageSize(int size) {
+		setUp();
+		List<ForumTopic> topics = new ArrayList<>();
+		List<UserNameView> names = new ArrayList<>();
+		List<TopicReplyCountView> counts = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			topics.add(topic("t" + i, "u" + i));
+			names.add(userName("u" + i, "User " + i));
+			counts.add(replyCount("t" + i, (long) i));
+		}
+		when(topicRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(topics));
+		when(userRepository.findNamesByUserIdIn(anyCollection())).thenReturn(names);
+		when(replyRepository.countByTopicIdIn(anyCollection())).thenReturn(counts);
+
+		Page<TopicResponse> result = forumService.getTopics(null, null, null, 0, size);
+
+		assertEquals(size, result.getNumberOfElements());
+		verify(topicRepository, times(1)).findByIsActive(eq(true), any(Pageable.class));
+		verify(userRepository, times(1)).namesById(anyCollection());
+		verify(userRepository, times(1)).findNamesByUserIdIn(anyCollection());
+		verify(replyRepository, times(1)).countByTopicIdIn(anyCollection());
+		verifyNoMoreInteractions(topicRepository, userRepository, replyRepository);
+	}
+
+	private static ForumTopic topic(String topicId, String userId) {
+		ForumTopic topic = new ForumTopic();
+		topic.setTopicId(topicId);
+		topic.setUserId(userId);
+		topic.setTitle("Title " + topicId);
+		return topic;
+	}
+
+	private static ForumReply reply(String replyId, String parentReplyId) {
+		ForumReply reply = new ForumReply();
+		reply.setReplyId(replyId);
+		reply.setTopicId("t0");
+		reply.setUserId("u-" + replyId);
+		reply.setParentReplyId(parentReplyId);
+		return reply;
+	}
+
+	private static UserNameView userName(String userId, String fullName) {
+		return new UserNameView() {
+			@Override
+			public String getUserId() {
+				return userId;
+			}
+
+			@Override
+			public String getFullName() {
+				return fullName;
+			}
+		};
+	}
+
+	private static TopicReplyCountView replyCount(String topicId, Long count) {
+		return new TopicReplyCountView() {
+			@Override
+			public String getTopicId() {
+				return topicId;
+			}
+
+			@Override
+			public Long getReplyCount() {
+				return count;
+			}
+		};
+	}
+}
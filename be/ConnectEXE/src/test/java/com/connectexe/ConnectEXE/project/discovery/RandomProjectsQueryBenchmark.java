@@ -0,0 +1,107 @@
+package com.connectexe.ConnectEXE.project.discovery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link SubscriptionProjectSamplerBenchmark}: a random discovery sample as the removed
+ * findRandomProjectsFromSubscriptions query drew it, with ORDER BY RANDOM() over every public project of the
+ * user's subscriptions. Each user subscribes to 50 owners of 20 projects, the same 1000 candidates the sampler
+ * benchmark caches, loaded into temporary tables so nothing in the database is touched.
+ * Not run by the test suite; needs a PostgreSQL database. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.connectexe.ConnectEXE.project.discovery.RandomProjectsQueryBenchmark
+ * -Dbenchmark.db.url=jdbc:postgresql://localhost:5432/connectexe -Dbenchmark.db.user=... -Dbenchmark.db.password=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomProjectsQueryBenchmark {
+
+	private static final int USERS = 1000;
+	private static final int OWNERS = 5000;
+	private static final String[] DB_PROPERTIES = {"benchmark.db.url", "benchmark.db.user", "benchmark.db.password"};
+
+	private Connection connection;
+	private PreparedStatement sampleQuery;
+
+	@Setup
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection(System.getProperty("benchmark.db.url"),
+				System.getProperty("benchmark.db.user"), System.getProperty("benchmark.db.password"));
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TEMP TABLE bench_projects (project_id VARCHAR(12) PRIMARY KEY, "
+					+ "owner_id VARCHAR(12) NOT NULL, is_public BOOLEAN NOT NULL)");
+			statement.execute("CREATE TEMP TABLE bench_subscriptions (subscriber_id VARCHAR(12) NOT NULL, "
+					+ "subscribed_to_id VARCHAR(12) NOT NULL, status VARCHAR(20) NOT NULL)");
+			statement.execute("INSERT INTO bench_projects SELECT lpad(to_hex(i), 12, '0'), 'owner-' || (i % " + OWNERS + "), true "
+					+ "FROM generate_series(0, " + (OWNERS * 20 - 1) + ") i");
+			statement.execute("INSERT INTO bench_subscriptions SELECT 'user-' || u, 'owner-' || ((u * 50 + s) % " + OWNERS + "), 'ACTIVE' "
+					+ "FROM generate_series(0, " + (USERS - 1) + ") u CROSS JOIN generate_series(0, 49) s");
+			// As idx_projects_owner, and the subscriber lookup
+			statement.execute("CREATE INDEX ON bench_projects (owner_id)");
+			statement.execute("CREATE INDEX ON bench_subscriptions (subscriber_id)");
+			statement.execute("ANALYZE bench_projects");
+			statement.execute("ANALYZE bench_subscriptions");
+		}
+		sampleQuery = connection.prepareStatement("SELECT p.* FROM bench_projects p WHERE p.owner_id IN ("
+				+ "  SELECT s.subscribed_to_id FROM bench_subscriptions s WHERE s.subscriber_id = ? AND s.status = 'ACTIVE') "
+				+ "AND p.is_public = true ORDER BY RANDOM() LIMIT ?");
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		// Temporary tables go with the connection
+		connection.close();
+	}
+
+	@Benchmark
+	public List<String> sample() throws SQLException {
+		sampleQuery.setString(1, "user-" + ThreadLocalRandom.current().nextInt(USERS));
+		sampleQuery.setInt(2, 20);
+		List<String> projectIds = new ArrayList<>(20);
+		try (ResultSet rows = sampleQuery.executeQuery()) {
+			while (rows.next()) {
+				projectIds.add(rows.getString("project_id"));
+			}
+		}
+		return projectIds;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		// Properties given to Maven are not passed on to the forked benchmark JVM
+		List<String> jvmArgs = new ArrayList<>();
+		for (String property : DB_PROPERTIES) {
+			jvmArgs.add("-D" + property + "=" + System.getProperty(property, ""));
+		}
+		new Runner(new OptionsBuilder()
+				.include(RandomProjectsQueryBenchmark.class.getSimpleName())
+				.jvmArgsAppend(jvmArgs.toArray(new String[0]))
+				.build()).run();
+	}
+}
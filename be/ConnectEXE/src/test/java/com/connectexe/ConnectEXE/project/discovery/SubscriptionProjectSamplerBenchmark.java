@@ -0,0 +1,86 @@
+package com.connectexe.ConnectEXE.project.discovery;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks random discovery samples from many request threads at once, with all users' pools
+ * cached and with more active users than pools so that pools are evicted and reloaded.
+ * {@link RandomProjectsQueryBenchmark} times the ORDER BY RANDOM() query a sample replaces.
+ * Not run by the test suite; run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.connectexe.ConnectEXE.project.discovery.SubscriptionProjectSamplerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class SubscriptionProjectSamplerBenchmark {
+
+	private static final int MAX_POOLS = 10_000;
+
+	// Distinct users requesting samples, relative to the default of 10000 cached pools
+	@Param({"1000", "20000"})
+	public int activeUsers;
+
+	private SubscriptionProjectSampler sampler;
+	private String[] userIds;
+
+	@Setup
+	public void setUp() {
+		List<String> candidates = new ArrayList<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			candidates.add(String.format("%012x", i));
+		}
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicProjectIdsFromFollowedUsers(anyString())).thenReturn(candidates);
+		sampler = new SubscriptionProjectSampler(projectRepository, 300, MAX_POOLS);
+		userIds = new String[activeUsers];
+		for (int i = 0; i < activeUsers; i++) {
+			userIds[i] = "user-" + i;
+			sampler.sample(userIds[i], 1);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		sampler.stop();
+	}
+
+	@Benchmark
+	public List<String> sample() {
+		return sampler.sample(userIds[ThreadLocalRandom.current().nextInt(userIds.length)], 20);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SubscriptionProjectSamplerBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
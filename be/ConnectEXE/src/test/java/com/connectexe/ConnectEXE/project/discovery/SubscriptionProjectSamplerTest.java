@@ -0,0 +1,71 @@
+package com.connectexe.ConnectEXE.project.discovery;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubscriptionProjectSamplerTest {
+
+	private static final List<String> CANDIDATES = List.of("p0", "p1", "p2", "p3", "p4", "p5", "p6", "p7", "p8", "p9");
+
+	@Test
+	void sampleReturnsDistinctCandidatesAndLoadsPoolOnce() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicProjectIdsFromFollowedUsers("me")).thenReturn(CANDIDATES);
+		SubscriptionProjectSampler sampler = new SubscriptionProjectSampler(projectRepository, 300, 100);
+
+		for (int i = 0; i < 100; i++) {
+			List<String> sample = sampler.sample("me", 4);
+			assertEquals(4, sample.size());
+			assertEquals(4, new HashSet<>(sample).size());
+			assertTrue(CANDIDATES.containsAll(sample));
+		}
+		assertEquals(10, sampler.sample("me", 50).size());
+		verify(projectRepository, times(1)).findPublicProjectIdsFromFollowedUsers("me");
+	}
+
+	@Test
+	void sampleIsRoughlyUniform() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicProjectIdsFromFollowedUsers("me")).thenReturn(CANDIDATES);
+		SubscriptionProjectSampler sampler = new SubscriptionProjectSampler(projectRepository, 300, 100);
+
+		Map<String, Integer> hits = new HashMap<>();
+		int draws = 20_000;
+		for (int i = 0; i < draws; i++) {
+			sampler.sample("me", 3).forEach(id -> hits.merge(id, 1, Integer::sum));
+		}
+		// Each candidate is expected draws * 3 / 10 = 6000 times
+		hits.values().forEach(count -> assertTrue(count > 5400 && count < 6600, "count " + count));
+	}
+
+	@Test
+	void leastRecentlyUsedPoolIsDroppedFirst() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicProjectIdsFromFollowedUsers(anyString())).thenReturn(CANDIDATES);
+		SubscriptionProjectSampler sampler = new SubscriptionProjectSampler(projectRepository, 300, 2);
+
+		sampler.sample("a", 1);
+		sampler.sample("b", 1);
+		// "a" is used again, so "b" is the least recently used when "c" arrives
+		sampler.sample("a", 1);
+		sampler.sample("c", 1);
+		sampler.sample("a", 1);
+		sampler.sample("b", 1);
+
+		verify(projectRepository, times(1)).findPublicProjectIdsFromFollowedUsers("a");
+		verify(projectRepository, times(2)).findPublicProjectIdsFromFollowedUsers("b");
+	}
+}
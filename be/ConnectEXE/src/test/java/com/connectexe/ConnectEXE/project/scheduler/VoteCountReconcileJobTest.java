@@ -0,0 +1,67 @@
+package com.connectexe.ConnectEXE.project.scheduler;
+
+import com.connectexe.ConnectEXE.project.vote.VoteLeaderboard;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteCountReconcileJobTest {
+
+	private ProjectRepository projectRepository;
+	private VoteLeaderboard voteLeaderboard;
+	private PlatformTransactionManager transactionManager;
+	private VoteCountReconcileJob job;
+
+	@BeforeEach
+	void setUp() {
+		projectRepository = mock(ProjectRepository.class);
+		voteLeaderboard = mock(VoteLeaderboard.class);
+		transactionManager = mock(PlatformTransactionManager.class);
+		job = new VoteCountReconcileJob(projectRepository, voteLeaderboard, transactionManager, 2);
+	}
+
+	@Test
+	void locksEachBatchBeforeCountingAndRefreshesRepairedBatches() {
+		when(projectRepository.lockProjectIdsAfter("", 2)).thenReturn(List.of("p1", "p2"));
+		when(projectRepository.lockProjectIdsAfter("p2", 2)).thenReturn(List.of("p3"));
+		when(projectRepository.reconcileVoteCounts(List.of("p1", "p2"))).thenReturn(1);
+		when(projectRepository.reconcileVoteCounts(List.of("p3"))).thenReturn(0);
+
+		job.reconcile();
+
+		InOrder order = inOrder(projectRepository, transactionManager, voteLeaderboard);
+		order.verify(projectRepository).lockProjectIdsAfter("", 2);
+		order.verify(projectRepository).reconcileVoteCounts(List.of("p1", "p2"));
+		order.verify(transactionManager).commit(any());
+		order.verify(voteLeaderboard).refresh(List.of("p1", "p2"));
+		order.verify(projectRepository).lockProjectIdsAfter("p2", 2);
+		order.verify(projectRepository).reconcileVoteCounts(List.of("p3"));
+		verify(voteLeaderboard, times(1)).refresh(anyCollection());
+	}
+
+	@Test
+	void batchThatLosesALockRaceIsRetried() {
+		when(projectRepository.lockProjectIdsAfter("", 2))
+				.thenThrow(new CannotAcquireLockException("deadlock detected"))
+				.thenReturn(List.of());
+
+		job.reconcile();
+
+		verify(projectRepository, times(2)).lockProjectIdsAfter("", 2);
+		verify(projectRepository, never()).reconcileVoteCounts(anyCollection());
+	}
+}
@@ -0,0 +1,262 @@
+package com.connectexe.ConnectEXE.project.service.impl;
+
+import com.connectexe.ConnectEXE.entity.Project;
+import com.connectexe.ConnectEXE.project.discovery.SubscriptionProjectSampler;
+import com.connectexe.ConnectEXE.project.dto.response.ProjectResponse;
+import com.connectexe.ConnectEXE.project.vote.VoteBuffer;
+import com.connectexe.ConnectEXE.project.vote.VoteLeaderboard;
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.UserRepository;
+import com.connectexe.ConnectEXE.repository.VoteRepository;
+import com.connectexe.ConnectEXE.repository.projection.UserNameView;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.storage.ImageVariant;
+import com.connectexe.ConnectEXE.storage.ImageVariantResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Locks in that every project list enriches a page of N cards with one batched query each
+ * for author names, the caller's votes and image renditions, and none per project.
+ * Vote counts are read from the denormalized column and cost no lookup at all.
+ */
+class ProjectServiceImplTest {
+
+	private static final int PAGE_SIZE = 50;
+
+	private ProjectRepository projectRepository;
+	private VoteRepository voteRepository;
+	private UserRepository userRepository;
+	private VoteBuffer voteBuffer;
+	private VoteLeaderboard voteLeaderboard;
+	private SubscriptionProjectSampler subscriptionProjectSampler;
+	private ImageVariantResolver imageVariantResolver;
+	private ProjectServiceImpl projectService;
+
+	@BeforeEach
+	void setUp() {
+		projectRepository = mock(ProjectRepository.class);
+		voteRepository = mock(VoteRepository.class);
+		// Real namesById, so the name query behind it is what gets counted
+		userRepository = mock(UserRepository.class, CALLS_REAL_METHODS);
+		voteBuffer = mock(VoteBuffer.class);
+		voteLeaderboard = mock(VoteLeaderboard.class);
+		subscriptionProjectSampler = mock(SubscriptionProjectSampler.class);
+		imageVariantResolver = mock(ImageVariantResolver.class);
+		projectService = new ProjectServiceImpl(projectRepository, voteRepository, userRepository,
+				voteBuffer, voteLeaderboard, subscriptionProjectSampler, imageVariantResolver,
+				mock(ImageReferenceService.class));
+	}
+
+	@Test
+	void getAllProjectsEnrichesEachPageInBatches() {
+		for (int size : new int[] {1, PAGE_SIZE}) {
+			setUp();
+			assertEnrichedInBatches(size, projects -> {
+				when(projectRepository.findByIsPublic(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(projects));
+				return projectService.getAllProjects(0, projects.size(), "me").getContent();
+			});
+		}
+	}
+
+	@Test
+	void getAllProjectsByCursorEnrichesThePageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			when(projectRepository.findPublicFirstPage(any(Pageable.class))).thenReturn(projects);
+			return projectService.getAllProjectsByCursor(null, projects.size(), "me").getItems();
+		});
+	}
+
+	@Test
+	void getSuccessfulProjectsEnrichesThePageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			when(projectRepository.findByStatusAndIsPublic(eq(Project.ProjectStatus.SUCCESSFUL), eq(true), any(Pageable.class)))
+					.thenReturn(new PageImpl<>(projects));
+			return projectService.getSuccessfulProjects(0, projects.size(), "me").getContent();
+		});
+	}
+
+	@Test
+	void getProjectsByCategoryEnrichesThePageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			when(projectRepository.findByCategoryAndIsPublic(eq(Project.ProjectCategory.TECHNOLOGY), eq(true), any(Pageable.class)))
+					.thenReturn(new PageImpl<>(projects));
+			return projectService.getProjectsByCategory(Project.ProjectCategory.TECHNOLOGY, 0, projects.size(), "me").getContent();
+		});
+	}
+
+	@Test
+	void getVotingProjectsEnrichesTheLeaderboardPageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			List<String> ids = projectIds(projects);
+			when(voteLeaderboard.isReady()).thenReturn(true);
+			when(voteLeaderboard.page(0, projects.size())).thenReturn(ids);
+			when(projectRepository.findAllById(ids)).thenReturn(projects);
+			return projectService.getVotingProjects(0, projects.size(), "me").getContent();
+		});
+	}
+
+	@Test
+	void getVotingProjectsEnrichesTheDatabasePageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			when(projectRepository.findByIsPublic(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(projects));
+			return projectService.getVotingProjects(0, projects.size(), "me").getContent();
+		});
+	}
+
+	@Test
+	void getRandomProjectsFromSubscriptionsEnrichesThePageInBatches() {
+		assertEnrichedInBatches(PAGE_SIZE, projects -> {
+			List<String> ids = projectIds(projects);
+			when(subscriptionProjectSampler.sample("me", projects.size())).thenReturn(ids);
+			when(projectRepository.findAllById(ids)).thenReturn(projects);
+			return projectService.getRandomProjectsFromSubscriptions("me", projects.size());
+		});
+	}
+
+	@Test
+	void voteProjectIncrementsCounterOnlyWhenVoteIsNew() {
+		when(projectRepository.existsById("p0")).thenReturn(true);
+		when(voteRepository.insertUpvoteIfAbsent(any(), eq("me"), eq("p0"))).thenReturn(1, 0);
+
+		projectService.voteProject("p0", "me");
+		projectService.voteProject("p0", "me");
+
+		verify(projectRepository, times(1)).adjustVoteCount("p0", 1);
+		verify(voteLeaderboard, times(1)).adjustAfterCommit("p0", 1);
+	}
+
+	@Test
+	void unvoteProjectDecrementsCounterOnlyWhenVoteExisted() {
+		when(voteRepository.deleteUpvote("me", "p0")).thenReturn(1, 0);
+
+		projectService.unvoteProject("p0", "me");
+		projectService.unvoteProject("p0", "me");
+
+		verify(projectRepository, times(1)).adjustVoteCount("p0", -1);
+	}
+
+	@Test
+	void voteProjectIsBufferedWhenWriteBehindEnabled() {
+		when(projectRepository.existsById("p0")).thenReturn(true);
+		when(voteBuffer.isEnabled()).thenReturn(true);
+
+		projectService.voteProject("p0", "me");
+
+		verify(voteBuffer).submit("me", "p0", true);
+		verifyNoMoreInteractions(voteRepository);
+	}
+
+	@Test
+	void getVotingProjectsKeepsTheLeaderboardOrder() {
+		when(voteLeaderboard.isReady()).thenReturn(true);
+		when(voteLeaderboard.page(0, 2)).thenReturn(List.of("p1", "p0"));
+		when(voteLeaderboard.size()).thenReturn(5);
+		when(projectRepository.findAllById(List.of("p1", "p0")))
+				.thenReturn(List.of(project("p0", "u0"), project("p1", "u1")));
+
+		Page<ProjectResponse> result = projectService.getVotingProjects(0, 2, null);
+
+		assertEquals("p1", result.getContent().get(0).getProjectId());
+		assertEquals("p0", result.getContent().get(1).getProjectId());
+		assertEquals(5, result.getTotalElements());
+	}
+
+	/**
+	 * Render {@code size} projects through one list endpoint, check every card, and check that
+	 * names, votes and images were each looked up once for the whole page
+	 */
+	private void assertEnrichedInBatches(int size, Function<List<Project>, List<ProjectResponse>> endpoint) {
+		List<Project> projects = new ArrayList<>();
+		Map<String, String> names = new HashMap<>();
+		List<String> voted = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Project project = project("p" + i, "u" + i);
+			project.setVoteCount((long) i);
+			projects.add(project);
+			// Every other author has been deleted; the caller voted on every third project
+			if (i % 2 == 0) {
+				names.put("u" + i, "User " + i);
+			}
+			if (i % 3 == 0) {
+				voted.add("p" + i);
+			}
+		}
+		when(userRepository.findNamesByUserIdIn(anyCollection())).thenReturn(userNames(names));
+		when(voteRepository.findVotedProjectIds(eq("me"), anyCollection())).thenReturn(voted);
+		when(imageVariantResolver.resolve(anyCollection(), any(ImageVariant.class))).thenReturn(Map.of());
+
+		List<ProjectResponse> cards = endpoint.apply(projects);
+
+		assertEquals(size, cards.size());
+		for (int i = 0; i < size; i++) {
+			ProjectResponse card = cards.get(i);
+			assertEquals("p" + i, card.getProjectId());
+			assertEquals(i % 2 == 0 ? "User " + i : "Unknown", card.getAuthorName());
+			assertEquals((long) i, card.getVoteCount());
+			assertEquals(Boolean.valueOf(i % 3 == 0), card.getHasVoted());
+		}
+		Set<String> ownerIds = projects.stream().map(Project::getOwnerId).collect(Collectors.toSet());
+		verify(userRepository, times(1)).namesById(ownerIds);
+		verify(userRepository, times(1)).findNamesByUserIdIn(ownerIds);
+		verify(voteRepository, times(1)).findVotedProjectIds("me", Set.copyOf(projectIds(projects)));
+		verify(imageVariantResolver, times(1)).resolve(anyCollection(), eq(ImageVariant.CARD));
+		verify(projectRepository, never()).findById(anyString());
+		verify(voteRepository, never()).countUpvotesByProjectId(anyString());
+		verify(voteRepository, never()).existsByUserIdAndProjectId(anyString(), anyString());
+		verifyNoMoreInteractions(userRepository, voteRepository, imageVariantResolver);
+	}
+
+	private static List<UserNameView> userNames(Map<String, String> names) {
+		List<UserNameView> views = new ArrayList<>();
+		names.forEach((userId, fullName) -> views.add(new UserNameView() {
+			@Override
+			public String getUserId() {
+				return userId;
+			}
+
+			@Override
+			public String getFullName() {
+				return fullName;
+			}
+		}));
+		return views;
+	}
+
+	private static List<String> projectIds(List<Project> projects) {
+		return projects.stream().map(Project::getProjectId).collect(Collectors.toList());
+	}
+
+	private static Project project(String projectId, String ownerId) {
+		Project project = new Project();
+		project.setProjectId(projectId);
+		project.setOwnerId(ownerId);
+		project.setProjectName("Project " + projectId);
+		project.setIsPublic(true);
+		return project;
+	}
+}
@@ -0,0 +1,124 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import com.connectexe.ConnectEXE.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteBufferTest {
+
+	@TempDir
+	Path tempDir;
+
+	private VoteRepository voteRepository;
+	private SimpleMeterRegistry registry;
+	private VoteBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		voteRepository = mock(VoteRepository.class);
+		registry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (buffer != null) {
+			buffer.stop();
+		}
+	}
+
+	@Test
+	void rowThatKeepsFailingIsDeadLetteredWithoutHoldingBackOthers() throws IOException {
+		// Voting on a deleted project violates the foreign key and fails the whole statement
+		when(voteRepository.insertUpvotesBatch(any(), any(), any())).thenAnswer(invocation -> {
+			String[] projectIds = invocation.getArgument(2);
+			if (Arrays.asList(projectIds).contains("deleted")) {
+				throw new DataIntegrityViolationException("votes_project_id_fkey");
+			}
+			return projectIds.length;
+		});
+		buffer = start(1000, 2);
+
+		buffer.submit("u1", "p1", true);
+		buffer.submit("u2", "deleted", true);
+		buffer.flush();
+		buffer.flush();
+
+		// Batch, then each row; then the failing row alone as a batch and as a row
+		verify(voteRepository, times(5)).insertUpvotesBatch(any(), any(), any());
+		assertEquals(0, registry.get("votes.buffer.depth").gauge().value());
+		assertEquals(1, registry.get("votes.buffer.dead_lettered").counter().count());
+		assertEquals(List.of("+ u2 deleted"), Files.readAllLines(tempDir.resolve("votes.log.dead")));
+	}
+
+	@Test
+	void changesWaitOutADatabaseOutage() throws IOException {
+		when(voteRepository.insertUpvotesBatch(any(), any(), any()))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"));
+		buffer = start(1000, 2);
+
+		buffer.submit("u1", "p1", true);
+		buffer.submit("u2", "p1", true);
+		for (int i = 0; i < 5; i++) {
+			buffer.flush();
+		}
+
+		assertEquals(2, registry.get("votes.buffer.depth").gauge().value());
+		assertEquals(0, registry.get("votes.buffer.dead_lettered").counter().count());
+	}
+
+	@Test
+	void fullBufferFlushesOnTheVotersThreadAndRefusesIfThatFails() throws IOException {
+		when(voteRepository.insertUpvotesBatch(any(), any(), any()))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"))
+				.thenThrow(new DataAccessResourceFailureException("connection refused"))
+				.thenReturn(2);
+		buffer = start(2, 5);
+
+		buffer.submit("u1", "p1", true);
+		buffer.submit("u2", "p1", true);
+		// Batch and both rows fail: still full
+		assertThrows(IllegalStateException.class, () -> buffer.submit("u3", "p1", true));
+		// The database is back: the voter's flush makes room
+		buffer.submit("u3", "p1", true);
+
+		assertEquals(1, registry.get("votes.buffer.depth").gauge().value());
+	}
+
+	@Test
+	void voteAfterShutdownIsWrittenDirectly() throws IOException {
+		buffer = start(1000, 5);
+		buffer.stop();
+
+		buffer.submit("u1", "p1", true);
+
+		verify(voteRepository).insertUpvotesBatch(any(), any(), any());
+		buffer = null;
+	}
+
+	private VoteBuffer start(int maxPending, int maxAttempts) throws IOException {
+		VoteBuffer voteBuffer = new VoteBuffer(voteRepository, mock(VoteLeaderboard.class), registry,
+				true, 60_000, 500, maxPending, maxAttempts, tempDir.resolve("votes.log").toString(), false);
+		voteBuffer.start();
+		return voteBuffer;
+	}
+}
@@ -0,0 +1,83 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoteJournalTest {
+
+	private static final VoteKey A = new VoteKey("u1", "p1");
+	private static final VoteKey B = new VoteKey("u2", "p1");
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void recoverReplaysRotatedThenActiveEntriesAndCompacts() throws IOException {
+		Path path = tempDir.resolve("votes.log");
+		VoteJournal journal = new VoteJournal(path, false);
+		journal.recover(new HashMap<>());
+		journal.append(A, true);
+		journal.append(B, true);
+		// Crash while flushing: A and B were rotated, then A was unvoted
+		journal.rotate();
+		journal.append(A, false);
+		journal.close();
+
+		Map<VoteKey, Boolean> pending = new HashMap<>();
+		VoteJournal recovered = new VoteJournal(path, false);
+		recovered.recover(pending);
+		recovered.close();
+
+		assertEquals(Map.of(A, false, B, true), pending);
+		assertFalse(Files.exists(tempDir.resolve("votes.log.flushing")));
+		assertEquals(2, Files.readAllLines(path).size());
+	}
+
+	@Test
+	void rotateAfterFailedFlushKeepsEarlierEntries() throws IOException {
+		Path path = tempDir.resolve("votes.log");
+		Path flushing = tempDir.resolve("votes.log.flushing");
+		VoteJournal journal = new VoteJournal(path, false);
+		journal.recover(new HashMap<>());
+		journal.append(A, true);
+		journal.rotate();
+		// The flush failed, so the rotated file is not committed
+		journal.append(B, false);
+		journal.rotate();
+
+		assertEquals(List.of("+ u1 p1", "- u2 p1"), Files.readAllLines(flushing));
+		assertEquals(0, Files.size(path));
+
+		journal.commitRotated();
+		journal.close();
+		assertFalse(Files.exists(flushing));
+	}
+
+	@Test
+	void deadLetteredEntriesAreKeptApartAndNotReplayed() throws IOException {
+		Path path = tempDir.resolve("votes.log");
+		VoteJournal journal = new VoteJournal(path, false);
+		journal.recover(new HashMap<>());
+		journal.deadLetter(A, true);
+		journal.close();
+
+		Map<VoteKey, Boolean> pending = new HashMap<>();
+		VoteJournal recovered = new VoteJournal(path, false);
+		recovered.recover(pending);
+		recovered.close();
+
+		assertTrue(pending.isEmpty());
+		assertEquals(List.of("+ u1 p1"), Files.readAllLines(tempDir.resolve("votes.log.dead")));
+	}
+}
@@ -0,0 +1,105 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.projection.ProjectVoteCountView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks voting page reads, shallow and deep, while votes move projects concurrently.
+ * {@link VoteRankingQueryBenchmark} times the GROUP BY query these reads replace, at the same sizes.
+ * Not run by the test suite; run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.connectexe.ConnectEXE.project.vote.VoteLeaderboardBenchmark}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteLeaderboardBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"10000", "100000", "1000000"})
+	public int projects;
+
+	private VoteLeaderboard leaderboard;
+	private String[] projectIds;
+
+	@Setup
+	public void setUp() {
+		List<ProjectVoteCountView> views = new ArrayList<>(projects);
+		projectIds = new String[projects];
+		for (int i = 0; i < projects; i++) {
+			String projectId = String.format("%012x", i);
+			long voteCount = ThreadLocalRandom.current().nextLong(1000);
+			projectIds[i] = projectId;
+			views.add(new ProjectVoteCountView() {
+				@Override
+				public String getProjectId() {
+					return projectId;
+				}
+
+				@Override
+				public Long getVoteCount() {
+					return voteCount;
+				}
+			});
+		}
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicVoteCounts()).thenReturn(views);
+		leaderboard = new VoteLeaderboard(projectRepository);
+		leaderboard.reload();
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(6)
+	public List<String> firstPage() {
+		return leaderboard.page(0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public List<String> deepPage() {
+		return leaderboard.page(ThreadLocalRandom.current().nextInt(projects / PAGE_SIZE), PAGE_SIZE);
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public void vote() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		leaderboard.adjustAfterCommit(projectIds[random.nextInt(projects)], random.nextBoolean() ? 1 : -1);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(VoteLeaderboardBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,91 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import com.connectexe.ConnectEXE.repository.ProjectRepository;
+import com.connectexe.ConnectEXE.repository.projection.ProjectVoteCountView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VoteLeaderboardTest {
+
+	@Test
+	void pagesFollowVoteCountThenProjectId() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		when(projectRepository.findPublicVoteCounts()).thenReturn(List.of(
+				view("a", 5), view("b", 9), view("c", 5), view("d", 0)));
+		VoteLeaderboard leaderboard = new VoteLeaderboard(projectRepository);
+		assertFalse(leaderboard.isReady());
+
+		leaderboard.reload();
+
+		assertTrue(leaderboard.isReady());
+		assertEquals(List.of("b", "c"), leaderboard.page(0, 2));
+		assertEquals(List.of("a", "d"), leaderboard.page(1, 2));
+		assertEquals(List.of(), leaderboard.page(5, 2));
+
+		leaderboard.adjustAfterCommit("d", 7);
+		leaderboard.removeAfterCommit("b");
+		leaderboard.putAfterCommit("e", 6);
+
+		assertEquals(List.of("d", "e", "c", "a"), leaderboard.page(0, 10));
+		assertEquals(4, leaderboard.size());
+	}
+
+	@Test
+	void deepPageIsReadByIndex() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		List<ProjectVoteCountView> views = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			views.add(view(String.format("p%05d", i), i));
+		}
+		when(projectRepository.findPublicVoteCounts()).thenReturn(views);
+		VoteLeaderboard leaderboard = new VoteLeaderboard(projectRepository);
+		leaderboard.reload();
+
+		assertEquals(List.of("p00009", "p00008"), leaderboard.page(4995, 2));
+	}
+
+	@Test
+	void changeMadeWhileReloadingIsReadAgain() {
+		ProjectRepository projectRepository = mock(ProjectRepository.class);
+		VoteLeaderboard leaderboard = new VoteLeaderboard(projectRepository);
+		when(projectRepository.findPublicVoteCounts()).thenReturn(List.of(view("a", 1), view("b", 2)));
+		leaderboard.reload();
+
+		// A vote on "a" commits while the next reload reads counts from before it
+		when(projectRepository.findPublicVoteCounts()).thenAnswer(invocation -> {
+			leaderboard.adjustAfterCommit("a", 5);
+			return List.of(view("a", 1), view("b", 2));
+		});
+		when(projectRepository.findPublicVoteCountsByProjectIdIn(anyCollection())).thenReturn(List.of(view("a", 6)));
+
+		leaderboard.reload();
+
+		assertEquals(List.of("a", "b"), leaderboard.page(0, 2));
+		verify(projectRepository).findPublicVoteCountsByProjectIdIn(Set.of("a"));
+	}
+
+	private static ProjectVoteCountView view(String projectId, long voteCount) {
+		return new ProjectVoteCountView() {
+			@Override
+			public String getProjectId() {
+				return projectId;
+			}
+
+			@Override
+			public Long getVoteCount() {
+				return voteCount;
+			}
+		};
+	}
+}
@@ -0,0 +1,118 @@
+package com.connectexe.ConnectEXE.project.vote;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for {@link VoteLeaderboardBenchmark}: the voting page as the removed findProjectsWithVoteCounts
+ * query served it, counting every public project's upvotes with GROUP BY and sorting by the count.
+ * The same project counts are loaded into temporary tables (up to 15 votes per project), so nothing in the
+ * database is touched. Only project IDs are grouped, where the old query grouped whole project rows, so the
+ * baseline errs in the query's favour.
+ * Not run by the test suite; needs a PostgreSQL database. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.connectexe.ConnectEXE.project.vote.VoteRankingQueryBenchmark
+ * -Dbenchmark.db.url=jdbc:postgresql://localhost:5432/connectexe -Dbenchmark.db.user=... -Dbenchmark.db.password=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteRankingQueryBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+	private static final String[] DB_PROPERTIES = {"benchmark.db.url", "benchmark.db.user", "benchmark.db.password"};
+
+	@Param({"10000", "100000", "1000000"})
+	public int projects;
+
+	private Connection connection;
+	private PreparedStatement pageQuery;
+
+	@Setup
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection(System.getProperty("benchmark.db.url"),
+				System.getProperty("benchmark.db.user"), System.getProperty("benchmark.db.password"));
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TEMP TABLE bench_projects (project_id VARCHAR(12) PRIMARY KEY, is_public BOOLEAN NOT NULL)");
+			statement.execute("CREATE TEMP TABLE bench_votes (vote_id BIGSERIAL PRIMARY KEY, project_id VARCHAR(12) NOT NULL, "
+					+ "is_upvote BOOLEAN NOT NULL)");
+			statement.execute("INSERT INTO bench_projects SELECT lpad(to_hex(i), 12, '0'), true "
+					+ "FROM generate_series(0, " + (projects - 1) + ") i");
+			statement.execute("INSERT INTO bench_votes (project_id, is_upvote) SELECT p.project_id, true "
+					+ "FROM bench_projects p CROSS JOIN LATERAL generate_series(1, hashtext(p.project_id) & 15)");
+			// As idx_votes_project
+			statement.execute("CREATE INDEX ON bench_votes (project_id)");
+			statement.execute("ANALYZE bench_projects");
+			statement.execute("ANALYZE bench_votes");
+		}
+		pageQuery = connection.prepareStatement("SELECT p.project_id, COUNT(v.vote_id) AS vote_count FROM bench_projects p "
+				+ "LEFT JOIN bench_votes v ON v.project_id = p.project_id AND v.is_upvote = true "
+				+ "WHERE p.is_public = true GROUP BY p.project_id ORDER BY vote_count DESC LIMIT ? OFFSET ?");
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		// Temporary tables go with the connection
+		connection.close();
+	}
+
+	@Benchmark
+	public List<String> firstPage() throws SQLException {
+		return page(0);
+	}
+
+	@Benchmark
+	public List<String> deepPage() throws SQLException {
+		return page(ThreadLocalRandom.current().nextInt(projects / PAGE_SIZE));
+	}
+
+	private List<String> page(int page) throws SQLException {
+		pageQuery.setInt(1, PAGE_SIZE);
+		pageQuery.setInt(2, page * PAGE_SIZE);
+		List<String> projectIds = new ArrayList<>(PAGE_SIZE);
+		try (ResultSet rows = pageQuery.executeQuery()) {
+			while (rows.next()) {
+				projectIds.add(rows.getString(1));
+			}
+		}
+		return projectIds;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		// Properties given to Maven are not passed on to the forked benchmark JVM
+		List<String> jvmArgs = new ArrayList<>();
+		for (String property : DB_PROPERTIES) {
+			jvmArgs.add("-D" + property + "=" + System.getProperty(property, ""));
+		}
+		new Runner(new OptionsBuilder()
+				.include(VoteRankingQueryBenchmark.class.getSimpleName())
+				.jvmArgsAppend(jvmArgs.toArray(new String[0]))
+				.build()).run();
+	}
+}
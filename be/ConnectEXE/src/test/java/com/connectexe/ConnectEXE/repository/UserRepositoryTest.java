@@ -0,0 +1,74 @@
+package com.connectexe.ConnectEXE.repository;
+
+import com.connectexe.ConnectEXE.repository.projection.UserNameView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class UserRepositoryTest {
+
+	@Test
+	void namesByIdSkipsMissingIdsAndNames() {
+		UserRepository userRepository = mock(UserRepository.class, CALLS_REAL_METHODS);
+		when(userRepository.findNamesByUserIdIn(anyCollection()))
+				.thenReturn(List.of(userName("u0", "Alice"), userName("u1", null)));
+
+		Map<String, String> names = userRepository.namesById(Arrays.asList("u0", "u1", null, "u0"));
+
+		assertEquals(Map.of("u0", "Alice"), names);
+		verify(userRepository).findNamesByUserIdIn(Set.of("u0", "u1"));
+	}
+
+	@Test
+	void namesByIdQueriesOnceForAnyNumberOfIds() {
+		UserRepository userRepository = mock(UserRepository.class, CALLS_REAL_METHODS);
+		List<String> userIds = new ArrayList<>();
+		List<UserNameView> views = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			userIds.add("u" + i);
+			views.add(userName("u" + i, "User " + i));
+		}
+		when(userRepository.findNamesByUserIdIn(anyCollection())).thenReturn(views);
+
+		assertEquals(500, userRepository.namesById(userIds).size());
+		verify(userRepository, times(1)).findNamesByUserIdIn(Set.copyOf(userIds));
+		verify(userRepository).namesById(userIds);
+		verifyNoMoreInteractions(userRepository);
+	}
+
+	@Test
+	void namesByIdDoesNotQueryWithoutIds() {
+		UserRepository userRepository = mock(UserRepository.class, CALLS_REAL_METHODS);
+
+		assertEquals(Map.of(), userRepository.namesById(Arrays.asList((String) null)));
+		verify(userRepository, never()).findNamesByUserIdIn(anyCollection());
+	}
+
+	private static UserNameView userName(String userId, String fullName) {
+		return new UserNameView() {
+			@Override
+			public String getUserId() {
+				return userId;
+			}
+
+			@Override
+			public String getFullName() {
+				return fullName;
+			}
+		};
+	}
+}
@@ -0,0 +1,35 @@
+package com.connectexe.ConnectEXE.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+	private final PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), 2, 8, 5000, 5, 4, 12, 250);
+
+	@AfterEach
+	void tearDown() {
+		hasher.stop();
+	}
+
+	@Test
+	void encodeAndMatchRunOnHashingThreads() {
+		String hash = hasher.encode("s3cret!");
+
+		assertTrue(hasher.matches("s3cret!", hash));
+		assertFalse(hasher.matches("wrong", hash));
+		assertFalse(hasher.matches("s3cret!", ""));
+	}
+
+	@Test
+	void hashesWithAnotherCostNeedUpgrading() {
+		assertFalse(hasher.upgradeEncoding(hasher.encode("s3cret!")));
+		assertTrue(hasher.upgradeEncoding(new BCryptPasswordEncoder(4).encode("s3cret!")));
+		assertFalse(hasher.upgradeEncoding("not-a-bcrypt-hash"));
+	}
+}
@@ -0,0 +1,113 @@
+package com.connectexe.ConnectEXE.security;
+
+import com.connectexe.ConnectEXE.util.JwtClaims;
+import com.connectexe.ConnectEXE.util.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks what the JWT filter spends on a repeated token: a cache hit, through the whole filter
+ * and on its own, against verifying it once with {@code parseToken} and against the old path that
+ * rebuilt the key and parser and verified the token three times per request. Not run by the test suite;
+ * run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.connectexe.ConnectEXE.security.VerifiedTokenCacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerifiedTokenCacheBenchmark {
+
+	private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+	private final FilterChain chain = (request, response) -> { };
+
+	private JwtTokenProvider jwtTokenProvider;
+	private VerifiedTokenCache cache;
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtTokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtTokenProvider, "accessTokenExpiration", TimeUnit.HOURS.toMillis(1));
+		ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+		token = jwtTokenProvider.generateAccessToken("user-1", "user@example.test", "user");
+
+		cache = new VerifiedTokenCache(10_000);
+		filter = new JwtAuthenticationFilter(jwtTokenProvider, cache, new AuthMetrics(new SimpleMeterRegistry()));
+		request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer " + token);
+		response = new MockHttpServletResponse();
+		cache.put(token, jwtTokenProvider.parseToken(token));
+	}
+
+	@Benchmark
+	public Authentication filterCacheHit() throws ServletException, IOException {
+		filter.doFilter(request, response, chain);
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	@Benchmark
+	public JwtClaims cacheHit() {
+		return cache.get(token);
+	}
+
+	@Benchmark
+	public JwtClaims parseToken() {
+		return jwtTokenProvider.parseToken(token);
+	}
+
+	// What the filter did before: validateToken, getUserIdFromToken and getRoleFromToken, each building its own key
+	@Benchmark
+	public String tripleParse() {
+		parseWithNewKey(token);
+		String userId = parseWithNewKey(token).get("userId", String.class);
+		return userId + parseWithNewKey(token).get("role", String.class);
+	}
+
+	private static Claims parseWithNewKey(String token) {
+		return Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(token)
+				.getPayload();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(VerifiedTokenCacheBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,52 @@
+package com.connectexe.ConnectEXE.security;
+
+import com.connectexe.ConnectEXE.util.JwtClaims;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedTokenCacheTest {
+
+	@Test
+	void returnsClaimsOnlyForTheSameToken() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		JwtClaims claims = claims(System.currentTimeMillis() + 60_000);
+
+		cache.put("a.b.c", claims);
+
+		assertSame(claims, cache.get("a.b.c"));
+		assertNull(cache.get("a.b.d"));
+	}
+
+	@Test
+	void doesNotReturnExpiredClaims() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+		cache.put("a.b.c", claims(System.currentTimeMillis() - 1));
+
+		assertNull(cache.get("a.b.c"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void keepsOnlyAHashOfTheToken() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+		cache.put("a.b.c", claims(System.currentTimeMillis() + 60_000));
+
+		Cache<String, JwtClaims> entries = (Cache<String, JwtClaims>) ReflectionTestUtils.getField(cache, "entries");
+		assertEquals(1, entries.asMap().size());
+		assertFalse(entries.asMap().containsKey("a.b.c"));
+	}
+
+	private static JwtClaims claims(long expiresAtMillis) {
+		return new JwtClaims("user-1", "user@example.test", "user", "access", new Date(expiresAtMillis));
+	}
+}
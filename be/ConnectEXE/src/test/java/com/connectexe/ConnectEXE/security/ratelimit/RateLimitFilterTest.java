@@ -0,0 +1,37 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+	private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(new SimpleMeterRegistry(), true, 1000),
+			List.of(new RateLimitRule("POST", Set.of("/auth/login"), new RateLimitPolicy("login", 1, 60),
+					RateLimitRule.KeyType.IP)));
+
+	@Test
+	void encodedAndDecoratedPathsShareTheRouteLimit() throws ServletException, IOException {
+		assertEquals(200, post("/auth/login"));
+		assertEquals(429, post("/auth/%6cogin"));
+		assertEquals(429, post("/auth/login;x"));
+		assertEquals(429, post("/auth/login/"));
+		assertEquals(200, post("/auth/logout"));
+	}
+
+	private int post(String uri) throws ServletException, IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
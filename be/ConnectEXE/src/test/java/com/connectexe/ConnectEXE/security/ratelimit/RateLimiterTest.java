@@ -0,0 +1,97 @@
+package com.connectexe.ConnectEXE.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+	private static final RateLimitPolicy POLICY = new RateLimitPolicy("test", 3, 60);
+
+	@Test
+	void rejectsOnceBurstIsSpentAndKeepsKeysApart() {
+		RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 1000);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+		}
+		long retryAfter = limiter.tryAcquire(POLICY, "a");
+		assertTrue(retryAfter > 0 && retryAfter <= 20, "retryAfter " + retryAfter);
+		assertEquals(0, limiter.tryAcquire(POLICY, "b"));
+	}
+
+	@Test
+	void freshKeysAreStillThrottledWhenMapIsFull() {
+		RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 10);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(0, limiter.tryAcquire(POLICY, "flood-" + i));
+		}
+
+		// Keys beyond the bound share one bucket, so the burst is spent across all of them
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(POLICY, "fresh-" + i));
+		}
+		assertTrue(limiter.tryAcquire(POLICY, "fresh-victim") > 0);
+		assertTrue(limiter.tryAcquire(POLICY, "fresh-0") > 0);
+		// Keys already tracked keep their own buckets
+		assertEquals(0, limiter.tryAcquire(POLICY, "flood-0"));
+	}
+
+	@Test
+	void floodOfOnePolicyDoesNotCrowdOutAnother() {
+		RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 10);
+		RateLimitPolicy otp = new RateLimitPolicy("otp-email", 3, 86_400);
+		for (int i = 0; i < 20; i++) {
+			limiter.tryAcquire(otp, "flood-" + i + "@example.test");
+		}
+
+		// Each fresh login key still gets its own full burst
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(POLICY, "fresh-a"));
+			assertEquals(0, limiter.tryAcquire(POLICY, "fresh-b"));
+		}
+	}
+
+	@Test
+	void disabledLimiterAllowsEverything() {
+		RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), false, 1000);
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+		}
+	}
+
+	@Test
+	void bucketRefillsOverTimeAndBecomesIdleWhenFull() {
+		long start = 0;
+		TokenBucket bucket = new TokenBucket(POLICY, start);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryConsume(start));
+		}
+		assertTrue(bucket.tryConsume(start) > 0);
+
+		// One token every 20 seconds
+		long later = start + TimeUnit.SECONDS.toNanos(20);
+		assertEquals(0, bucket.tryConsume(later));
+		assertTrue(bucket.tryConsume(later) > 0);
+
+		assertFalse(bucket.isIdle(later + TimeUnit.SECONDS.toNanos(59)));
+		assertTrue(bucket.isIdle(later + TimeUnit.SECONDS.toNanos(60)));
+	}
+
+	@Test
+	void batchTakesAllItsTokensOrNone() {
+		RateLimiter limiter = new RateLimiter(new SimpleMeterRegistry(), true, 1000);
+
+		assertEquals(0, limiter.tryAcquire(POLICY, "a", 2));
+		// One token left: a batch of two is refused without spending it
+		assertTrue(limiter.tryAcquire(POLICY, "a", 2) > 0);
+		assertEquals(0, limiter.tryAcquire(POLICY, "a"));
+		assertEquals(0, limiter.tryAcquire(POLICY, "a", 0));
+	}
+}
@@ -0,0 +1,342 @@
+package com.connectexe.ConnectEXE.service.impl;
+
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import com.connectexe.ConnectEXE.service.ImageReferenceService;
+import com.connectexe.ConnectEXE.service.ImageUploadOutcome;
+import com.connectexe.ConnectEXE.storage.ImageVariantGenerator;
+import com.connectexe.ConnectEXE.storage.InMemoryImageStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CloudinaryServiceImplTest {
+
+	private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+
+	@TempDir
+	Path tempDir;
+
+	private final AtomicReference<Path> stagedFile = new AtomicReference<>();
+	private SimpleMeterRegistry registry;
+	private ImageAssetRepository imageAssetRepository;
+	private ImageReferenceService imageReferenceService;
+	private ImageVariantGenerator imageVariantGenerator;
+	private InMemoryImageStorage storage;
+	private CloudinaryServiceImpl service;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		registry = new SimpleMeterRegistry();
+		imageAssetRepository = mock(ImageAssetRepository.class);
+		imageReferenceService = mock(ImageReferenceService.class);
+		imageVariantGenerator = mock(ImageVariantGenerator.class);
+		when(imageAssetRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), any(), any(), any(), anyLong(), any()))
+				.thenReturn(1);
+		storage = new InMemoryImageStorage() {
+			@Override
+			public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+				// The staged file holds the full upload while the backend reads it
+				stagedFile.set(source);
+				assertEquals(PNG.length, Files.size(source));
+				assertEquals(PNG.length, registry.get("upload.bytes.in_flight").gauge().value());
+				return super.store(source, folder, name, format);
+			}
+		};
+		service = new CloudinaryServiceImpl(storage, imageAssetRepository, imageReferenceService, imageVariantGenerator, registry,
+				tempDir.toString(), 4, 2);
+	}
+
+	@Test
+	void uploadsFromStagedFileAndHandsItToVariantGeneration() throws IOException {
+		Map<String, Object> result = service.uploadImage(new MockMultipartFile("file", "a.png", "image/png", PNG), "tests", "user-1");
+
+		String publicId = (String) result.get("public_id");
+		assertArrayEquals(PNG, storage.get(publicId).orElseThrow());
+		assertEquals(publicId, service.extractPublicId((String) result.get("secure_url")));
+		verify(imageVariantGenerator).submit(anyString(), eq(stagedFile.get()), eq(publicId), eq((String) result.get("secure_url")));
+		assertEquals(0, registry.get("upload.bytes.in_flight").gauge().value());
+		assertEquals(1, registry.get("upload.duration").tag("outcome", "success").timer().count());
+	}
+
+	@Test
+	void concurrentUploadsAreStreamedFromDisk() throws Exception {
+		// Parts refuse getBytes(), so any upload that buffers a whole file fails
+		int uploads = 50;
+		int fileSize = 1024 * 1024;
+		SimpleMeterRegistry streamingRegistry = new SimpleMeterRegistry();
+		InMemoryImageStorage streamingStorage = new InMemoryImageStorage() {
+			@Override
+			public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+				// Read like an HTTP client sending the file: a buffer at a time
+				long read = 0;
+				byte[] buffer = new byte[8192];
+				try (InputStream in = Files.newInputStream(source)) {
+					for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+						read += n;
+					}
+				}
+				assertEquals(fileSize, read);
+				return Map.of("public_id", folder + "/" + name, "secure_url", "memory://" + folder + "/" + name + "." + format,
+						"format", format, "bytes", read);
+			}
+		};
+		CloudinaryServiceImpl streamingService = new CloudinaryServiceImpl(streamingStorage, imageAssetRepository,
+				imageReferenceService, imageVariantGenerator, streamingRegistry, tempDir.toString(), 4, 2);
+		byte[] content = new byte[fileSize];
+		System.arraycopy(PNG, 0, content, 0, PNG.length);
+		Path source = Files.write(tempDir.resolve("source.png"), content);
+
+		ExecutorService clients = Executors.newFixedThreadPool(uploads);
+		try {
+			List<Future<Map<String, Object>>> results = new ArrayList<>();
+			for (int i = 0; i < uploads; i++) {
+				DiskPart part = new DiskPart(source);
+				results.add(clients.submit(() -> streamingService.uploadImage(part, "tests", "user-1")));
+			}
+			for (Future<Map<String, Object>> result : results) {
+				assertTrue(((String) result.get().get("public_id")).startsWith("tests/"));
+			}
+		} finally {
+			clients.shutdownNow();
+			streamingService.stop();
+		}
+
+		assertEquals(0, streamingRegistry.get("upload.bytes.in_flight").gauge().value());
+		assertEquals(uploads, streamingRegistry.get("upload.duration").tag("outcome", "success").timer().count());
+	}
+
+	@Test
+	void rejectsContentThatIsNotAnImage() {
+		MockMultipartFile fake = new MockMultipartFile("file", "a.png", "image/png", "<html></html>".getBytes());
+
+		assertThrows(IOException.class, () -> service.uploadImage(fake, "tests", "user-1"));
+		assertEquals(0, storage.size());
+		assertEquals(1, registry.get("upload.duration").tag("outcome", "failure").timer().count());
+	}
+
+	@Test
+	void rejectsFolderOutsideStorage() {
+		MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", PNG);
+
+		assertThrows(IOException.class, () -> service.uploadImage(file, "../etc", "user-1"));
+		assertEquals(0, storage.size());
+	}
+
+	@Test
+	void batchKeepsInputOrderAndReportsFailuresPerFile() {
+		List<ImageUploadOutcome> outcomes = service.uploadImages(List.of(
+				new MockMultipartFile("files", "a.png", "image/png", PNG),
+				new MockMultipartFile("files", "b.png", "image/png", "not an image".getBytes()),
+				new MockMultipartFile("files", "c.png", "image/png", PNG)), "tests", "user-1");
+
+		assertEquals(List.of("a.png", "b.png", "c.png"), outcomes.stream().map(ImageUploadOutcome::getFileName).toList());
+		assertTrue(outcomes.get(0).isSuccess());
+		assertFalse(outcomes.get(1).isSuccess());
+		assertNull(outcomes.get(1).getResult());
+		assertTrue(outcomes.get(2).isSuccess());
+		assertEquals(2, storage.size());
+	}
+
+	@Test
+	void interruptedBatchReportsUnfinishedFilesAndReleasesLateUploads() throws Exception {
+		CountDownLatch helperStoring = new CountDownLatch(1);
+		CountDownLatch releaseHelper = new CountDownLatch(1);
+		CountDownLatch requestStored = new CountDownLatch(1);
+		InMemoryImageStorage slowStorage = new InMemoryImageStorage() {
+			@Override
+			public Map<String, Object> store(Path source, String folder, String name, String format) throws IOException {
+				if (Thread.currentThread().getName().startsWith("image-upload-")) {
+					helperStoring.countDown();
+					// Like the HTTP client, a store in progress does not stop on interrupt
+					awaitUninterruptibly(releaseHelper);
+					Thread.interrupted();
+				} else {
+					// The request thread finishes its file only once the helper holds the other one
+					awaitUninterruptibly(helperStoring);
+					Map<String, Object> result = super.store(source, folder, name, format);
+					requestStored.countDown();
+					return result;
+				}
+				return super.store(source, folder, name, format);
+			}
+		};
+		CloudinaryServiceImpl batchService = new CloudinaryServiceImpl(slowStorage, imageAssetRepository,
+				imageReferenceService, imageVariantGenerator, new SimpleMeterRegistry(), tempDir.toString(), 4, 2);
+		AtomicReference<List<ImageUploadOutcome>> outcomes = new AtomicReference<>();
+		Thread request = new Thread(() -> outcomes.set(batchService.uploadImages(List.of(
+				new MockMultipartFile("files", "a.png", "image/png", PNG),
+				new MockMultipartFile("files", "b.png", "image/png", PNG)), "tests", "user-1")));
+
+		try {
+			request.start();
+			// Wait until the request thread is done with its own file and waits for the helper
+			assertTrue(requestStored.await(5, TimeUnit.SECONDS));
+			while (request.getState() != Thread.State.WAITING && request.isAlive()) {
+				Thread.sleep(10);
+			}
+			request.interrupt();
+			request.join(TimeUnit.SECONDS.toMillis(5));
+
+			List<ImageUploadOutcome> results = outcomes.get();
+			assertEquals(1, results.stream().filter(ImageUploadOutcome::isSuccess).count());
+			assertEquals(List.of("Upload interrupted"), results.stream()
+					.filter(outcome -> !outcome.isSuccess()).map(ImageUploadOutcome::getError).toList());
+
+			// The helper's upload completes after the response was built and is released again
+			releaseHelper.countDown();
+			verify(imageReferenceService, timeout(5000)).releaseUpload(anyString(), eq("user-1"));
+		} finally {
+			releaseHelper.countDown();
+			batchService.stop();
+		}
+	}
+
+	@Test
+	void identicalUploadReusesIndexedAssetWithoutStoring() throws IOException {
+		ImageAsset asset = new ImageAsset();
+		asset.setPublicId("tests/existing");
+		asset.setSecureUrl("memory://tests/existing.png");
+		asset.setBytes((long) PNG.length);
+		when(imageAssetRepository.findById(anyString())).thenReturn(Optional.of(asset));
+		when(imageAssetRepository.addReference(anyString(), eq("user:user-1"), any())).thenReturn(1);
+
+		Map<String, Object> result = service.uploadImage(new MockMultipartFile("file", "a.png", "image/png", PNG), "tests", "user-1");
+
+		assertEquals("tests/existing", result.get("public_id"));
+		assertEquals(0, storage.size());
+		verify(imageVariantGenerator, never()).submit(anyString(), any(), anyString(), anyString());
+		verify(imageAssetRepository, never()).insertIfAbsent(anyString(), anyString(), anyString(), anyString(), any(), any(), any(), anyLong(), any());
+	}
+
+	@Test
+	void newUploadIsReferencedByItsUploader() throws IOException {
+		Map<String, Object> result = service.uploadImage(new MockMultipartFile("file", "a.png", "image/png", PNG), "tests", "user-1");
+
+		verify(imageAssetRepository).insertIfAbsent(anyString(), eq("user:user-1"), eq((String) result.get("public_id")),
+				anyString(), any(), any(), any(), anyLong(), any());
+	}
+
+	@Test
+	void uploadWithoutUploaderIsRejected() {
+		MockMultipartFile file = new MockMultipartFile("file", "a.png", "image/png", PNG);
+
+		assertThrows(IOException.class, () -> service.uploadImage(file, "tests", null));
+		assertEquals(0, storage.size());
+	}
+
+	@Test
+	void deleteReleasesOnlyTheCallersReference() throws IOException {
+		when(imageReferenceService.releaseUpload("tests/a", "user-1")).thenReturn(Map.of("result", "ok"));
+
+		assertEquals("ok", service.deleteImage("tests/a", "user-1").get("result"));
+		verify(imageReferenceService).releaseUpload("tests/a", "user-1");
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * A multipart part the container spooled to disk. Its content is only available as a stream,
+	 * so an upload that tried to buffer the whole file would fail.
+	 */
+	private static final class DiskPart implements MultipartFile {
+		private final Path file;
+
+		private DiskPart(Path file) {
+			this.file = file;
+		}
+
+		@Override
+		public String getName() {
+			return "file";
+		}
+
+		@Override
+		public String getOriginalFilename() {
+			return "large.png";
+		}
+
+		@Override
+		public String getContentType() {
+			return "image/png";
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return getSize() == 0;
+		}
+
+		@Override
+		public long getSize() {
+			try {
+				return Files.size(file);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public byte[] getBytes() {
+			throw new UnsupportedOperationException("Upload must not buffer the whole file");
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return Files.newInputStream(file);
+		}
+
+		@Override
+		public void transferTo(File dest) throws IOException {
+			Files.copy(file, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.connectexe.ConnectEXE.service.impl;
+
+import com.connectexe.ConnectEXE.entity.ImageAsset;
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import com.connectexe.ConnectEXE.storage.ImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageReferenceServiceImplTest {
+
+	private ImageStorage imageStorage;
+	private ImageAssetRepository imageAssetRepository;
+	private ImageReferenceServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		imageStorage = mock(ImageStorage.class);
+		imageAssetRepository = mock(ImageAssetRepository.class);
+		service = new ImageReferenceServiceImpl(imageStorage, imageAssetRepository, 100);
+	}
+
+	@Test
+	void repeatedReleaseDoesNotDropOtherReferences() throws IOException {
+		when(imageAssetRepository.findByPublicId("tests/a")).thenReturn(Optional.of(asset("h", "tests/a")));
+		when(imageAssetRepository.releaseReference("tests/a", "user:user-1")).thenReturn(1, 0);
+		// Still referenced by a topic
+		when(imageAssetRepository.deleteIfUnreferenced("h")).thenReturn(0);
+
+		assertEquals("ok", service.releaseUpload("tests/a", "user-1").get("result"));
+		assertEquals("not found", service.releaseUpload("tests/a", "user-1").get("result"));
+
+		verify(imageAssetRepository).deleteIfUnreferenced("h");
+		verify(imageStorage, never()).delete(anyString());
+	}
+
+	@Test
+	void userWithoutReferenceCannotDeleteImage() throws IOException {
+		when(imageAssetRepository.findByPublicId("tests/a")).thenReturn(Optional.of(asset("h", "tests/a")));
+		when(imageAssetRepository.releaseReference("tests/a", "user:user-2")).thenReturn(0);
+
+		assertEquals("not found", service.releaseUpload("tests/a", "user-2").get("result"));
+
+		verify(imageAssetRepository, never()).deleteIfUnreferenced(anyString());
+		verify(imageStorage, never()).delete(anyString());
+	}
+
+	@Test
+	void releasingLastReferenceRemovesImageAndVariants() throws IOException {
+		when(imageAssetRepository.findByPublicId("tests/a")).thenReturn(Optional.of(asset("h", "tests/a")));
+		when(imageAssetRepository.releaseReference("tests/a", "user:user-1")).thenReturn(1);
+		when(imageAssetRepository.deleteIfUnreferenced("h")).thenReturn(1);
+
+		assertEquals("ok", service.releaseUpload("tests/a", "user-1").get("result"));
+
+		verify(imageStorage).delete("tests/a");
+		verify(imageStorage).delete("tests/a_thumb");
+		verify(imageStorage).delete("tests/a_card");
+		verify(imageStorage).delete("tests/a_full");
+	}
+
+	@Test
+	void attachTakesOverUploaderReference() {
+		service.attach("topic:t1", List.of("u1", "u1", " "), "user-1");
+
+		InOrder order = inOrder(imageAssetRepository);
+		order.verify(imageAssetRepository).addReferencesByUrl(eq("topic:t1"), eq(Set.of("u1")), any());
+		order.verify(imageAssetRepository).releaseReferencesByUrl("user:user-1", Set.of("u1"));
+	}
+
+	@Test
+	void sweepSkipsAssetReferencedMeanwhile() throws IOException {
+		when(imageAssetRepository.findUnreferenced(100)).thenReturn(List.of(asset("h1", "tests/a"), asset("h2", "tests/b")));
+		when(imageAssetRepository.deleteIfUnreferenced("h1")).thenThrow(new DataIntegrityViolationException("fk"));
+		when(imageAssetRepository.deleteIfUnreferenced("h2")).thenReturn(1);
+
+		service.sweepUnreferenced();
+
+		verify(imageStorage, never()).delete("tests/a");
+		verify(imageStorage).delete("tests/b");
+	}
+
+	private static ImageAsset asset(String contentHash, String publicId) {
+		ImageAsset asset = new ImageAsset();
+		asset.setContentHash(contentHash);
+		asset.setPublicId(publicId);
+		return asset;
+	}
+}
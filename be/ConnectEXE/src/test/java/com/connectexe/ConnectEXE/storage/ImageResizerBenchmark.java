@@ -0,0 +1,66 @@
+package com.connectexe.ConnectEXE.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the resize step of variant generation. Not run by the test suite; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.connectexe.ConnectEXE.storage.ImageResizerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageResizerBenchmark {
+
+	// Typical phone photo and screenshot sizes
+	@Param({"4032x3024", "2560x1440"})
+	public String sourceSize;
+
+	@Param({"320", "640", "1600"})
+	public int maxDimension;
+
+	private BufferedImage source;
+
+	@Setup
+	public void setUp() {
+		String[] size = sourceSize.split("x");
+		source = new BufferedImage(Integer.parseInt(size[0]), Integer.parseInt(size[1]), BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = source.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, Color.ORANGE, source.getWidth(), source.getHeight(), Color.BLUE));
+		g.fillRect(0, 0, source.getWidth(), source.getHeight());
+		g.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage fit() {
+		return ImageResizer.fit(source, maxDimension);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ImageResizerBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,88 @@
+package com.connectexe.ConnectEXE.storage;
+
+import com.connectexe.ConnectEXE.repository.ImageAssetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageVariantGeneratorTest {
+
+	private static final String ORIGINAL_URL = "memory://tests/photo.jpg";
+
+	@TempDir
+	Path tempDir;
+
+	private InMemoryImageStorage storage;
+	private ImageAssetRepository imageAssetRepository;
+	private ImageVariantGenerator generator;
+
+	@BeforeEach
+	void setUp() {
+		storage = new InMemoryImageStorage();
+		imageAssetRepository = mock(ImageAssetRepository.class);
+		when(imageAssetRepository.updateVariants(anyString(), any(), any(), any())).thenReturn(1);
+		generator = new ImageVariantGenerator(storage, imageAssetRepository, new SimpleMeterRegistry(), 1, 10, 40_000_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		generator.stop();
+	}
+
+	@Test
+	void largeImageGetsEveryVariantWithinItsBounds() throws IOException {
+		generator.generate("hash", image(2400, 1200), "tests/photo", ORIGINAL_URL);
+
+		verify(imageAssetRepository).updateVariants("hash",
+				"memory://tests/photo_thumb.jpg", "memory://tests/photo_card.jpg", "memory://tests/photo_full.jpg");
+		assertEquals(320, width("tests/photo_thumb"));
+		assertEquals(640, width("tests/photo_card"));
+		assertEquals(1600, width("tests/photo_full"));
+	}
+
+	@Test
+	void smallImageReusesOriginalForVariantsItAlreadyFits() throws IOException {
+		generator.generate("hash", image(500, 250), "tests/photo", ORIGINAL_URL);
+
+		verify(imageAssetRepository).updateVariants("hash", "memory://tests/photo_thumb.jpg", ORIGINAL_URL, ORIGINAL_URL);
+		assertEquals(1, storage.size());
+	}
+
+	@Test
+	void undecodableFileIsSkipped() throws IOException {
+		Path file = tempDir.resolve("not-an-image");
+		Files.write(file, new byte[] {1, 2, 3});
+
+		generator.generate("hash", file, "tests/photo", ORIGINAL_URL);
+
+		verify(imageAssetRepository, never()).updateVariants(anyString(), any(), any(), any());
+		assertEquals(0, storage.size());
+	}
+
+	private Path image(int width, int height) throws IOException {
+		Path file = tempDir.resolve(width + "x" + height + ".jpg");
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", file.toFile());
+		return file;
+	}
+
+	private int width(String publicId) throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(storage.get(publicId).orElseThrow())).getWidth();
+	}
+}
@@ -0,0 +1,53 @@
+package com.connectexe.ConnectEXE.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalImageStorageTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void storesServesAndDeletesByPublicId() throws IOException {
+		LocalImageStorage storage = new LocalImageStorage(tempDir.resolve("root"), "/api/files/");
+		Path source = Files.write(tempDir.resolve("source"), new byte[] {1, 2, 3});
+
+		Map<String, Object> result = storage.store(source, "forum/topics", "abc", "png");
+
+		assertEquals("/api/files/forum/topics/abc.png", result.get("secure_url"));
+		assertEquals("forum/topics/abc", result.get("public_id"));
+		assertEquals(3L, result.get("bytes"));
+		assertEquals("forum/topics/abc", storage.extractPublicId("https://example.test/api/files/forum/topics/abc.png"));
+		Path stored = storage.findFile("forum/topics/abc.png").orElseThrow();
+		assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(stored));
+		// Only the renamed file is left in the folder
+		try (Stream<Path> entries = Files.list(stored.getParent())) {
+			assertEquals(1, entries.count());
+		}
+
+		assertEquals("ok", storage.delete("forum/topics/abc").get("result"));
+		assertEquals("not found", storage.delete("forum/topics/abc").get("result"));
+		assertFalse(storage.findFile("forum/topics/abc.png").isPresent());
+	}
+
+	@Test
+	void doesNotResolveOutsideRoot() throws IOException {
+		Files.write(tempDir.resolve("secret.png"), new byte[] {1});
+		LocalImageStorage storage = new LocalImageStorage(tempDir.resolve("root"), "/api/files");
+
+		assertTrue(storage.findFile("../secret.png").isEmpty());
+		assertTrue(storage.findFile("").isEmpty());
+	}
+}
@@ -0,0 +1,52 @@
+package com.connectexe.ConnectEXE.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorUtilTest {
+
+	private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 18, 12, 30, 15, 123_000_000);
+
+	@Test
+	void decodesWhatItEncodes() {
+		CursorUtil.Cursor cursor = CursorUtil.decode(CursorUtil.encode(CREATED_AT, "abc123"));
+
+		assertEquals(CREATED_AT, cursor.getCreatedAt());
+		assertEquals("abc123", cursor.getId());
+	}
+
+	@Test
+	void missingCursorMeansFirstPage() {
+		assertNull(CursorUtil.decode(null));
+		assertNull(CursorUtil.decode(" "));
+	}
+
+	@Test
+	void rejectsMalformedCursors() {
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("not a cursor!"));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(raw("no-separator")));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(raw("|abc123")));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(raw(CREATED_AT + "|")));
+	}
+
+	@Test
+	void rejectsTamperedCursors() {
+		String cursor = CursorUtil.encode(CREATED_AT, "abc123");
+		String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(raw(decoded.replace("2026-10-18", "2026-13-45"))));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(raw("'; DROP TABLE projects; --|abc123")));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(cursor.substring(1)));
+	}
+
+	private static String raw(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,58 @@
+package com.connectexe.ConnectEXE.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImageTypeUtilTest {
+
+	@Test
+	void detectsFormatsFromTheirSignatures() throws IOException {
+		byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+		byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'};
+
+		assertEquals(Optional.of("png"), ImageTypeUtil.detect(new ByteArrayInputStream(png), png.length));
+		assertEquals(Optional.of("webp"), ImageTypeUtil.detect(new ByteArrayInputStream(webp), webp.length));
+		assertEquals(Optional.empty(), ImageTypeUtil.detect(new ByteArrayInputStream("<html>".getBytes()), 6));
+	}
+
+	@Test
+	void acceptsBmpWithConsistentHeader() throws IOException {
+		for (int dibHeaderSize : new int[] {12, 40, 108, 124}) {
+			byte[] bmp = bmp(70, dibHeaderSize);
+
+			assertEquals(Optional.of("bmp"), ImageTypeUtil.detect(new ByteArrayInputStream(bmp), 70));
+		}
+	}
+
+	@Test
+	void rejectsBmpWhoseHeaderDoesNotMatch() throws IOException {
+		// Declared size differs from the actual size
+		assertEquals(Optional.empty(), ImageTypeUtil.detect(new ByteArrayInputStream(bmp(70, 40)), 71));
+		// Not a known DIB header
+		assertEquals(Optional.empty(), ImageTypeUtil.detect(new ByteArrayInputStream(bmp(70, 41)), 70));
+		// Text that happens to start with "BM"
+		byte[] text = "BMW owners club meeting".getBytes();
+		assertEquals(Optional.empty(), ImageTypeUtil.detect(new ByteArrayInputStream(text), text.length));
+	}
+
+	private static byte[] bmp(int fileSize, int dibHeaderSize) {
+		byte[] bmp = new byte[fileSize];
+		bmp[0] = 'B';
+		bmp[1] = 'M';
+		putUint32(bmp, 2, fileSize);
+		putUint32(bmp, 10, 14 + dibHeaderSize);
+		putUint32(bmp, 14, dibHeaderSize);
+		return bmp;
+	}
+
+	private static void putUint32(byte[] bytes, int offset, int value) {
+		for (int i = 0; i < 4; i++) {
+			bytes[offset + i] = (byte) (value >>> (8 * i));
+		}
+	}
+}